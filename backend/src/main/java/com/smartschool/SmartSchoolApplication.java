@@ -7,6 +7,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
@@ -15,6 +16,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  */
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class SmartSchoolApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,90 @@
+package com.smartschool.attendance.controller;
+
+import com.smartschool.attendance.dto.AttendanceRecordResponse;
+import com.smartschool.attendance.dto.ClassAttendanceStatusResponse;
+import com.smartschool.attendance.dto.SectionAttendanceRequest;
+import com.smartschool.attendance.dto.SectionAttendanceResponse;
+import com.smartschool.attendance.dto.StudentAttendanceDaysResponse;
+import com.smartschool.attendance.dto.StudentAttendanceSummaryResponse;
+import com.smartschool.attendance.entity.AttendanceStatus;
+import com.smartschool.attendance.service.AttendanceService;
+import com.smartschool.auth.entity.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for Attendance
+ * Requirement: ATT-01, ATT-02, ATT-03, ATT-04, USR-06
+ */
+@Tag(name = "Attendance", description = "APIs for marking and viewing daily attendance")
+@RestController
+@RequestMapping("/api/attendance")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'TEACHER')")
+public class AttendanceController {
+
+    private final AttendanceService attendanceService;
+
+    @Operation(summary = "Submit the attendance of a whole section for one day")
+    @PostMapping("/sections/{sectionId}")
+    public ResponseEntity<SectionAttendanceResponse> submitSectionAttendance(
+            @PathVariable Long sectionId,
+            @Valid @RequestBody SectionAttendanceRequest request,
+            @AuthenticationPrincipal User user) {
+        SectionAttendanceResponse response = attendanceService.submitSectionAttendance(sectionId, request, user);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Get the attendance of a section for one day (defaults to today)")
+    @GetMapping("/sections/{sectionId}")
+    public ResponseEntity<List<AttendanceRecordResponse>> getSectionAttendance(
+            @PathVariable Long sectionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal User user) {
+        List<AttendanceRecordResponse> records = attendanceService.getSectionAttendance(sectionId, date, user);
+        return ResponseEntity.ok(records);
+    }
+
+    @Operation(summary = "Get the days on which a student had a status (defaults to absences this month)")
+    @GetMapping("/students/{studentId}/days")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'TEACHER', 'PARENT')")
+    public ResponseEntity<StudentAttendanceDaysResponse> getStudentDays(
+            @PathVariable Long studentId,
+            @RequestParam(defaultValue = "ABSENT") AttendanceStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(attendanceService.getStudentDays(studentId, status, from, to, user));
+    }
+
+    @Operation(summary = "Get a student's attendance counts and percentage (defaults to the current session)")
+    @GetMapping("/students/{studentId}/summary")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'TEACHER', 'PARENT')")
+    public ResponseEntity<StudentAttendanceSummaryResponse> getStudentSummary(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(attendanceService.getStudentSummary(studentId, from, to, user));
+    }
+
+    @Operation(summary = "Get the students of a class with a status on one day (defaults to today's absentees)")
+    @GetMapping("/classes/{classId}/students")
+    public ResponseEntity<ClassAttendanceStatusResponse> getClassStudentsByStatus(
+            @PathVariable Long classId,
+            @RequestParam(defaultValue = "ABSENT") AttendanceStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(attendanceService.getClassStudentsByStatus(classId, status, date, user));
+    }
+}
@@ -0,0 +1,49 @@
+package com.smartschool.attendance.controller;
+
+import com.smartschool.attendance.dto.AttendanceStatsResponse;
+import com.smartschool.attendance.entity.ReportPeriod;
+import com.smartschool.attendance.service.AttendanceReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for attendance reports
+ * Requirement: ATT-07
+ */
+@Tag(name = "Attendance Reports", description = "APIs for daily, monthly and yearly attendance statistics")
+@RestController
+@RequestMapping("/api/attendance/reports")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+public class AttendanceReportController {
+
+    private final AttendanceReportService attendanceReportService;
+
+    @Operation(summary = "Get attendance statistics of a class (range defaults to the current session)")
+    @GetMapping("/classes/{classId}")
+    public ResponseEntity<List<AttendanceStatsResponse>> getClassStats(
+            @PathVariable Long classId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "MONTH") ReportPeriod period) {
+        return ResponseEntity.ok(attendanceReportService.getClassStats(classId, from, to, period));
+    }
+
+    @Operation(summary = "Get attendance statistics of a student (range defaults to the current session)")
+    @GetMapping("/students/{studentId}")
+    public ResponseEntity<List<AttendanceStatsResponse>> getStudentStats(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "MONTH") ReportPeriod period) {
+        return ResponseEntity.ok(attendanceReportService.getStudentStats(studentId, from, to, period));
+    }
+}
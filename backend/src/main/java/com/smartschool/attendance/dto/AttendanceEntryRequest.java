@@ -0,0 +1,27 @@
+package com.smartschool.attendance.dto;
+
+import com.smartschool.attendance.entity.AttendanceStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Attendance of one student within a section submission
+ * Requirement: ATT-02
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceEntryRequest {
+
+    @NotNull(message = "Student ID is required")
+    private Long studentId;
+
+    @NotNull(message = "Attendance status is required")
+    private AttendanceStatus status;
+
+    private String remarks;
+}
@@ -0,0 +1,11 @@
+package com.smartschool.attendance.dto;
+
+import com.smartschool.attendance.entity.AttendanceStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Attendance columns loaded into the in-memory bitmap index
+ */
+public record AttendanceIndexRow(Long studentId, Long classId, LocalDate attendanceDate, AttendanceStatus status) {
+}
@@ -0,0 +1,23 @@
+package com.smartschool.attendance.dto;
+
+import com.smartschool.attendance.entity.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for the attendance of one student on one day
+ * Requirement: ATT-01, ATT-03
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceRecordResponse {
+
+    private Long studentId;
+    private AttendanceStatus status;
+    private String remarks;
+    private Long markedBy;
+}
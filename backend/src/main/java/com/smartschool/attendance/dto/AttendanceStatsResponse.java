@@ -0,0 +1,28 @@
+package com.smartschool.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Response DTO with the attendance counts of one report period
+ * Requirement: ATT-07
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceStatsResponse {
+
+    /**
+     * First day of the period (the day itself, the first of the month, or January 1st)
+     */
+    private LocalDate periodStart;
+    private long present;
+    private long absent;
+    private long onLeave;
+    private long total;
+}
@@ -0,0 +1,26 @@
+package com.smartschool.attendance.dto;
+
+import com.smartschool.attendance.entity.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO listing the students of a class with a given status on one day
+ * Requirement: ATT-01, ATT-07
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassAttendanceStatusResponse {
+
+    private Long classId;
+    private LocalDate date;
+    private AttendanceStatus status;
+    private List<Long> studentIds;
+}
@@ -0,0 +1,34 @@
+package com.smartschool.attendance.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request DTO for submitting the attendance of a whole section for one day
+ * Requirement: ATT-02, ATT-03
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionAttendanceRequest {
+
+    /**
+     * Defaults to today when omitted
+     */
+    @PastOrPresent(message = "Attendance cannot be marked for a future date")
+    private LocalDate date;
+
+    @NotEmpty(message = "At least one attendance entry is required")
+    @Size(max = 500, message = "At most 500 entries can be submitted at once")
+    private List<@Valid AttendanceEntryRequest> entries;
+}
@@ -0,0 +1,27 @@
+package com.smartschool.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Response DTO summarizing a section attendance submission
+ * Requirement: ATT-02, ATT-03
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionAttendanceResponse {
+
+    private Long sectionId;
+    private Long classId;
+    private LocalDate date;
+    private int recorded;
+    private long present;
+    private long absent;
+    private long onLeave;
+}
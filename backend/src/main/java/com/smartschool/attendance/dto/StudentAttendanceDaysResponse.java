@@ -0,0 +1,27 @@
+package com.smartschool.attendance.dto;
+
+import com.smartschool.attendance.entity.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO listing the days on which a student had a given status
+ * Requirement: ATT-07, USR-06
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentAttendanceDaysResponse {
+
+    private Long studentId;
+    private AttendanceStatus status;
+    private LocalDate from;
+    private LocalDate to;
+    private List<LocalDate> days;
+}
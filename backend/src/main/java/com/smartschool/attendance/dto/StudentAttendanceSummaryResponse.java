@@ -0,0 +1,32 @@
+package com.smartschool.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Response DTO with a student's attendance counts and percentage for a date range
+ * Requirement: ATT-07, USR-06
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentAttendanceSummaryResponse {
+
+    private Long studentId;
+    private LocalDate from;
+    private LocalDate to;
+    private long present;
+    private long absent;
+    private long onLeave;
+    private long total;
+
+    /**
+     * Present days as a percentage of all recorded days, rounded to two decimals
+     */
+    private double attendancePercentage;
+}
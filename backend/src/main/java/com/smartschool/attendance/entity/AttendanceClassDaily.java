@@ -0,0 +1,46 @@
+package com.smartschool.attendance.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Attendance counts of one class on one day, maintained by AttendanceRollupService only
+ * Requirement: ATT-07
+ */
+@Entity
+@Immutable
+@Table(name = "attendance_class_daily")
+@IdClass(AttendanceClassDaily.Key.class)
+@Getter
+@NoArgsConstructor
+public class AttendanceClassDaily {
+
+    @Id
+    @Column(name = "class_id")
+    private Long classId;
+
+    @Id
+    @Column(name = "attendance_date")
+    private LocalDate attendanceDate;
+
+    @Column(nullable = false)
+    private int present;
+
+    @Column(nullable = false)
+    private int absent;
+
+    @Column(name = "on_leave", nullable = false)
+    private int onLeave;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long classId;
+        private LocalDate attendanceDate;
+    }
+}
@@ -0,0 +1,11 @@
+package com.smartschool.attendance.entity;
+
+/**
+ * Attendance status of a student for one day
+ * Requirement: ATT-02
+ */
+public enum AttendanceStatus {
+    PRESENT,
+    ABSENT,
+    ON_LEAVE
+}
@@ -0,0 +1,49 @@
+package com.smartschool.attendance.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Attendance counts of one student in one month, maintained by AttendanceRollupService only
+ * Requirement: ATT-07
+ */
+@Entity
+@Immutable
+@Table(name = "attendance_student_monthly")
+@IdClass(AttendanceStudentMonthly.Key.class)
+@Getter
+@NoArgsConstructor
+public class AttendanceStudentMonthly {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    /**
+     * First day of the month
+     */
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Column(nullable = false)
+    private int present;
+
+    @Column(nullable = false)
+    private int absent;
+
+    @Column(name = "on_leave", nullable = false)
+    private int onLeave;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long studentId;
+        private LocalDate monthStart;
+    }
+}
@@ -0,0 +1,11 @@
+package com.smartschool.attendance.entity;
+
+/**
+ * Granularity of an attendance report
+ * Requirement: ATT-07
+ */
+public enum ReportPeriod {
+    DAY,
+    MONTH,
+    YEAR
+}
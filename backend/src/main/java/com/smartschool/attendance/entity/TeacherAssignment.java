@@ -0,0 +1,37 @@
+package com.smartschool.attendance.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity representing a teacher assigned to a subject of a class for a session
+ * Requirement: ATT-04
+ */
+@Entity
+@Table(
+    name = "teacher_assignments",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"staff_id", "class_id", "subject_id", "academic_session_id"})
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeacherAssignment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "staff_id", nullable = false)
+    private Long staffId;
+
+    @Column(name = "class_id", nullable = false)
+    private Long classId;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    @Column(name = "academic_session_id", nullable = false)
+    private Long academicSessionId;
+}
@@ -0,0 +1,19 @@
+package com.smartschool.attendance.mapper;
+
+import com.smartschool.attendance.dto.AttendanceRecordResponse;
+import com.smartschool.attendance.entity.Attendance;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+/**
+ * MapStruct mapper for Attendance entity
+ * Requirement: ATT-03
+ */
+@Mapper(componentModel = "spring")
+public interface AttendanceMapper {
+
+    AttendanceRecordResponse toRecordResponse(Attendance entity);
+
+    List<AttendanceRecordResponse> toRecordResponseList(List<Attendance> entities);
+}
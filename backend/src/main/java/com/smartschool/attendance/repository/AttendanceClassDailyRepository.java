@@ -0,0 +1,73 @@
+package com.smartschool.attendance.repository;
+
+import com.smartschool.attendance.entity.AttendanceClassDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for the per-class daily attendance rollup
+ * Requirement: ATT-07
+ */
+@Repository
+public interface AttendanceClassDailyRepository extends JpaRepository<AttendanceClassDaily, AttendanceClassDaily.Key> {
+
+    List<AttendanceClassDaily> findByClassIdAndAttendanceDateBetweenOrderByAttendanceDate(
+            Long classId, LocalDate from, LocalDate to);
+
+    /**
+     * Create or row-lock the rollup of a class day.
+     * Holding the lock makes concurrent submissions for the same class day recompute one after another,
+     * each in a statement that sees the other's committed rows.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_class_daily (class_id, attendance_date) VALUES (:classId, :attendanceDate) " +
+            "ON CONFLICT (class_id, attendance_date) DO UPDATE SET present = attendance_class_daily.present",
+            nativeQuery = true)
+    int lockClassDay(Long classId, LocalDate attendanceDate);
+
+    /**
+     * Recount a class day from the attendance rows (index idx_attendance_class_date)
+     */
+    @Modifying
+    @Query(value = "UPDATE attendance_class_daily d SET present = s.present, absent = s.absent, on_leave = s.on_leave " +
+            "FROM (SELECT COUNT(*) FILTER (WHERE status = 'PRESENT') AS present, " +
+            "COUNT(*) FILTER (WHERE status = 'ABSENT') AS absent, " +
+            "COUNT(*) FILTER (WHERE status = 'ON_LEAVE') AS on_leave " +
+            "FROM attendance WHERE class_id = :classId AND attendance_date = :attendanceDate) s " +
+            "WHERE d.class_id = :classId AND d.attendance_date = :attendanceDate",
+            nativeQuery = true)
+    int recountClassDay(Long classId, LocalDate attendanceDate);
+
+    /**
+     * Rebuild the rollup of every class for a date range in one statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_class_daily (class_id, attendance_date, present, absent, on_leave) " +
+            "SELECT class_id, attendance_date, " +
+            "COUNT(*) FILTER (WHERE status = 'PRESENT'), " +
+            "COUNT(*) FILTER (WHERE status = 'ABSENT'), " +
+            "COUNT(*) FILTER (WHERE status = 'ON_LEAVE') " +
+            "FROM attendance WHERE attendance_date >= :from AND attendance_date < :to " +
+            "GROUP BY class_id, attendance_date " +
+            "ON CONFLICT (class_id, attendance_date) DO UPDATE SET " +
+            "present = EXCLUDED.present, absent = EXCLUDED.absent, on_leave = EXCLUDED.on_leave " +
+            "WHERE (attendance_class_daily.present, attendance_class_daily.absent, attendance_class_daily.on_leave) " +
+            "IS DISTINCT FROM (EXCLUDED.present, EXCLUDED.absent, EXCLUDED.on_leave)",
+            nativeQuery = true)
+    int rebuildRange(LocalDate from, LocalDate to);
+
+    /**
+     * Remove rollup rows of a date range whose attendance no longer exists
+     */
+    @Modifying
+    @Query(value = "DELETE FROM attendance_class_daily d " +
+            "WHERE d.attendance_date >= :from AND d.attendance_date < :to AND NOT EXISTS (" +
+            "SELECT 1 FROM attendance a WHERE a.class_id = d.class_id AND a.attendance_date = d.attendance_date)",
+            nativeQuery = true)
+    int deleteOrphans(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,107 @@
+package com.smartschool.attendance.repository;
+
+import com.smartschool.attendance.dto.AttendanceIndexRow;
+import com.smartschool.attendance.entity.Attendance;
+import com.smartschool.attendance.entity.AttendanceStatus;
+import com.smartschool.common.export.StreamingExporter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository for Attendance entity
+ * Requirement: ATT-02, ATT-03, ATT-07
+ */
+@Repository
+public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+
+    /**
+     * Insert or overwrite the attendance of a whole section in one statement.
+     * The arrays are parallel: element i of each array belongs to the same student.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance (student_id, class_id, attendance_date, status, remarks, marked_by) " +
+            "SELECT u.student_id, :classId, :attendanceDate, u.status, u.remarks, :markedBy " +
+            "FROM unnest(CAST(:studentIds AS BIGINT[]), CAST(:statuses AS VARCHAR[]), CAST(:remarks AS TEXT[])) " +
+            "AS u(student_id, status, remarks) " +
+            "ON CONFLICT (student_id, attendance_date) DO UPDATE SET " +
+            "class_id = EXCLUDED.class_id, status = EXCLUDED.status, " +
+            "remarks = EXCLUDED.remarks, marked_by = EXCLUDED.marked_by",
+            nativeQuery = true)
+    int upsertAll(Long classId, LocalDate attendanceDate, Long markedBy,
+                  Long[] studentIds, String[] statuses, String[] remarks);
+
+    /**
+     * Row-lock the attendance a set of students already has on a day under a different class, and return those classes.
+     * A resubmission that moves a student to another class must also recount the class the student leaves.
+     */
+    @Query(value = "SELECT class_id FROM attendance " +
+            "WHERE attendance_date = :attendanceDate AND student_id IN (:studentIds) AND class_id <> :classId " +
+            "FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockOtherClassIds(Long classId, LocalDate attendanceDate, Collection<Long> studentIds);
+
+    /**
+     * Count how many of the given students are enrolled in a section for a session
+     */
+    @Query(value = "SELECT COUNT(*) FROM student_enrollments " +
+            "WHERE academic_session_id = :sessionId AND section_id = :sectionId AND student_id IN (:studentIds)",
+            nativeQuery = true)
+    long countEnrolledInSection(Long sessionId, Long sectionId, Collection<Long> studentIds);
+
+    /**
+     * Find the class a student is enrolled in for a session
+     */
+    @Query(value = "SELECT class_id FROM student_enrollments WHERE academic_session_id = :sessionId AND student_id = :studentId",
+            nativeQuery = true)
+    Optional<Long> findEnrolledClassId(Long sessionId, Long studentId);
+
+    /**
+     * Find the attendance recorded on a day for the students enrolled in a section
+     */
+    @Query(value = "SELECT a.* FROM attendance a " +
+            "JOIN student_enrollments e ON e.student_id = a.student_id AND e.academic_session_id = :sessionId " +
+            "WHERE e.section_id = :sectionId AND a.attendance_date = :attendanceDate " +
+            "ORDER BY e.roll_number NULLS LAST, a.student_id",
+            nativeQuery = true)
+    List<Attendance> findSectionAttendance(Long sessionId, Long sectionId, LocalDate attendanceDate);
+
+    /**
+     * Find the attendance of a student in a date range
+     */
+    List<Attendance> findByStudentIdAndAttendanceDateBetweenOrderByAttendanceDate(
+            Long studentId, LocalDate from, LocalDate to);
+
+    /**
+     * Find the students of a class with the given status on a day
+     */
+    @Query("SELECT a.studentId FROM Attendance a " +
+            "WHERE a.classId = :classId AND a.attendanceDate = :attendanceDate AND a.status = :status " +
+            "ORDER BY a.studentId")
+    List<Long> findStudentIds(Long classId, LocalDate attendanceDate, AttendanceStatus status);
+
+    /**
+     * Check if a person is registered as a guardian of a student
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM student_guardians WHERE student_id = :studentId AND guardian_id = :guardianId)",
+            nativeQuery = true)
+    boolean isGuardianOf(Long studentId, Long guardianId);
+
+    /**
+     * Stream the attendance of a date range to build the bitmap index
+     */
+    @Query("SELECT new com.smartschool.attendance.dto.AttendanceIndexRow(a.studentId, a.classId, a.attendanceDate, a.status) " +
+            "FROM Attendance a WHERE a.attendanceDate BETWEEN :from AND :to ORDER BY a.attendanceDate, a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingExporter.FETCH_SIZE))
+    Stream<AttendanceIndexRow> streamForIndex(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,81 @@
+package com.smartschool.attendance.repository;
+
+import com.smartschool.attendance.entity.AttendanceStudentMonthly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the per-student monthly attendance rollup
+ * Requirement: ATT-07
+ */
+@Repository
+public interface AttendanceStudentMonthlyRepository
+        extends JpaRepository<AttendanceStudentMonthly, AttendanceStudentMonthly.Key> {
+
+    List<AttendanceStudentMonthly> findByStudentIdAndMonthStartBetweenOrderByMonthStart(
+            Long studentId, LocalDate from, LocalDate to);
+
+    /**
+     * Create or row-lock the rollup of one month for the given students, in student ID order so that
+     * overlapping submissions cannot deadlock. Holding the locks makes submissions for different days of
+     * the same month recount one after another, each in a statement that sees the other's committed rows.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_student_monthly (student_id, month_start) " +
+            "SELECT DISTINCT u.student_id, CAST(:monthStart AS DATE) FROM unnest(CAST(:studentIds AS BIGINT[])) AS u(student_id) " +
+            "ORDER BY u.student_id " +
+            "ON CONFLICT (student_id, month_start) DO UPDATE SET present = attendance_student_monthly.present",
+            nativeQuery = true)
+    int lockMonth(Long[] studentIds, LocalDate monthStart);
+
+    /**
+     * Recount one month for the given students (index idx_attendance_student_date)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_student_monthly (student_id, month_start, present, absent, on_leave) " +
+            "SELECT student_id, :monthStart, " +
+            "COUNT(*) FILTER (WHERE status = 'PRESENT'), " +
+            "COUNT(*) FILTER (WHERE status = 'ABSENT'), " +
+            "COUNT(*) FILTER (WHERE status = 'ON_LEAVE') " +
+            "FROM attendance " +
+            "WHERE student_id IN (:studentIds) AND attendance_date >= :monthStart AND attendance_date < :nextMonth " +
+            "GROUP BY student_id " +
+            "ON CONFLICT (student_id, month_start) DO UPDATE SET " +
+            "present = EXCLUDED.present, absent = EXCLUDED.absent, on_leave = EXCLUDED.on_leave",
+            nativeQuery = true)
+    int recountMonth(Collection<Long> studentIds, LocalDate monthStart, LocalDate nextMonth);
+
+    /**
+     * Rebuild the rollup of every student for whole months starting at the given month
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_student_monthly (student_id, month_start, present, absent, on_leave) " +
+            "SELECT student_id, CAST(date_trunc('month', attendance_date) AS DATE), " +
+            "COUNT(*) FILTER (WHERE status = 'PRESENT'), " +
+            "COUNT(*) FILTER (WHERE status = 'ABSENT'), " +
+            "COUNT(*) FILTER (WHERE status = 'ON_LEAVE') " +
+            "FROM attendance WHERE attendance_date >= :fromMonth " +
+            "GROUP BY student_id, CAST(date_trunc('month', attendance_date) AS DATE) " +
+            "ON CONFLICT (student_id, month_start) DO UPDATE SET " +
+            "present = EXCLUDED.present, absent = EXCLUDED.absent, on_leave = EXCLUDED.on_leave " +
+            "WHERE (attendance_student_monthly.present, attendance_student_monthly.absent, " +
+            "attendance_student_monthly.on_leave) IS DISTINCT FROM (EXCLUDED.present, EXCLUDED.absent, EXCLUDED.on_leave)",
+            nativeQuery = true)
+    int rebuildFrom(LocalDate fromMonth);
+
+    /**
+     * Remove rollup rows from the given month on whose attendance no longer exists
+     */
+    @Modifying
+    @Query(value = "DELETE FROM attendance_student_monthly m WHERE m.month_start >= :fromMonth AND NOT EXISTS (" +
+            "SELECT 1 FROM attendance a WHERE a.student_id = m.student_id " +
+            "AND a.attendance_date >= m.month_start AND a.attendance_date < m.month_start + INTERVAL '1 month')",
+            nativeQuery = true)
+    int deleteOrphans(LocalDate fromMonth);
+}
@@ -0,0 +1,24 @@
+package com.smartschool.attendance.repository;
+
+import com.smartschool.attendance.entity.TeacherAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for TeacherAssignment entity
+ * Requirement: ATT-04
+ */
+@Repository
+public interface TeacherAssignmentRepository extends JpaRepository<TeacherAssignment, Long> {
+
+    /**
+     * Check if a teacher teaches any subject of a class in a session
+     */
+    boolean existsByAcademicSessionIdAndStaffIdAndClassId(Long academicSessionId, Long staffId, Long classId);
+
+    /**
+     * Check if a teacher teaches a subject in a class in a session (EXM-03)
+     */
+    boolean existsByAcademicSessionIdAndStaffIdAndClassIdAndSubjectId(
+            Long academicSessionId, Long staffId, Long classId, Long subjectId);
+}
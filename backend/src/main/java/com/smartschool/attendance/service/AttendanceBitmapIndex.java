@@ -0,0 +1,394 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.dto.AttendanceIndexRow;
+import com.smartschool.attendance.entity.AttendanceStatus;
+import com.smartschool.attendance.repository.AttendanceRepository;
+import com.smartschool.setup.dto.AcademicSessionResponse;
+import com.smartschool.setup.service.CurrentAcademicSessionChangedEvent;
+import com.smartschool.setup.service.CurrentAcademicSessionHolder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory bitmap index of the current session's attendance.
+ * Each student has one {@link BitSet} per status, where bit i stands for the i-th day of the session, and one
+ * day bitset per class the student was recorded in, so a student who changes class keeps the old class for the
+ * days recorded there.
+ * Queries such as "which days was a student absent this month" and "who is absent today in a class" are
+ * answered with bit operations and never query the database. The index is rebuilt from the attendance table at
+ * startup, periodically and whenever the current session changes; section submissions are applied as soon as
+ * they commit. Queries outside the indexed session return an empty Optional so callers can fall back to the database.
+ * <p>
+ * Memory: a 365-day session fills 6 longs per bitset, so each bitset takes 88 B (24 B object, 64 B array).
+ * The three status bitsets, one class-day bitset with its map (about 200 B), the per-student holder (32 B),
+ * its map node and boxed key (about 56 B) add up to about 570 B per student in one class. That is about
+ * 5.7 MB per 10,000 students, plus roughly 50 B per student for the class membership sets. Each rebuild logs
+ * the estimate. To check it on a live instance, compare {@code jcmd <pid> GC.class_histogram} before and
+ * after the rebuild.
+ * Requirement: ATT-01, ATT-07, USR-06
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttendanceBitmapIndex {
+
+    /**
+     * Approximate heap cost of one indexed student over a full year (see class comment)
+     */
+    private static final long BYTES_PER_STUDENT = 570;
+
+    private final AttendanceRepository attendanceRepository;
+    private final CurrentAcademicSessionHolder currentSessionHolder;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * Writes take the read lock; starting a rebuild and swapping in its snapshot take the write lock, so no
+     * write is applied to the new snapshot before the writes queued during the scan have been replayed
+     */
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    /**
+     * Runs rebuilds triggered by a session change, so the request that changed the session does not wait for them
+     */
+    private final ExecutorService sessionChangeRebuilds = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("attendance-index-rebuild").daemon().factory());
+    private final Queue<AttendanceIndexRow> writesDuringRebuild = new ConcurrentLinkedQueue<>();
+    private volatile boolean rebuilding;
+    private volatile Snapshot snapshot;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        // Never join a caller's transaction, which may already have committed
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        rebuild();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sessionChangeRebuilds.shutdownNow();
+    }
+
+    /**
+     * Rebuild the index of the current session from the attendance table
+     */
+    @Scheduled(
+            fixedDelayString = "${app.attendance.bitmap-rebuild-ms:3600000}",
+            initialDelayString = "${app.attendance.bitmap-rebuild-ms:3600000}"
+    )
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            Optional<AcademicSessionResponse> session = currentSessionHolder.getCurrentSession();
+            if (session.isEmpty()) {
+                swap(null);
+                log.info("Attendance bitmap index is empty: no current academic session");
+                return;
+            }
+
+            // Submissions committing while the table is read are queued and replayed onto the new snapshot
+            swapLock.writeLock().lock();
+            try {
+                writesDuringRebuild.clear();
+                rebuilding = true;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            Snapshot fresh = new Snapshot(session.get().getStartDate(), session.get().getEndDate());
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<AttendanceIndexRow> rows = attendanceRepository.streamForIndex(fresh.start, fresh.end)) {
+                    rows.forEach(fresh::apply);
+                }
+            });
+            swap(fresh);
+
+            log.info("Attendance bitmap index loaded for session '{}': {} students, about {} KB",
+                    session.get().getName(), fresh.students.size(), fresh.students.size() * BYTES_PER_STUDENT / 1024);
+        } finally {
+            if (rebuilding) {
+                // The scan failed; the old snapshot stays, and every queued write already reached it
+                swapLock.writeLock().lock();
+                try {
+                    rebuilding = false;
+                    writesDuringRebuild.clear();
+                } finally {
+                    swapLock.writeLock().unlock();
+                }
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Replay the queued writes in the order they were applied and publish the snapshot, with no write in between
+     */
+    private void swap(Snapshot fresh) {
+        swapLock.writeLock().lock();
+        try {
+            AttendanceIndexRow pending;
+            while (fresh != null && (pending = writesDuringRebuild.poll()) != null) {
+                fresh.apply(pending);
+            }
+            writesDuringRebuild.clear();
+            snapshot = fresh;
+            rebuilding = false;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reindex as soon as another session becomes current or the current session's dates change.
+     * The event is published after the session change commits. The rebuild runs in the background; until
+     * the new snapshot is swapped in, dates outside the old session are read from the database.
+     */
+    @EventListener
+    public void onCurrentSessionChanged(CurrentAcademicSessionChangedEvent event) {
+        sessionChangeRebuilds.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Attendance bitmap index rebuild after a session change failed", e);
+            }
+        });
+    }
+
+    /**
+     * Apply a section submission once the surrounding transaction commits
+     */
+    public void applyAfterCommit(Long classId, LocalDate date, Long[] studentIds, AttendanceStatus[] statuses) {
+        List<AttendanceIndexRow> rows = new ArrayList<>(studentIds.length);
+        for (int i = 0; i < studentIds.length; i++) {
+            rows.add(new AttendanceIndexRow(studentIds[i], classId, date, statuses[i]));
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rows.forEach(this::apply);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rows.forEach(AttendanceBitmapIndex.this::apply);
+            }
+        });
+    }
+
+    /**
+     * Days in [from, to] on which a student had the given status, in date order
+     */
+    public Optional<List<LocalDate>> findDays(Long studentId, AttendanceStatus status, LocalDate from, LocalDate to) {
+        Snapshot current = snapshot;
+        if (current == null || !current.covers(from, to)) {
+            return Optional.empty();
+        }
+
+        List<LocalDate> days = new ArrayList<>();
+        StudentDays student = current.students.get(studentId);
+        if (student != null) {
+            // Bit i of the copy is day i after 'from'
+            BitSet bits = student.copy(status, current.dayIndex(from), current.dayIndex(to) + 1);
+            for (int day = bits.nextSetBit(0); day >= 0; day = bits.nextSetBit(day + 1)) {
+                days.add(from.plusDays(day));
+            }
+        }
+        return Optional.of(days);
+    }
+
+    /**
+     * Number of days in [from, to] per status for a student
+     */
+    public Optional<Map<AttendanceStatus, Integer>> countDays(Long studentId, LocalDate from, LocalDate to) {
+        Snapshot current = snapshot;
+        if (current == null || !current.covers(from, to)) {
+            return Optional.empty();
+        }
+
+        Map<AttendanceStatus, Integer> counts = new EnumMap<>(AttendanceStatus.class);
+        StudentDays student = current.students.get(studentId);
+        for (AttendanceStatus status : AttendanceStatus.values()) {
+            counts.put(status, student == null ? 0
+                    : student.copy(status, current.dayIndex(from), current.dayIndex(to) + 1).cardinality());
+        }
+        return Optional.of(counts);
+    }
+
+    /**
+     * Students recorded in a class with the given status on a day, in ID order
+     */
+    public Optional<List<Long>> findStudents(Long classId, AttendanceStatus status, LocalDate date) {
+        Snapshot current = snapshot;
+        if (current == null || !current.covers(date, date)) {
+            return Optional.empty();
+        }
+
+        Set<Long> members = current.classStudents.get(classId);
+        if (members == null) {
+            return Optional.of(List.of());
+        }
+        int day = current.dayIndex(date);
+        return Optional.of(members.stream()
+                .filter(studentId -> {
+                    StudentDays student = current.students.get(studentId);
+                    return student != null && student.has(classId, status, day);
+                })
+                .sorted()
+                .toList());
+    }
+
+    private void apply(AttendanceIndexRow row) {
+        swapLock.readLock().lock();
+        try {
+            if (rebuilding) {
+                writesDuringRebuild.add(row);
+            }
+            Snapshot current = snapshot;
+            if (current != null) {
+                current.apply(row);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index of one session; replaced as a whole on rebuild
+     */
+    private static final class Snapshot {
+
+        private final LocalDate start;
+        private final LocalDate end;
+        private final Map<Long, StudentDays> students = new ConcurrentHashMap<>();
+
+        /**
+         * Students with at least one day recorded in each class
+         */
+        private final Map<Long, Set<Long>> classStudents = new ConcurrentHashMap<>();
+
+        private Snapshot(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        private boolean covers(LocalDate from, LocalDate to) {
+            return !from.isBefore(start) && !to.isAfter(end) && !from.isAfter(to);
+        }
+
+        private int dayIndex(LocalDate date) {
+            return (int) ChronoUnit.DAYS.between(start, date);
+        }
+
+        private void apply(AttendanceIndexRow row) {
+            if (!covers(row.attendanceDate(), row.attendanceDate())) {
+                return;
+            }
+
+            StudentDays student = students.computeIfAbsent(row.studentId(), id -> new StudentDays());
+            // Membership follows the student's class days, so both change under the same monitor
+            synchronized (student) {
+                Long vacatedClassId = student.set(row.status(), dayIndex(row.attendanceDate()), row.classId());
+                classStudents.computeIfAbsent(row.classId(), id -> ConcurrentHashMap.newKeySet()).add(row.studentId());
+                if (vacatedClassId != null) {
+                    Set<Long> members = classStudents.get(vacatedClassId);
+                    if (members != null) {
+                        members.remove(row.studentId());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Status and class-day bitsets of one student; BitSet is not thread-safe, so access is guarded by the
+     * holder's monitor. The critical sections never block, so they are safe on virtual threads.
+     */
+    private static final class StudentDays {
+
+        private final BitSet present = new BitSet();
+        private final BitSet absent = new BitSet();
+        private final BitSet onLeave = new BitSet();
+
+        /**
+         * Days recorded under each class; a day is set in exactly one of them
+         */
+        private final Map<Long, BitSet> classDays = new HashMap<>(2);
+
+        /**
+         * Record the status and class of a day.
+         * Returns the class that no longer has any day of this student, or null when no class was vacated.
+         */
+        private synchronized Long set(AttendanceStatus status, int day, Long classId) {
+            present.clear(day);
+            absent.clear(day);
+            onLeave.clear(day);
+            bits(status).set(day);
+
+            Long vacatedClassId = null;
+            Iterator<Map.Entry<Long, BitSet>> entries = classDays.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Long, BitSet> entry = entries.next();
+                if (!entry.getKey().equals(classId) && entry.getValue().get(day)) {
+                    entry.getValue().clear(day);
+                    if (entry.getValue().isEmpty()) {
+                        vacatedClassId = entry.getKey();
+                        entries.remove();
+                    }
+                }
+            }
+            classDays.computeIfAbsent(classId, id -> new BitSet()).set(day);
+            return vacatedClassId;
+        }
+
+        private synchronized boolean has(Long classId, AttendanceStatus status, int day) {
+            BitSet days = classDays.get(classId);
+            return days != null && days.get(day) && bits(status).get(day);
+        }
+
+        private synchronized BitSet copy(AttendanceStatus status, int fromDay, int toDayExclusive) {
+            return bits(status).get(fromDay, toDayExclusive);
+        }
+
+        private BitSet bits(AttendanceStatus status) {
+            return switch (status) {
+                case PRESENT -> present;
+                case ABSENT -> absent;
+                case ON_LEAVE -> onLeave;
+            };
+        }
+    }
+}
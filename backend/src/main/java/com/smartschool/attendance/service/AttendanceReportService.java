@@ -0,0 +1,124 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.dto.AttendanceStatsResponse;
+import com.smartschool.attendance.entity.AttendanceStatus;
+import com.smartschool.attendance.entity.ReportPeriod;
+import com.smartschool.attendance.repository.AttendanceClassDailyRepository;
+import com.smartschool.attendance.repository.AttendanceRepository;
+import com.smartschool.attendance.repository.AttendanceStudentMonthlyRepository;
+import com.smartschool.exception.InvalidOperationException;
+import com.smartschool.setup.dto.AcademicSessionResponse;
+import com.smartschool.setup.service.CurrentAcademicSessionHolder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Daily, monthly and yearly attendance statistics for classes and students.
+ * Class reports read the per-class daily rollup (at most one row per school day) and student reports
+ * the per-student monthly rollup, so a year-long report touches a few hundred rows at most.
+ * Requirement: ATT-07
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceReportService {
+
+    private final AttendanceClassDailyRepository classDailyRepository;
+    private final AttendanceStudentMonthlyRepository studentMonthlyRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final CurrentAcademicSessionHolder currentSessionHolder;
+
+    /**
+     * Attendance statistics of a class; the range defaults to the current academic session
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceStatsResponse> getClassStats(Long classId, LocalDate from, LocalDate to, ReportPeriod period) {
+        DateRange range = resolveRange(from, to);
+        log.info("Fetching {} attendance statistics for class ID: {} from {} to {}", period, classId, range.from(), range.to());
+
+        return group(classDailyRepository
+                .findByClassIdAndAttendanceDateBetweenOrderByAttendanceDate(classId, range.from(), range.to())
+                .stream()
+                .map(day -> new Counts(day.getAttendanceDate(), day.getPresent(), day.getAbsent(), day.getOnLeave())),
+                period);
+    }
+
+    /**
+     * Attendance statistics of a student; the range defaults to the current academic session.
+     * Monthly and yearly figures are built from whole months, so a range starting mid-month includes that whole month.
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceStatsResponse> getStudentStats(Long studentId, LocalDate from, LocalDate to, ReportPeriod period) {
+        DateRange range = resolveRange(from, to);
+        log.info("Fetching {} attendance statistics for student ID: {} from {} to {}", period, studentId, range.from(), range.to());
+
+        // A student's daily figures are just their own rows, read through idx_attendance_student_date
+        if (period == ReportPeriod.DAY) {
+            return group(attendanceRepository
+                    .findByStudentIdAndAttendanceDateBetweenOrderByAttendanceDate(studentId, range.from(), range.to())
+                    .stream()
+                    .map(attendance -> new Counts(attendance.getAttendanceDate(),
+                            attendance.getStatus() == AttendanceStatus.PRESENT ? 1 : 0,
+                            attendance.getStatus() == AttendanceStatus.ABSENT ? 1 : 0,
+                            attendance.getStatus() == AttendanceStatus.ON_LEAVE ? 1 : 0)),
+                    period);
+        }
+
+        return group(studentMonthlyRepository
+                .findByStudentIdAndMonthStartBetweenOrderByMonthStart(studentId, range.from().withDayOfMonth(1), range.to())
+                .stream()
+                .map(month -> new Counts(month.getMonthStart(), month.getPresent(), month.getAbsent(), month.getOnLeave())),
+                period);
+    }
+
+    private DateRange resolveRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            AcademicSessionResponse session = currentSessionHolder.getCurrentSessionOrThrow();
+            from = from != null ? from : session.getStartDate();
+            to = to != null ? to : session.getEndDate();
+        }
+        if (from.isAfter(to)) {
+            throw new InvalidOperationException(String.format("Start date %s is after end date %s", from, to));
+        }
+        return new DateRange(from, to);
+    }
+
+    /**
+     * Sum rollup rows into report periods, in date order
+     */
+    private List<AttendanceStatsResponse> group(Stream<Counts> rows, ReportPeriod period) {
+        Map<LocalDate, AttendanceStatsResponse> periods = new TreeMap<>();
+        rows.forEach(row -> {
+            AttendanceStatsResponse stats = periods.computeIfAbsent(periodStart(row.date(), period),
+                    start -> AttendanceStatsResponse.builder().periodStart(start).build());
+            stats.setPresent(stats.getPresent() + row.present());
+            stats.setAbsent(stats.getAbsent() + row.absent());
+            stats.setOnLeave(stats.getOnLeave() + row.onLeave());
+            stats.setTotal(stats.getTotal() + row.present() + row.absent() + row.onLeave());
+        });
+        return new ArrayList<>(periods.values());
+    }
+
+    private LocalDate periodStart(LocalDate date, ReportPeriod period) {
+        return switch (period) {
+            case DAY -> date;
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    private record DateRange(LocalDate from, LocalDate to) {
+    }
+
+    private record Counts(LocalDate date, int present, int absent, int onLeave) {
+    }
+}
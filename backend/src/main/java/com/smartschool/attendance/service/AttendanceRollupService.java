@@ -0,0 +1,72 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.repository.AttendanceClassDailyRepository;
+import com.smartschool.attendance.repository.AttendanceStudentMonthlyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains the attendance rollup tables behind the ATT-07 reports.
+ * Every submission recounts the touched class days and student months inside its own transaction.
+ * A nightly compaction rebuilds a trailing window in bulk, which repairs rows left stale by
+ * changes made outside the attendance API (corrections in SQL, students moved between classes).
+ * Requirement: ATT-07
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceRollupService {
+
+    private final AttendanceClassDailyRepository classDailyRepository;
+    private final AttendanceStudentMonthlyRepository studentMonthlyRepository;
+
+    @Value("${app.attendance.rollup-compaction-days:45}")
+    private int compactionDays;
+
+    /**
+     * Recount the rollups touched by a section submission: the submitted class day, any class day the
+     * submission moved students out of, and the students' months
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(Collection<Long> classIds, LocalDate date, Collection<Long> studentIds) {
+        // Lock every class day first, in ID order so overlapping submissions cannot deadlock,
+        // then recount: each recount then sees the rows committed by concurrent submissions
+        List<Long> orderedClassIds = classIds.stream().distinct().sorted().toList();
+        orderedClassIds.forEach(classId -> classDailyRepository.lockClassDay(classId, date));
+        orderedClassIds.forEach(classId -> classDailyRepository.recountClassDay(classId, date));
+
+        // Submissions for other days of the same month take other class-day locks, so the student
+        // months are locked the same way before they are recounted
+        LocalDate monthStart = date.withDayOfMonth(1);
+        studentMonthlyRepository.lockMonth(studentIds.toArray(Long[]::new), monthStart);
+        studentMonthlyRepository.recountMonth(studentIds, monthStart, monthStart.plusMonths(1));
+    }
+
+    /**
+     * Rebuild the trailing window of both rollups from the attendance table
+     */
+    @Scheduled(cron = "${app.attendance.rollup-compaction-cron:0 15 1 * * *}")
+    @Transactional
+    public void compact() {
+        LocalDate from = LocalDate.now().minusDays(compactionDays);
+        LocalDate to = LocalDate.now().plusDays(1);
+        LocalDate fromMonth = from.withDayOfMonth(1);
+
+        int classDays = classDailyRepository.rebuildRange(from, to);
+        int classOrphans = classDailyRepository.deleteOrphans(from, to);
+        int studentMonths = studentMonthlyRepository.rebuildFrom(fromMonth);
+        int studentOrphans = studentMonthlyRepository.deleteOrphans(fromMonth);
+
+        log.info("Attendance rollups compacted from {}: {} class days and {} student months corrected, {} stale rows removed",
+                from, classDays, studentMonths, classOrphans + studentOrphans);
+    }
+}
@@ -0,0 +1,267 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.dto.AttendanceEntryRequest;
+import com.smartschool.attendance.dto.AttendanceRecordResponse;
+import com.smartschool.attendance.dto.ClassAttendanceStatusResponse;
+import com.smartschool.attendance.dto.SectionAttendanceRequest;
+import com.smartschool.attendance.dto.SectionAttendanceResponse;
+import com.smartschool.attendance.dto.StudentAttendanceDaysResponse;
+import com.smartschool.attendance.dto.StudentAttendanceSummaryResponse;
+import com.smartschool.attendance.entity.Attendance;
+import com.smartschool.attendance.entity.AttendanceStatus;
+import com.smartschool.attendance.mapper.AttendanceMapper;
+import com.smartschool.attendance.repository.AttendanceRepository;
+import com.smartschool.auth.entity.User;
+import com.smartschool.communication.service.SmsOutboxService;
+import com.smartschool.exception.InvalidOperationException;
+import com.smartschool.setup.dto.AcademicSessionResponse;
+import com.smartschool.setup.dto.SectionResponse;
+import com.smartschool.setup.service.CurrentAcademicSessionHolder;
+import com.smartschool.setup.service.SectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for marking and viewing daily attendance
+ * Requirement: ATT-01, ATT-02, ATT-03, ATT-04, ATT-05, ATT-07, USR-06
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceService {
+
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceMapper attendanceMapper;
+    private final SectionService sectionService;
+    private final CurrentAcademicSessionHolder currentSessionHolder;
+    private final TeacherAssignmentIndex teacherAssignmentIndex;
+    private final SmsOutboxService smsOutboxService;
+    private final AttendanceRollupService attendanceRollupService;
+    private final AttendanceBitmapIndex attendanceBitmapIndex;
+
+    /**
+     * Record the attendance of a whole section for one day.
+     * All rows are written with a single INSERT ... ON CONFLICT DO UPDATE, so resubmitting a day corrects it.
+     * In the same transaction the report rollups are recounted (ATT-07) and absence alerts are queued in the
+     * SMS outbox, to be sent after commit (ATT-05).
+     */
+    @Transactional
+    public SectionAttendanceResponse submitSectionAttendance(Long sectionId, SectionAttendanceRequest request, User user) {
+        LocalDate date = request.getDate() != null ? request.getDate() : LocalDate.now();
+        log.info("Submitting attendance for section ID: {} on {} ({} entries)", sectionId, date, request.getEntries().size());
+
+        AcademicSessionResponse session = currentSessionHolder.getCurrentSessionOrThrow();
+        if (date.isBefore(session.getStartDate()) || date.isAfter(session.getEndDate())) {
+            throw new InvalidOperationException(
+                    String.format("Date %s is outside the current academic session '%s'", date, session.getName()));
+        }
+
+        SectionResponse section = sectionService.getSectionById(sectionId);
+        checkTeacherAssignment(user, session.getId(), section.getClassId());
+
+        List<AttendanceEntryRequest> entries = request.getEntries();
+        Set<Long> studentIds = new HashSet<>();
+        List<Long> absentIds = new ArrayList<>();
+        List<Long> otherIds = new ArrayList<>();
+        Long[] studentIdArray = new Long[entries.size()];
+        AttendanceStatus[] statusValues = new AttendanceStatus[entries.size()];
+        String[] statuses = new String[entries.size()];
+        String[] remarks = new String[entries.size()];
+
+        for (int i = 0; i < entries.size(); i++) {
+            AttendanceEntryRequest entry = entries.get(i);
+            if (!studentIds.add(entry.getStudentId())) {
+                throw new InvalidOperationException(
+                        String.format("Student %s appears more than once in the submission", entry.getStudentId()));
+            }
+            studentIdArray[i] = entry.getStudentId();
+            statusValues[i] = entry.getStatus();
+            statuses[i] = entry.getStatus().name();
+            remarks[i] = entry.getRemarks();
+            (entry.getStatus() == AttendanceStatus.ABSENT ? absentIds : otherIds).add(entry.getStudentId());
+        }
+
+        // One query validates every student against the section's enrollment
+        if (attendanceRepository.countEnrolledInSection(session.getId(), sectionId, studentIds) != studentIds.size()) {
+            throw new InvalidOperationException("One or more students are not enrolled in this section");
+        }
+
+        // Classes the students are leaving on this day lose their rows and must be recounted as well
+        Set<Long> classIds = new HashSet<>(attendanceRepository.lockOtherClassIds(section.getClassId(), date, studentIds));
+        classIds.add(section.getClassId());
+
+        int recorded = attendanceRepository.upsertAll(
+                section.getClassId(), date, user.getId(), studentIdArray, statuses, remarks);
+        attendanceRollupService.refresh(classIds, date, studentIds);
+        smsOutboxService.syncAbsenceAlerts(section.getClassId(), date, absentIds, otherIds);
+        attendanceBitmapIndex.applyAfterCommit(section.getClassId(), date, studentIdArray, statusValues);
+
+        log.info("Attendance recorded for {} students of section ID: {} on {}", recorded, sectionId, date);
+        return SectionAttendanceResponse.builder()
+                .sectionId(sectionId)
+                .classId(section.getClassId())
+                .date(date)
+                .recorded(recorded)
+                .present(countStatus(entries, AttendanceStatus.PRESENT))
+                .absent(countStatus(entries, AttendanceStatus.ABSENT))
+                .onLeave(countStatus(entries, AttendanceStatus.ON_LEAVE))
+                .build();
+    }
+
+    /**
+     * Get the attendance of a section for one day (ATT-01)
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceRecordResponse> getSectionAttendance(Long sectionId, LocalDate date, User user) {
+        LocalDate attendanceDate = date != null ? date : LocalDate.now();
+        log.info("Fetching attendance for section ID: {} on {}", sectionId, attendanceDate);
+
+        Long sessionId = currentSessionHolder.getCurrentSessionId();
+        SectionResponse section = sectionService.getSectionById(sectionId);
+        checkTeacherAssignment(user, sessionId, section.getClassId());
+
+        return attendanceMapper.toRecordResponseList(
+                attendanceRepository.findSectionAttendance(sessionId, sectionId, attendanceDate));
+    }
+
+    /**
+     * Get the days on which a student had a status; the range defaults to the current month up to today.
+     * Not transactional: inside the current session the bitmap index answers without a database connection.
+     */
+    public StudentAttendanceDaysResponse getStudentDays(
+            Long studentId, AttendanceStatus status, LocalDate from, LocalDate to, User user) {
+        LocalDate start = from != null ? from : LocalDate.now().withDayOfMonth(1);
+        LocalDate end = to != null ? to : LocalDate.now();
+        validateRange(start, end);
+        checkStudentAccess(user, studentId);
+
+        List<LocalDate> days = attendanceBitmapIndex.findDays(studentId, status, start, end)
+                .orElseGet(() -> findStudentAttendance(studentId, start, end).stream()
+                        .filter(attendance -> attendance.getStatus() == status)
+                        .map(Attendance::getAttendanceDate)
+                        .toList());
+
+        return StudentAttendanceDaysResponse.builder()
+                .studentId(studentId)
+                .status(status)
+                .from(start)
+                .to(end)
+                .days(days)
+                .build();
+    }
+
+    /**
+     * Get a student's attendance counts and percentage; the range defaults to the current session up to today
+     */
+    public StudentAttendanceSummaryResponse getStudentSummary(Long studentId, LocalDate from, LocalDate to, User user) {
+        AcademicSessionResponse session = currentSessionHolder.getCurrentSessionOrThrow();
+        LocalDate start = from != null ? from : session.getStartDate();
+        LocalDate end = to != null ? to
+                : (LocalDate.now().isBefore(session.getEndDate()) ? LocalDate.now() : session.getEndDate());
+        validateRange(start, end);
+        checkStudentAccess(user, studentId);
+
+        Map<AttendanceStatus, Integer> counts = attendanceBitmapIndex.countDays(studentId, start, end)
+                .orElseGet(() -> findStudentAttendance(studentId, start, end).stream()
+                        .collect(Collectors.groupingBy(Attendance::getStatus, Collectors.summingInt(attendance -> 1))));
+
+        long present = counts.getOrDefault(AttendanceStatus.PRESENT, 0);
+        long absent = counts.getOrDefault(AttendanceStatus.ABSENT, 0);
+        long onLeave = counts.getOrDefault(AttendanceStatus.ON_LEAVE, 0);
+        long total = present + absent + onLeave;
+
+        return StudentAttendanceSummaryResponse.builder()
+                .studentId(studentId)
+                .from(start)
+                .to(end)
+                .present(present)
+                .absent(absent)
+                .onLeave(onLeave)
+                .total(total)
+                .attendancePercentage(total == 0 ? 0 : Math.round(present * 10000.0 / total) / 100.0)
+                .build();
+    }
+
+    /**
+     * Get the students of a class with a status on a day (defaults to today)
+     */
+    public ClassAttendanceStatusResponse getClassStudentsByStatus(
+            Long classId, AttendanceStatus status, LocalDate date, User user) {
+        LocalDate attendanceDate = date != null ? date : LocalDate.now();
+        checkTeacherAssignment(user, currentSessionHolder.getCurrentSessionId(), classId);
+
+        List<Long> studentIds = attendanceBitmapIndex.findStudents(classId, status, attendanceDate)
+                .orElseGet(() -> attendanceRepository.findStudentIds(classId, attendanceDate, status));
+
+        return ClassAttendanceStatusResponse.builder()
+                .classId(classId)
+                .date(attendanceDate)
+                .status(status)
+                .studentIds(studentIds)
+                .build();
+    }
+
+    /**
+     * Administrators may view any student, teachers the students of their classes and parents their own children (USR-06)
+     */
+    private void checkStudentAccess(User user, Long studentId) {
+        switch (user.getRole()) {
+            case SUPER_ADMIN, ADMIN -> {
+            }
+            case TEACHER -> {
+                // The enrollment, not the attendance history, decides which class a student belongs to
+                Long sessionId = currentSessionHolder.getCurrentSessionId();
+                Long classId = attendanceRepository.findEnrolledClassId(sessionId, studentId)
+                        .orElseThrow(() -> new AccessDeniedException("You are not assigned to this student's class"));
+                checkTeacherAssignment(user, sessionId, classId);
+            }
+            case PARENT -> {
+                if (user.getPersonId() == null || !attendanceRepository.isGuardianOf(studentId, user.getPersonId())) {
+                    log.warn("User {} is not a guardian of student ID: {}", user.getUsername(), studentId);
+                    throw new AccessDeniedException("You can only view the attendance of your own children");
+                }
+            }
+            default -> throw new AccessDeniedException("You are not allowed to view student attendance");
+        }
+    }
+
+    private List<Attendance> findStudentAttendance(Long studentId, LocalDate from, LocalDate to) {
+        return attendanceRepository.findByStudentIdAndAttendanceDateBetweenOrderByAttendanceDate(studentId, from, to);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidOperationException(String.format("Start date %s is after end date %s", from, to));
+        }
+    }
+
+    /**
+     * Teachers may only work with classes assigned to them (ATT-04); administrators may work with any class
+     */
+    private void checkTeacherAssignment(User user, Long sessionId, Long classId) {
+        if (user.getRole() == User.UserRole.ADMIN || user.getRole() == User.UserRole.SUPER_ADMIN) {
+            return;
+        }
+
+        if (user.getRole() != User.UserRole.TEACHER || user.getPersonId() == null
+                || !teacherAssignmentIndex.isAssignedToClass(sessionId, user.getPersonId(), classId)) {
+            log.warn("User {} is not assigned to class ID: {}", user.getUsername(), classId);
+            throw new AccessDeniedException("You are not assigned to this class");
+        }
+    }
+
+    private long countStatus(List<AttendanceEntryRequest> entries, AttendanceStatus status) {
+        return entries.stream().filter(entry -> entry.getStatus() == status).count();
+    }
+}
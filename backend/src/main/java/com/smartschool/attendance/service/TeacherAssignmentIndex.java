@@ -0,0 +1,61 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.entity.TeacherAssignment;
+import com.smartschool.attendance.repository.TeacherAssignmentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of teacher assignments keyed by session, staff and class.
+ * Answers the ATT-04 check on every attendance submission without a query. The index is reloaded
+ * periodically; a negative answer is confirmed against the database so assignments made since the
+ * last reload are honoured immediately.
+ * Requirement: ATT-04
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeacherAssignmentIndex {
+
+    private final TeacherAssignmentRepository teacherAssignmentRepository;
+
+    private volatile Set<ClassAssignment> classAssignments = Set.of();
+
+    /**
+     * Load all assignments at startup and reload them periodically
+     */
+    @PostConstruct
+    @Scheduled(
+            fixedDelayString = "${app.attendance.assignment-refresh-ms:300000}",
+            initialDelayString = "${app.attendance.assignment-refresh-ms:300000}"
+    )
+    public void reload() {
+        List<TeacherAssignment> assignments = teacherAssignmentRepository.findAll();
+        classAssignments = assignments.stream()
+                .map(assignment -> new ClassAssignment(
+                        assignment.getAcademicSessionId(), assignment.getStaffId(), assignment.getClassId()))
+                .collect(Collectors.toUnmodifiableSet());
+        log.info("Teacher assignment index loaded with {} class assignments", classAssignments.size());
+    }
+
+    /**
+     * Check if a teacher teaches any subject of a class in a session
+     */
+    public boolean isAssignedToClass(Long academicSessionId, Long staffId, Long classId) {
+        if (classAssignments.contains(new ClassAssignment(academicSessionId, staffId, classId))) {
+            return true;
+        }
+        return teacherAssignmentRepository.existsByAcademicSessionIdAndStaffIdAndClassId(
+                academicSessionId, staffId, classId);
+    }
+
+    private record ClassAssignment(Long academicSessionId, Long staffId, Long classId) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.smartschool.auth.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Dedicated, bounded executor for password hashing during login.
+ * Keeps CPU-heavy hashing off the servlet threads; once the queue is full new
+ * login attempts are rejected instead of piling up behind the hashing work.
+ */
+@Configuration
+public class LoginExecutorConfig {
+
+    public static final String LOGIN_EXECUTOR = "loginExecutor";
+
+    @Value("${app.security.login.threads:0}")
+    private int threads;
+
+    @Value("${app.security.login.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Bean(name = LOGIN_EXECUTOR)
+    public ThreadPoolTaskExecutor loginExecutor() {
+        // Default to one thread per core: hashing is CPU bound, more threads only add contention
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
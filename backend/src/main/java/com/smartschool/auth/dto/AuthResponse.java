@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
     private String username;
     private User.UserRole role;
     private Long userId;
@@ -1,11 +1,15 @@
 package com.smartschool.auth.filter;
 
+import com.smartschool.auth.entity.User;
+import com.smartschool.auth.service.DisabledUserRegistry;
 import com.smartschool.auth.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,12 +22,30 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
 
+    /**
+     * Only present when app.jwt.stateless-principal is on
+     */
+    private final DisabledUserRegistry disabledUserRegistry;
+
+    /**
+     * When enabled, the principal is rebuilt from token claims instead of loading the user row
+     */
+    @Value("${app.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   UserDetailsService userDetailsService,
+                                   ObjectProvider<DisabledUserRegistry> disabledUserRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.disabledUserRegistry = disabledUserRegistry.getIfAvailable();
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -49,11 +71,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             // If username is present and user is not already authenticated
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load user details from database
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                // Rebuild user from claims, or load user details from database
+                UserDetails userDetails = statelessPrincipal
+                        ? buildPrincipalFromClaims(jwtUtil.extractAllClaims(jwt))
+                        : this.userDetailsService.loadUserByUsername(username);
 
                 // Validate token
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (userDetails != null && userDetails.isEnabled() && jwtUtil.validateToken(jwt, userDetails)) {
                     // Create authentication token
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -73,4 +97,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Build the principal from verified claims; returns null for tokens issued without
+     * the role claim so they fall through as unauthenticated
+     */
+    private User buildPrincipalFromClaims(Claims claims) {
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (role == null) {
+            return null;
+        }
+
+        return User.builder()
+                .id(claims.get(JwtUtil.CLAIM_USER_ID, Long.class))
+                .username(claims.getSubject())
+                .role(User.UserRole.valueOf(role))
+                .personId(claims.get(JwtUtil.CLAIM_PERSON_ID, Long.class))
+                .isEnabled(!disabledUserRegistry.isDisabled(claims.getSubject()))
+                .build();
+    }
 }
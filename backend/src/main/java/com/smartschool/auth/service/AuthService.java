@@ -1,13 +1,17 @@
 package com.smartschool.auth.service;
 
+import com.smartschool.auth.config.LoginExecutorConfig;
 import com.smartschool.auth.dto.AuthResponse;
 import com.smartschool.auth.dto.LoginRequest;
+import com.smartschool.auth.dto.RefreshTokenRequest;
 import com.smartschool.auth.dto.RegisterRequest;
 import com.smartschool.auth.entity.User;
 import com.smartschool.auth.repository.UserRepository;
 import com.smartschool.auth.util.JwtUtil;
 import com.smartschool.exception.DuplicateResourceException;
-import lombok.RequiredArgsConstructor;
+import com.smartschool.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -15,14 +19,37 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final TaskExecutor loginExecutor;
+
+    public AuthService(UserRepository userRepository,
+                       PasswordEncoder passwordEncoder,
+                       JwtUtil jwtUtil,
+                       AuthenticationManager authenticationManager,
+                       UserDetailsServiceImpl userDetailsService,
+                       RefreshTokenService refreshTokenService,
+                       @Qualifier(LoginExecutorConfig.LOGIN_EXECUTOR) TaskExecutor loginExecutor) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+        this.authenticationManager = authenticationManager;
+        this.userDetailsService = userDetailsService;
+        this.refreshTokenService = refreshTokenService;
+        this.loginExecutor = loginExecutor;
+    }
 
     /**
      * Register a new user
@@ -45,17 +72,21 @@ public class AuthService {
 
         // Save user
         User savedUser = userRepository.save(user);
+        userDetailsService.evictUser(savedUser.getUsername());
 
-        // Generate JWT token
-        String token = jwtUtil.generateToken(savedUser);
+        // Generate JWT and refresh tokens
+        return buildAuthResponse(savedUser, refreshTokenService.issue(savedUser));
+    }
 
-        // Return response
-        return AuthResponse.builder()
-                .token(token)
-                .username(savedUser.getUsername())
-                .role(savedUser.getRole())
-                .userId(savedUser.getId())
-                .build();
+    /**
+     * Authenticate on the bounded login executor so password hashing never runs on a servlet thread
+     */
+    public CompletableFuture<AuthResponse> loginAsync(LoginRequest request) {
+        try {
+            return CompletableFuture.supplyAsync(() -> login(request), loginExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many concurrent login attempts, please retry shortly");
+        }
     }
 
     /**
@@ -73,15 +104,50 @@ public class AuthService {
         // Get user details
         User user = (User) authentication.getPrincipal();
 
-        // Generate JWT token
-        String token = jwtUtil.generateToken(user);
+        // Generate JWT and refresh tokens
+        return buildAuthResponse(user, refreshTokenService.issue(user));
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a rotated refresh token
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(request.getRefreshToken());
+        return buildAuthResponse(rotated.user(), rotated.refreshToken());
+    }
+
+    /**
+     * Revoke the refresh token family of the current login
+     */
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+
+    /**
+     * Build the response carrying a fresh access token
+     */
+    private AuthResponse buildAuthResponse(User user, String refreshToken) {
+        String token = jwtUtil.generateToken(buildTokenClaims(user), user);
 
-        // Return response
         return AuthResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
                 .username(user.getUsername())
                 .role(user.getRole())
                 .userId(user.getId())
                 .build();
     }
+
+    /**
+     * Claims embedded in the token so the principal can be rebuilt without a database lookup
+     */
+    private Map<String, Object> buildTokenClaims(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtUtil.CLAIM_ROLE, user.getRole().name());
+        claims.put(JwtUtil.CLAIM_USER_ID, user.getId());
+        if (user.getPersonId() != null) {
+            claims.put(JwtUtil.CLAIM_PERSON_ID, user.getPersonId());
+        }
+        return claims;
+    }
 }
@@ -0,0 +1,27 @@
+package com.smartschool.auth.service;
+
+import com.smartschool.auth.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener that revokes a disabled account in the DisabledUserRegistry without waiting for its next refresh.
+ * Created by Hibernate through the Spring bean container; does nothing when the registry is not in use.
+ */
+public class DisabledUserListener {
+
+    private final ObjectProvider<DisabledUserRegistry> disabledUserRegistry;
+
+    public DisabledUserListener(ObjectProvider<DisabledUserRegistry> disabledUserRegistry) {
+        this.disabledUserRegistry = disabledUserRegistry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSave(User user) {
+        if (!user.isEnabled()) {
+            disabledUserRegistry.ifAvailable(registry -> registry.markDisabledAfterCommit(user.getUsername()));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.smartschool.auth.service;
+
+import com.smartschool.auth.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory set of disabled usernames.
+ * Lets the JWT filter reject disabled accounts without loading the user row on every request
+ * when principals are rebuilt from token claims, so it only exists in that mode.
+ * Accounts disabled through JPA are added as soon as the change commits (see DisabledUserListener);
+ * the periodic refresh picks up everything else, including re-enabled accounts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.jwt.stateless-principal", havingValue = "true")
+public class DisabledUserRegistry {
+
+    private final UserRepository userRepository;
+
+    private volatile Set<String> disabledUsernames = Set.of();
+
+    /**
+     * Usernames marked disabled by this instance, with the time they were marked
+     */
+    private final Map<String, Long> markedAt = new HashMap<>();
+
+    /**
+     * Load the disabled set at startup and refresh it periodically
+     */
+    @PostConstruct
+    @Scheduled(
+            fixedDelayString = "${app.jwt.disabled-users-refresh-ms:60000}",
+            initialDelayString = "${app.jwt.disabled-users-refresh-ms:60000}"
+    )
+    public void refresh() {
+        long started = System.nanoTime();
+        Set<String> usernames = new HashSet<>(userRepository.findDisabledUsernames());
+        synchronized (this) {
+            // A query that started after a mark saw its commit; later marks may be missing from the result
+            markedAt.values().removeIf(marked -> marked - started < 0);
+            usernames.addAll(markedAt.keySet());
+            disabledUsernames = Set.copyOf(usernames);
+        }
+        log.debug("Disabled user registry refreshed with {} entries", usernames.size());
+    }
+
+    /**
+     * Treat the username as disabled once the surrounding transaction commits, or immediately when there is none
+     */
+    public void markDisabledAfterCommit(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markDisabled(username);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markDisabled(username);
+            }
+        });
+    }
+
+    private synchronized void markDisabled(String username) {
+        markedAt.put(username, System.nanoTime());
+        if (!disabledUsernames.contains(username)) {
+            Set<String> usernames = new HashSet<>(disabledUsernames);
+            usernames.add(username);
+            disabledUsernames = Set.copyOf(usernames);
+        }
+        log.debug("Marked {} as disabled", username);
+    }
+
+    /**
+     * Check if the given username belongs to a disabled account
+     */
+    public boolean isDisabled(String username) {
+        return disabledUsernames.contains(username);
+    }
+}
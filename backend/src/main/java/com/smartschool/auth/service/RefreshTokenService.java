@@ -0,0 +1,123 @@
+package com.smartschool.auth.service;
+
+import com.smartschool.auth.entity.RefreshToken;
+import com.smartschool.auth.entity.User;
+import com.smartschool.auth.repository.RefreshTokenRepository;
+import com.smartschool.auth.util.TokenHashUtil;
+import com.smartschool.exception.InvalidTokenException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * Only the SHA-256 of a token is stored; every refresh revokes the presented token and issues a
+ * new one in the same family. Presenting an already-rotated token revokes the whole family, so clients
+ * that share one token between tabs must serialize their refreshes (the web client uses a Web Lock).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.jwt.refresh-expiration-ms}")
+    private Long refreshExpirationMs;
+
+    /**
+     * Issue a refresh token that starts a new rotation family
+     */
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    /**
+     * Validate and rotate a refresh token, returning the new raw token and its owner
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public RotatedToken rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(TokenHashUtil.sha256Hex(rawToken))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // A revoked token being presented again means it was copied: kill the whole family
+        if (current.getRevokedAt() != null || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            log.warn("Refresh token reuse detected for user ID: {}", current.getUser().getId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+
+        if (current.isExpired()) {
+            throw new InvalidTokenException("Refresh token has expired");
+        }
+
+        User user = current.getUser();
+        if (!user.isEnabled()) {
+            refreshTokenRepository.revokeAllForUser(user.getId(), now);
+            throw new InvalidTokenException("User account is disabled");
+        }
+
+        return new RotatedToken(user, issue(user, current.getFamilyId()));
+    }
+
+    /**
+     * Revoke the family of the given token (logout)
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHashWithUser(TokenHashUtil.sha256Hex(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * Revoke every refresh token of a user, e.g. after a password change or when disabling the account
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Remove expired tokens once a day
+     */
+    @Scheduled(cron = "${app.jwt.refresh-cleanup-cron:0 30 2 * * *}")
+    @Transactional
+    public void purgeExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        log.info("Purged {} expired refresh tokens", deleted);
+    }
+
+    private String issue(User user, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = RefreshToken.builder()
+                .user(user)
+                .tokenHash(TokenHashUtil.sha256Hex(rawToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs)))
+                .build();
+        refreshTokenRepository.save(token);
+
+        return rawToken;
+    }
+
+    public record RotatedToken(User user, String refreshToken) {
+    }
+}
@@ -1,21 +1,97 @@
 package com.smartschool.auth.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartschool.auth.entity.User;
 import com.smartschool.auth.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+
+/**
+ * Loads users for authentication through a bounded in-process cache.
+ * Any path that changes an account (registration, enable/disable, password change)
+ * must call {@link #evictUser(String)} so the change is visible on the next request.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.auth.user-cache.max-size:5000}")
+    private long userCacheMaxSize;
+
+    @Value("${app.auth.user-cache.ttl:PT5M}")
+    private Duration userCacheTtl;
+
+    private Cache<String, User> userCache;
+
+    @PostConstruct
+    void init() {
+        userCache = Caffeine.newBuilder()
+                .maximumSize(userCacheMaxSize)
+                .expireAfterWrite(userCacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "userDetails");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
+        User cached = userCache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Load outside the cache's compute lock: a JDBC call inside Cache.get(key, loader) runs in a
+        // synchronized block and would pin the carrier thread when running on virtual threads
+        User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        userCache.put(username, user);
+        return user;
+    }
+
+    /**
+     * Store a re-encoded password after a successful login with an outdated hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Upgrading password hash for user: {}", user.getUsername());
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        evictUser(user.getUsername());
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+        }
+        return user;
+    }
+
+    /**
+     * Remove a single user from the cache after their account changed
+     */
+    public void evictUser(String username) {
+        log.debug("Evicting cached user details for: {}", username);
+        userCache.invalidate(username);
+    }
+
+    /**
+     * Remove all cached users
+     */
+    public void evictAll() {
+        userCache.invalidateAll();
     }
 }
@@ -0,0 +1,27 @@
+package com.smartschool.auth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hashing for bearer credentials that must be looked up without being stored in plain form
+ */
+public final class TokenHashUtil {
+
+    private TokenHashUtil() {
+    }
+
+    /**
+     * SHA-256 of the token as lowercase hex
+     */
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.smartschool.common.bulk;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-row results of a bulk request, in request order, with totals per outcome
+ */
+public record BulkResponse(
+        List<BulkRowResult> results,
+        long created,
+        long updated,
+        long existing,
+        long rejected
+) {
+
+    public static BulkResponse of(BulkRowResult[] results) {
+        List<BulkRowResult> rows = Arrays.asList(results);
+        return new BulkResponse(
+                List.copyOf(rows),
+                count(rows, BulkRowStatus.CREATED),
+                count(rows, BulkRowStatus.UPDATED),
+                count(rows, BulkRowStatus.EXISTING),
+                rows.stream().filter(BulkRowResult::isRejected).count()
+        );
+    }
+
+    private static long count(List<BulkRowResult> rows, BulkRowStatus status) {
+        return rows.stream().filter(row -> row.status() == status).count();
+    }
+}
@@ -0,0 +1,24 @@
+package com.smartschool.common.bulk;
+
+/**
+ * Result of one row of a bulk request
+ *
+ * @param index   position of the row in the request
+ * @param status  what happened to the row
+ * @param id      ID of the created or matched row; null when the row was rejected
+ * @param message reason a row was rejected; null otherwise
+ */
+public record BulkRowResult(int index, BulkRowStatus status, Long id, String message) {
+
+    public static BulkRowResult of(int index, BulkRowStatus status, Long id) {
+        return new BulkRowResult(index, status, id, null);
+    }
+
+    public static BulkRowResult rejected(int index, BulkRowStatus status, String message) {
+        return new BulkRowResult(index, status, null, message);
+    }
+
+    public boolean isRejected() {
+        return status == BulkRowStatus.DUPLICATE || status == BulkRowStatus.INVALID;
+    }
+}
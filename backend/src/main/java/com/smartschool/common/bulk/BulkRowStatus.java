@@ -0,0 +1,17 @@
+package com.smartschool.common.bulk;
+
+/**
+ * Outcome of a single row in a bulk request
+ */
+public enum BulkRowStatus {
+    /** A new row was inserted */
+    CREATED,
+    /** An existing row was changed */
+    UPDATED,
+    /** A matching row already existed and nothing changed */
+    EXISTING,
+    /** The row conflicts with another row of the batch or with existing data */
+    DUPLICATE,
+    /** The row references data that does not exist */
+    INVALID
+}
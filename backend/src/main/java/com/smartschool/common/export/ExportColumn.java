@@ -0,0 +1,13 @@
+package com.smartschool.common.export;
+
+import java.util.function.Function;
+
+/**
+ * One column of an export: the header (CSV) or field name (NDJSON) and how to read it from a row
+ */
+public record ExportColumn<T>(String name, Function<T, ?> value) {
+
+    public static <T> ExportColumn<T> of(String name, Function<T, ?> value) {
+        return new ExportColumn<>(name, value);
+    }
+}
@@ -0,0 +1,53 @@
+package com.smartschool.common.export;
+
+import com.smartschool.exception.InvalidOperationException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * File formats supported by streaming exports
+ */
+public enum ExportFormat {
+
+    /** One JSON object per line */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** Comma-separated values with a header row, for spreadsheets */
+    CSV("text/csv", "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolve a format from a request parameter, ignoring case
+     */
+    public static ExportFormat from(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new InvalidOperationException(String.format(
+                        "Unsupported export format '%s'. Supported formats: %s", value,
+                        Arrays.stream(values()).map(format -> format.extension).collect(Collectors.joining(", ")))));
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,146 @@
+package com.smartschool.common.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes query results straight to the response as NDJSON or CSV.
+ * Rows are pulled from a JPA {@link Stream} backed by a server-side cursor, so memory use does not
+ * depend on the number of rows. Export queries should return DTO projections (not entities) and
+ * carry a fetch-size hint of {@link #FETCH_SIZE}.
+ */
+@Slf4j
+@Component
+public class StreamingExporter {
+
+    /**
+     * Rows fetched per round trip by export queries, for use in {@code @QueryHints}
+     */
+    public static final String FETCH_SIZE = "500";
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public StreamingExporter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        // PostgreSQL only honours the fetch size inside a transaction; without one the driver buffers every row
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Build a download response that opens the row stream only when the body is written
+     */
+    public <T> ResponseEntity<StreamingResponseBody> export(
+            String fileName, ExportFormat format, List<ExportColumn<T>> columns, Supplier<Stream<T>> rows) {
+
+        StreamingResponseBody body = out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> stream = rows.get()) {
+                long written = format == ExportFormat.CSV
+                        ? writeCsv(out, columns, stream)
+                        : writeNdjson(out, columns, stream);
+                log.info("Exported {} rows to {}.{}", written, fileName, format.getExtension());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(fileName + "-" + LocalDate.now() + "." + format.getExtension())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
+    private <T> long writeNdjson(OutputStream out, List<ExportColumn<T>> columns, Stream<T> rows) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+            for (T row : (Iterable<T>) rows::iterator) {
+                generator.writeStartObject();
+                for (ExportColumn<T> column : columns) {
+                    generator.writeFieldName(column.name());
+                    generator.writeObject(column.value().apply(row));
+                }
+                generator.writeEndObject();
+
+                if (++count % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeRaw('\n');
+        }
+        return count;
+    }
+
+    private <T> long writeCsv(OutputStream out, List<ExportColumn<T>> columns, Stream<T> rows) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        writeCsvLine(writer, columns.stream().map(ExportColumn::name).toList());
+        for (T row : (Iterable<T>) rows::iterator) {
+            writeCsvLine(writer, columns.stream().map(column -> column.value().apply(row)).toList());
+
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quote values per RFC 4180 and neutralise text that spreadsheets would run as a formula
+     */
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            text = "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,32 @@
+package com.smartschool.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset (seek) paginated listing.
+ * The cursor is the ID of the last row returned; the next slice is requested with {@code after=<cursor>}.
+ *
+ * @param content    rows of this slice, ordered by ID
+ * @param nextCursor ID to pass as {@code after} for the next slice, or null when this is the last slice
+ */
+public record CursorPage<T>(List<T> content, Long nextCursor) {
+
+    /**
+     * Build a slice from a query that fetched one row more than the requested size
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> idExtractor) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(List.copyOf(content), idExtractor.apply(content.get(size - 1)));
+    }
+
+    /**
+     * Map the rows of this slice, keeping the cursor
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor);
+    }
+}
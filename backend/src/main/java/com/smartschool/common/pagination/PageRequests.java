@@ -0,0 +1,27 @@
+package com.smartschool.common.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Helpers for building page requests with a deterministic order
+ */
+public final class PageRequests {
+
+    public static final String ID = "id";
+
+    private PageRequests() {
+    }
+
+    /**
+     * Append ID as the final sort key so rows with equal sort values keep a stable order across pages
+     */
+    public static Pageable withStableOrder(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor(ID) == null) {
+            sort = sort.and(Sort.by(ID));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+}
@@ -0,0 +1,43 @@
+package com.smartschool.common.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Pagination contract shared by all list endpoints.
+ * The body stays a plain JSON array; paging metadata travels in response headers:
+ * <ul>
+ *     <li>{@code X-Total-Count} - total number of rows, for offset pagination ({@code page}, {@code size}, {@code sort})</li>
+ *     <li>{@code X-Next-Cursor} - value for {@code after} to fetch the next keyset slice; absent on the last slice</li>
+ * </ul>
+ */
+public final class PaginationHeaders {
+
+    public static final String TOTAL_COUNT = "X-Total-Count";
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private PaginationHeaders() {
+    }
+
+    /**
+     * Respond with an offset page and its total count
+     */
+    public static <T> ResponseEntity<List<T>> ok(Page<T> page) {
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT, String.valueOf(page.getTotalElements()))
+                .body(page.getContent());
+    }
+
+    /**
+     * Respond with a keyset slice and the cursor of the next one
+     */
+    public static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR, String.valueOf(page.nextCursor()));
+        }
+        return builder.body(page.content());
+    }
+}
@@ -0,0 +1,32 @@
+package com.smartschool.common.version;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change counter of a table, maintained by database triggers only
+ */
+@Entity
+@Immutable
+@Table(name = "table_versions")
+@Data
+@NoArgsConstructor
+public class TableVersion {
+
+    @Id
+    @Column(name = "table_name", length = 63)
+    private String tableName;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
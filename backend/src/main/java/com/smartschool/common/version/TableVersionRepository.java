@@ -0,0 +1,21 @@
+package com.smartschool.common.version;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for TableVersion entity
+ */
+@Repository
+public interface TableVersionRepository extends JpaRepository<TableVersion, String> {
+
+    /**
+     * Read the counters of the given tables in a fixed order
+     */
+    @Query("SELECT v.version FROM TableVersion v WHERE v.tableName IN :tableNames ORDER BY v.tableName")
+    List<Long> findVersions(Collection<String> tableNames);
+}
@@ -0,0 +1,60 @@
+package com.smartschool.common.version;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds strong ETags from per-table change counters so unchanged reference data can be
+ * answered with 304 Not Modified after a single primary-key lookup instead of the full query.
+ */
+@Service
+@RequiredArgsConstructor
+public class TableVersionService {
+
+    public static final String ACADEMIC_SESSIONS = "academic_sessions";
+    public static final String CLASSES = "classes";
+    public static final String SECTIONS = "sections";
+    public static final String SUBJECTS = "subjects";
+    public static final String CLASS_SUBJECTS = "class_subjects";
+
+    /**
+     * Clients may keep a copy but must revalidate it before every use
+     */
+    private static final String CACHE_CONTROL = "no-cache, private";
+
+    private final TableVersionRepository tableVersionRepository;
+
+    /**
+     * Build the ETag for a representation that reads from the given tables
+     */
+    @Transactional(readOnly = true)
+    public String etag(String... tableNames) {
+        List<Long> versions = tableVersionRepository.findVersions(List.of(tableNames));
+        return versions.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"v", "\""));
+    }
+
+    /**
+     * Check the request's If-None-Match against the current ETag of the given tables.
+     * Returns true when a 304 response has been prepared and the handler should return null.
+     */
+    public boolean checkNotModified(WebRequest request, String... tableNames) {
+        boolean notModified = request.checkNotModified(etag(tableNames));
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            }
+        }
+        return notModified;
+    }
+}
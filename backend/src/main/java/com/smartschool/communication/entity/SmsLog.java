@@ -0,0 +1,36 @@
+package com.smartschool.communication.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the final outcome of one outgoing SMS
+ * Requirement: COM-04
+ */
+@Entity
+@Table(name = "sms_logs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SmsLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient_phone", nullable = false, length = 20)
+    private String recipientPhone;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
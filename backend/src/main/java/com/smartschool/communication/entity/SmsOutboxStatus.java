@@ -0,0 +1,18 @@
+package com.smartschool.communication.entity;
+
+/**
+ * Delivery state of an outbox message
+ * Requirement: ATT-05
+ */
+public enum SmsOutboxStatus {
+    /** Waiting for its next delivery attempt */
+    PENDING,
+    /** Claimed by a dispatcher; returns to the queue when the lease expires */
+    SENDING,
+    /** Accepted by the gateway */
+    SENT,
+    /** Gave up after the maximum number of attempts, or the message cannot be built */
+    FAILED,
+    /** No longer needed, e.g. the absence was corrected before delivery */
+    CANCELLED
+}
@@ -0,0 +1,24 @@
+package com.smartschool.communication.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Stub gateway that only logs messages and reports them as sent.
+ * Active unless another provider is configured with app.sms.gateway.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.sms.gateway", havingValue = "stub", matchIfMissing = true)
+public class LoggingSmsGateway implements SmsGateway {
+
+    @Override
+    public List<SmsDeliveryResult> sendBatch(List<SmsMessage> messages) {
+        messages.forEach(message -> log.debug("SMS to {}: {}", message.recipient(), message.text()));
+        log.info("Stub gateway accepted {} SMS", messages.size());
+        return messages.stream().map(message -> SmsDeliveryResult.sent(message.id())).toList();
+    }
+}
@@ -0,0 +1,19 @@
+package com.smartschool.communication.gateway;
+
+/**
+ * Outcome reported by the gateway for one message of a batch
+ *
+ * @param id      outbox row of the message
+ * @param success whether the gateway accepted the message
+ * @param error   gateway error when not accepted
+ */
+public record SmsDeliveryResult(Long id, boolean success, String error) {
+
+    public static SmsDeliveryResult sent(Long id) {
+        return new SmsDeliveryResult(id, true, null);
+    }
+
+    public static SmsDeliveryResult failed(Long id, String error) {
+        return new SmsDeliveryResult(id, false, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.smartschool.communication.gateway;
+
+import java.util.List;
+
+/**
+ * Provider used to deliver SMS.
+ * Implementations send a whole batch per call; a thrown exception marks every message of the batch as failed.
+ */
+public interface SmsGateway {
+
+    /**
+     * Send a batch of messages, returning one result per message
+     */
+    List<SmsDeliveryResult> sendBatch(List<SmsMessage> messages);
+}
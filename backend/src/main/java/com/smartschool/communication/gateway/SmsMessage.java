@@ -0,0 +1,11 @@
+package com.smartschool.communication.gateway;
+
+/**
+ * A rendered SMS ready to be handed to the gateway
+ *
+ * @param id        outbox row the message came from, used to match delivery results
+ * @param recipient phone number of the recipient
+ * @param text      final message text
+ */
+public record SmsMessage(Long id, String recipient, String text) {
+}
@@ -0,0 +1,13 @@
+package com.smartschool.communication.repository;
+
+import com.smartschool.communication.entity.SmsLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for SmsLog entity
+ * Requirement: COM-04
+ */
+@Repository
+public interface SmsLogRepository extends JpaRepository<SmsLog, Long> {
+}
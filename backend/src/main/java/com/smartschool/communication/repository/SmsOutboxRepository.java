@@ -0,0 +1,65 @@
+package com.smartschool.communication.repository;
+
+import com.smartschool.communication.entity.SmsOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for SmsOutbox entity
+ * Requirement: ATT-05
+ */
+@Repository
+public interface SmsOutboxRepository extends JpaRepository<SmsOutbox, Long> {
+
+    /**
+     * Queue one absence alert per student in a single statement.
+     * The recipient is the primary guardian's contact number, falling back to the student's own;
+     * students without any number are skipped. A cancelled alert for the same day is revived.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sms_outbox (dedup_key, template_name, recipient_phone, variables) " +
+            "SELECT DISTINCT ON (sp.id) " +
+            "'absence:' || sp.id || ':' || CAST(CAST(:attendanceDate AS DATE) AS VARCHAR), :templateName, " +
+            "COALESCE(gp.primary_contact, sp.primary_contact), " +
+            "jsonb_build_object('student_name', TRIM(sp.first_name || ' ' || COALESCE(sp.last_name, '')), " +
+            "'class_name', c.name, 'date', CAST(CAST(:attendanceDate AS DATE) AS VARCHAR)) " +
+            "FROM persons sp " +
+            "JOIN classes c ON c.id = :classId " +
+            "LEFT JOIN student_guardians g ON g.student_id = sp.id AND g.is_primary " +
+            "LEFT JOIN persons gp ON gp.id = g.guardian_id AND gp.primary_contact IS NOT NULL " +
+            "WHERE sp.id IN (:studentIds) AND COALESCE(gp.primary_contact, sp.primary_contact) IS NOT NULL " +
+            "ORDER BY sp.id, gp.id NULLS LAST " +
+            "ON CONFLICT (dedup_key) DO UPDATE SET status = 'PENDING', attempts = 0, " +
+            "next_attempt_at = CURRENT_TIMESTAMP, last_error = NULL " +
+            "WHERE sms_outbox.status = 'CANCELLED'",
+            nativeQuery = true)
+    int enqueueAbsenceAlerts(Long classId, LocalDate attendanceDate, String templateName, Collection<Long> studentIds);
+
+    /**
+     * Cancel queued messages that have not been handed to the gateway yet
+     */
+    @Modifying
+    @Query("UPDATE SmsOutbox o SET o.status = com.smartschool.communication.entity.SmsOutboxStatus.CANCELLED " +
+            "WHERE o.dedupKey IN :dedupKeys " +
+            "AND o.status = com.smartschool.communication.entity.SmsOutboxStatus.PENDING")
+    int cancelPending(Collection<String> dedupKeys);
+
+    /**
+     * Lock due messages, skipping rows already locked by another dispatcher.
+     * Rows stuck in SENDING whose lease expired (dispatcher crashed mid-batch) are picked up again.
+     */
+    @Query(value = "SELECT * FROM sms_outbox " +
+            "WHERE (status = 'PENDING' AND next_attempt_at <= CURRENT_TIMESTAMP) " +
+            "OR (status = 'SENDING' AND locked_until < CURRENT_TIMESTAMP) " +
+            "ORDER BY next_attempt_at, id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<SmsOutbox> lockDueBatch(int limit);
+}
@@ -0,0 +1,18 @@
+package com.smartschool.communication.repository;
+
+import com.smartschool.communication.entity.SmsTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for SmsTemplate entity
+ * Requirement: ATT-06
+ */
+@Repository
+public interface SmsTemplateRepository extends JpaRepository<SmsTemplate, Long> {
+
+    List<SmsTemplate> findByNameIn(Collection<String> names);
+}
@@ -0,0 +1,214 @@
+package com.smartschool.communication.service;
+
+import com.smartschool.communication.entity.SmsLog;
+import com.smartschool.communication.entity.SmsOutbox;
+import com.smartschool.communication.entity.SmsOutboxStatus;
+import com.smartschool.communication.entity.SmsTemplate;
+import com.smartschool.communication.gateway.SmsDeliveryResult;
+import com.smartschool.communication.gateway.SmsGateway;
+import com.smartschool.communication.gateway.SmsMessage;
+import com.smartschool.communication.repository.SmsLogRepository;
+import com.smartschool.communication.repository.SmsOutboxRepository;
+import com.smartschool.communication.repository.SmsTemplateRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued SMS in the background.
+ * Each round locks a batch of due outbox rows with FOR UPDATE SKIP LOCKED and leases them, so several
+ * application instances can dispatch concurrently without sending a message twice. The batch is rendered,
+ * sent in one gateway call, and the outcome is written back; failures are retried with exponential backoff
+ * and every final outcome is recorded in sms_logs.
+ * Requirement: ATT-05, COM-04
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SmsDispatcher {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+
+    private final SmsOutboxRepository smsOutboxRepository;
+    private final SmsTemplateRepository smsTemplateRepository;
+    private final SmsLogRepository smsLogRepository;
+    private final SmsGateway smsGateway;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.sms.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.sms.rate-per-second:20}")
+    private int ratePerSecond;
+
+    @Value("${app.sms.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.sms.retry-backoff:PT30S}")
+    private Duration retryBackoff;
+
+    @Value("${app.sms.max-retry-backoff:PT1H}")
+    private Duration maxRetryBackoff;
+
+    @Value("${app.sms.lease:PT5M}")
+    private Duration lease;
+
+    private TransactionTemplate transactionTemplate;
+    private SmsRateLimiter rateLimiter;
+    private SmsRetryBackoff retryDelays;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        rateLimiter = new SmsRateLimiter(ratePerSecond);
+        retryDelays = new SmsRetryBackoff(retryBackoff, maxRetryBackoff);
+    }
+
+    /**
+     * Drain the due messages batch by batch
+     */
+    @Scheduled(fixedDelayString = "${app.sms.dispatch-interval-ms:2000}",
+            initialDelayString = "${app.sms.dispatch-interval-ms:2000}")
+    public void dispatch() {
+        try {
+            List<SmsOutbox> batch;
+            do {
+                batch = transactionTemplate.execute(status -> claimBatch());
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+            } while (batch.size() == batchSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("SMS dispatch round failed", e);
+        }
+    }
+
+    /**
+     * Lock due rows and lease them to this dispatcher; the lease is committed before anything is sent
+     */
+    private List<SmsOutbox> claimBatch() {
+        List<SmsOutbox> batch = smsOutboxRepository.lockDueBatch(batchSize);
+        LocalDateTime lockedUntil = LocalDateTime.now().plus(lease);
+        batch.forEach(message -> {
+            message.setStatus(SmsOutboxStatus.SENDING);
+            message.setLockedUntil(lockedUntil);
+        });
+        return batch;
+    }
+
+    private void deliver(List<SmsOutbox> batch) throws InterruptedException {
+        Set<String> templateNames = batch.stream().map(SmsOutbox::getTemplateName).collect(Collectors.toSet());
+        Map<String, String> templates = smsTemplateRepository.findByNameIn(templateNames).stream()
+                .collect(Collectors.toMap(SmsTemplate::getName, SmsTemplate::getContent));
+
+        Map<Long, String> texts = new HashMap<>();
+        Map<Long, SmsDeliveryResult> results = new HashMap<>();
+        List<SmsMessage> messages = new ArrayList<>();
+
+        for (SmsOutbox outbox : batch) {
+            String template = templates.get(outbox.getTemplateName());
+            if (template == null) {
+                results.put(outbox.getId(), SmsDeliveryResult.failed(outbox.getId(),
+                        "SMS template not found: " + outbox.getTemplateName()));
+                continue;
+            }
+            String text = render(template, outbox.getVariables());
+            texts.put(outbox.getId(), text);
+            messages.add(new SmsMessage(outbox.getId(), outbox.getRecipientPhone(), text));
+        }
+
+        if (!messages.isEmpty()) {
+            rateLimiter.acquire(messages.size());
+            try {
+                smsGateway.sendBatch(messages).forEach(result -> results.put(result.id(), result));
+            } catch (RuntimeException e) {
+                log.warn("SMS gateway call failed for {} messages: {}", messages.size(), e.getMessage());
+                messages.forEach(message -> results.put(message.id(), SmsDeliveryResult.failed(message.id(), e.getMessage())));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> recordResults(batch, texts, results));
+    }
+
+    /**
+     * Write delivery outcomes back to the outbox and log final outcomes (COM-04)
+     */
+    private void recordResults(List<SmsOutbox> batch, Map<Long, String> texts, Map<Long, SmsDeliveryResult> results) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, SmsOutbox> rows = smsOutboxRepository.findAllById(batch.stream().map(SmsOutbox::getId).toList())
+                .stream().collect(Collectors.toMap(SmsOutbox::getId, Function.identity()));
+        List<SmsLog> logs = new ArrayList<>();
+        int sent = 0;
+        int retried = 0;
+
+        for (SmsOutbox row : rows.values()) {
+            SmsDeliveryResult result = results.getOrDefault(row.getId(),
+                    SmsDeliveryResult.failed(row.getId(), "No result reported by the gateway"));
+            String text = texts.getOrDefault(row.getId(), row.getTemplateName());
+            row.setAttempts(row.getAttempts() + 1);
+            row.setLockedUntil(null);
+
+            if (result.success()) {
+                row.setStatus(SmsOutboxStatus.SENT);
+                row.setSentAt(now);
+                row.setLastError(null);
+                logs.add(toLog(row, text, "SENT", now));
+                sent++;
+            } else if (!texts.containsKey(row.getId()) || row.getAttempts() >= maxAttempts) {
+                row.setStatus(SmsOutboxStatus.FAILED);
+                row.setLastError(result.error());
+                logs.add(toLog(row, text, "FAILED", now));
+            } else {
+                row.setStatus(SmsOutboxStatus.PENDING);
+                row.setNextAttemptAt(now.plus(retryDelays.delayAfter(row.getAttempts())));
+                row.setLastError(result.error());
+                retried++;
+            }
+        }
+
+        smsLogRepository.saveAll(logs);
+        log.info("SMS batch dispatched: {} sent, {} to retry, {} failed", sent, retried, rows.size() - sent - retried);
+    }
+
+    /**
+     * Replace {name} placeholders; unknown placeholders are left as they are
+     */
+    private String render(String template, Map<String, String> variables) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder text = new StringBuilder();
+        while (matcher.find()) {
+            String value = variables.get(matcher.group(1));
+            matcher.appendReplacement(text, Matcher.quoteReplacement(value != null ? value : matcher.group()));
+        }
+        matcher.appendTail(text);
+        return text.toString();
+    }
+
+    private SmsLog toLog(SmsOutbox row, String text, String status, LocalDateTime sentAt) {
+        return SmsLog.builder()
+                .recipientPhone(row.getRecipientPhone())
+                .message(text)
+                .status(status)
+                .sentAt(sentAt)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.smartschool.communication.service;
+
+import com.smartschool.communication.repository.SmsOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes outgoing SMS to the outbox inside the caller's transaction.
+ * Nothing is sent here; {@link SmsDispatcher} delivers the rows after commit.
+ * Requirement: ATT-05, ATT-06
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SmsOutboxService {
+
+    private final SmsOutboxRepository smsOutboxRepository;
+
+    @Value("${app.sms.absence-template:Student Absenteeism}")
+    private String absenceTemplate;
+
+    /**
+     * Queue absence alerts for the given students and cancel undelivered alerts of students
+     * that are no longer absent on that day (a corrected submission)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void syncAbsenceAlerts(Long classId, LocalDate date,
+                                  Collection<Long> absentStudentIds, Collection<Long> otherStudentIds) {
+        int queued = absentStudentIds.isEmpty() ? 0
+                : smsOutboxRepository.enqueueAbsenceAlerts(classId, date, absenceTemplate, absentStudentIds);
+
+        int cancelled = otherStudentIds.isEmpty() ? 0
+                : smsOutboxRepository.cancelPending(absenceKeys(otherStudentIds, date));
+
+        log.info("Absence alerts for class ID: {} on {}: {} queued, {} cancelled", classId, date, queued, cancelled);
+    }
+
+    /**
+     * Deduplication keys of absence alerts; must match the key built in SmsOutboxRepository.enqueueAbsenceAlerts
+     */
+    private List<String> absenceKeys(Collection<Long> studentIds, LocalDate date) {
+        return studentIds.stream().map(studentId -> "absence:" + studentId + ":" + date).toList();
+    }
+}
@@ -0,0 +1,53 @@
+package com.smartschool.communication.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Spaces gateway calls so that no more than the configured number of messages is sent per second.
+ * Permits are reserved under a lock and the wait happens outside it.
+ */
+class SmsRateLimiter {
+
+    private final long nanosPerMessage;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextFreeAt;
+
+    SmsRateLimiter(int messagesPerSecond) {
+        this(messagesPerSecond, System::nanoTime);
+    }
+
+    SmsRateLimiter(int messagesPerSecond, LongSupplier nanoClock) {
+        this.nanosPerMessage = TimeUnit.SECONDS.toNanos(1) / Math.max(messagesPerSecond, 1);
+        this.nanoClock = nanoClock;
+        this.nextFreeAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Block until the given number of messages may be sent
+     */
+    void acquire(int messages) throws InterruptedException {
+        long waitNanos = reserve(messages);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Reserve send slots for the given number of messages and return how long the caller must wait before sending
+     */
+    long reserve(int messages) {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            nextFreeAt = Math.max(nextFreeAt, now);
+            long waitNanos = nextFreeAt - now;
+            nextFreeAt += nanosPerMessage * messages;
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
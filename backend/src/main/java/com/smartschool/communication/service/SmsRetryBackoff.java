@@ -0,0 +1,30 @@
+package com.smartschool.communication.service;
+
+import java.time.Duration;
+
+/**
+ * Exponential backoff for failed SMS: base, 2 x base, 4 x base, ... capped at the configured maximum
+ */
+class SmsRetryBackoff {
+
+    /**
+     * Doublings beyond this point cannot matter for any sensible cap and would overflow the shift
+     */
+    private static final int MAX_DOUBLINGS = 20;
+
+    private final Duration base;
+    private final Duration max;
+
+    SmsRetryBackoff(Duration base, Duration max) {
+        this.base = base;
+        this.max = max;
+    }
+
+    /**
+     * Delay before the next attempt, given the number of attempts made so far (at least 1)
+     */
+    Duration delayAfter(int attempts) {
+        Duration delay = base.multipliedBy(1L << Math.min(Math.max(attempts, 1) - 1, MAX_DOUBLINGS));
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+}
@@ -0,0 +1,48 @@
+package com.smartschool.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cache configuration for rarely changing reference data.
+ * Caches are Caffeine-backed and declared in application.yml (spring.cache.*); their statistics
+ * are registered as cache.* metrics.
+ * The caching advisor runs outside the transaction advisor, so evictions happen after commit
+ * and cache hits never open a transaction. Cached reads use sync = true so the
+ * {@link GenerationalCaffeineCache} can drop results loaded before a concurrent eviction.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String SCHOOL_CLASSES = "schoolClasses";
+    public static final String SECTIONS = "sections";
+    public static final String SUBJECTS = "subjects";
+    public static final String ACADEMIC_SESSIONS = "academicSessions";
+    public static final String GRADING_SCALES = "gradingScales";
+
+    @Bean
+    public CaffeineCacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                                               com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new GenerationalCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        return cacheManager;
+    }
+}
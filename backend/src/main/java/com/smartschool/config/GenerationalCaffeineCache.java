@@ -0,0 +1,105 @@
+package com.smartschool.config;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caffeine cache that stamps every entry with the cache generation observed before its value
+ * was loaded. Every eviction starts a new generation, so a read that queried the database
+ * before a write committed cannot publish its stale result after that write's eviction:
+ * the entry carries the old generation and is treated as a miss.
+ * Only {@link #get(Object, Callable)} (@Cacheable(sync = true)) captures the generation before
+ * loading; plain put() stamps the generation current at the time of the put.
+ */
+public class GenerationalCaffeineCache extends CaffeineCache {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public GenerationalCaffeineCache(String name,
+                                     com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                     boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        Object stored = getNativeCache().getIfPresent(key);
+        return stored instanceof Stamped stamped && stamped.generation() == generation.get()
+                ? stamped.value()
+                : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        while (true) {
+            long loadGeneration = generation.get();
+            Stamped stamped = (Stamped) getNativeCache().get(key,
+                    k -> new Stamped(loadGeneration, toStoreValue(load(key, valueLoader))));
+            if (stamped.generation() == generation.get()) {
+                return (T) fromStoreValue(stamped.value());
+            }
+            getNativeCache().asMap().remove(key, stamped);
+            if (stamped.generation() >= loadGeneration) {
+                // Loaded after this call started: fresh enough to return, too old to keep
+                return (T) fromStoreValue(stamped.value());
+            }
+        }
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        getNativeCache().put(key, new Stamped(generation.get(), toStoreValue(value)));
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        Stamped candidate = new Stamped(generation.get(), toStoreValue(value));
+        Stamped result = (Stamped) getNativeCache().asMap().compute(key,
+                (k, existing) -> existing instanceof Stamped stamped
+                        && stamped.generation() == candidate.generation() ? stamped : candidate);
+        return result == candidate ? null : new SimpleValueWrapper(fromStoreValue(result.value()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        generation.incrementAndGet();
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generation.incrementAndGet();
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        generation.incrementAndGet();
+        return super.invalidate();
+    }
+
+    private static <T> T load(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    private record Stamped(long generation, Object value) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.smartschool.exam.controller;
+
+import com.smartschool.exam.dto.GradingScaleRequest;
+import com.smartschool.exam.dto.GradingScaleResponse;
+import com.smartschool.exam.service.GradingScaleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for grading scales
+ * Requirement: EXM-04
+ */
+@Tag(name = "Grading Scales", description = "APIs for managing the grading scale of exam terms")
+@RestController
+@RequestMapping("/api/exams/terms/{examTermId}/grading-scale")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+public class GradingScaleController {
+
+    private final GradingScaleService gradingScaleService;
+
+    @Operation(summary = "Get the grading scale of an exam term")
+    @GetMapping
+    public ResponseEntity<GradingScaleResponse> getGradingScale(@PathVariable Long examTermId) {
+        return ResponseEntity.ok(gradingScaleService.getGradingScale(examTermId));
+    }
+
+    @Operation(summary = "Replace the grading scale of an exam term and regrade its marks")
+    @PutMapping
+    public ResponseEntity<GradingScaleResponse> replaceGradingScale(
+            @PathVariable Long examTermId,
+            @Valid @RequestBody GradingScaleRequest request) {
+        return ResponseEntity.ok(gradingScaleService.replaceGradingScale(examTermId, request));
+    }
+}
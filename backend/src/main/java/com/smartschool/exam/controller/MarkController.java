@@ -0,0 +1,39 @@
+package com.smartschool.exam.controller;
+
+import com.smartschool.auth.entity.User;
+import com.smartschool.exam.dto.MarksUploadRequest;
+import com.smartschool.exam.dto.MarksUploadResponse;
+import com.smartschool.exam.service.MarkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for entering marks
+ * Requirement: EXM-02, EXM-05
+ */
+@Tag(name = "Marks", description = "APIs for entering marks with automatic percentage and grade")
+@RestController
+@RequestMapping("/api/exams/terms/{examTermId}")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'TEACHER')")
+public class MarkController {
+
+    private final MarkService markService;
+
+    @Operation(summary = "Submit the marks of one subject for students of a class")
+    @PostMapping("/classes/{classId}/subjects/{subjectId}/marks")
+    public ResponseEntity<MarksUploadResponse> submitMarks(
+            @PathVariable Long examTermId,
+            @PathVariable Long classId,
+            @PathVariable Long subjectId,
+            @Valid @RequestBody MarksUploadRequest request,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(markService.submitMarks(examTermId, classId, subjectId, request, user));
+    }
+}
@@ -0,0 +1,68 @@
+package com.smartschool.exam.controller;
+
+import com.smartschool.auth.entity.User;
+import com.smartschool.exam.entity.ReportCardFormat;
+import com.smartschool.exam.service.ReportCardService;
+import com.smartschool.report.dto.CachedReport;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST Controller for report cards
+ * Requirement: EXM-06, EXM-08
+ */
+@Tag(name = "Report Cards", description = "APIs for printing report cards")
+@RestController
+@RequestMapping("/api/exams/terms/{examTermId}")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+public class ReportCardController {
+
+    private final ReportCardService reportCardService;
+
+    @Operation(summary = "Download the report card of a student (supports Range and If-None-Match)")
+    @GetMapping("/students/{studentId}/report-card")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'PARENT')")
+    public ResponseEntity<Resource> getStudentReportCard(
+            @PathVariable Long examTermId,
+            @PathVariable Long studentId,
+            @AuthenticationPrincipal User user) {
+        CachedReport report = reportCardService.getStudentReportCard(examTermId, studentId, user);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .eTag(report.key())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline().filename(report.fileName()).build().toString())
+                .body(report.resource());
+    }
+
+    @Operation(summary = "Download the report cards of a class as a ZIP of PDFs or as one merged PDF")
+    @GetMapping("/classes/{classId}/report-cards")
+    public ResponseEntity<StreamingResponseBody> getClassReportCards(
+            @PathVariable Long examTermId,
+            @PathVariable Long classId,
+            @RequestParam(defaultValue = "ZIP") ReportCardFormat format) {
+        // Loaded before streaming starts so that a missing term or class still gets a proper error response
+        ReportCardService.ClassReportCards reportCards = reportCardService.loadClassReportCards(examTermId, classId);
+        StreamingResponseBody body = out -> reportCardService.writeClassReportCards(reportCards, format, out);
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(reportCards.fileName() + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
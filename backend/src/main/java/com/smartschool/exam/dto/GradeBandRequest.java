@@ -0,0 +1,41 @@
+package com.smartschool.exam.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One band of a grading scale, e.g. 90-100 = A+
+ * Requirement: EXM-04
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeBandRequest {
+
+    @NotBlank(message = "Grade label is required")
+    @Size(max = 10, message = "Grade label must not exceed 10 characters")
+    private String gradeLabel;
+
+    @NotNull(message = "Minimum percentage is required")
+    @DecimalMin(value = "0", message = "Minimum percentage must be between 0 and 100")
+    @DecimalMax(value = "100", message = "Minimum percentage must be between 0 and 100")
+    private BigDecimal minPercentage;
+
+    @NotNull(message = "Maximum percentage is required")
+    @DecimalMin(value = "0", message = "Maximum percentage must be between 0 and 100")
+    @DecimalMax(value = "100", message = "Maximum percentage must be between 0 and 100")
+    private BigDecimal maxPercentage;
+
+    @Size(max = 255, message = "Remarks must not exceed 255 characters")
+    private String remarks;
+}
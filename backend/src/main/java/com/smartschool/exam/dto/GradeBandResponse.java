@@ -0,0 +1,25 @@
+package com.smartschool.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for one band of a grading scale
+ * Requirement: EXM-04
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeBandResponse {
+
+    private Long id;
+    private String gradeLabel;
+    private BigDecimal minPercentage;
+    private BigDecimal maxPercentage;
+    private String remarks;
+}
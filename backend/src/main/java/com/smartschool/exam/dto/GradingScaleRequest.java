@@ -0,0 +1,26 @@
+package com.smartschool.exam.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO replacing the grading scale of an exam term
+ * Requirement: EXM-04
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradingScaleRequest {
+
+    @NotEmpty(message = "At least one grade band is required")
+    @Size(max = 50, message = "At most 50 grade bands are allowed")
+    private List<@Valid GradeBandRequest> bands;
+}
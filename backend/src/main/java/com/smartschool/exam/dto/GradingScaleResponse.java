@@ -0,0 +1,27 @@
+package com.smartschool.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for the grading scale of an exam term
+ * Requirement: EXM-04
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradingScaleResponse {
+
+    private Long examTermId;
+    private List<GradeBandResponse> bands;
+
+    /**
+     * Marks whose percentage or grade changed; only set when the scale was replaced
+     */
+    private Integer regradedMarks;
+}
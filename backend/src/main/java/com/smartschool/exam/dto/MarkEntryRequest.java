@@ -0,0 +1,41 @@
+package com.smartschool.exam.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Marks of one student within a class-subject upload
+ * Requirement: EXM-02
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkEntryRequest {
+
+    @NotNull(message = "Student ID is required")
+    private Long studentId;
+
+    /**
+     * Null when the student did not sit the exam
+     */
+    @DecimalMin(value = "0", message = "Obtained marks cannot be negative")
+    @Digits(integer = 3, fraction = 2, message = "Obtained marks must have at most 3 digits and 2 decimals")
+    private BigDecimal obtainedMarks;
+
+    /**
+     * Overrides the maximum marks of the upload for this student
+     */
+    @DecimalMin(value = "0", inclusive = false, message = "Maximum marks must be positive")
+    @Digits(integer = 3, fraction = 2, message = "Maximum marks must have at most 3 digits and 2 decimals")
+    private BigDecimal maxMarks;
+
+    private String remarks;
+}
@@ -0,0 +1,35 @@
+package com.smartschool.exam.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Request DTO for uploading the marks of one subject for a class
+ * Requirement: EXM-02
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksUploadRequest {
+
+    @NotNull(message = "Maximum marks are required")
+    @DecimalMin(value = "0", inclusive = false, message = "Maximum marks must be positive")
+    @Digits(integer = 3, fraction = 2, message = "Maximum marks must have at most 3 digits and 2 decimals")
+    private BigDecimal maxMarks;
+
+    @NotEmpty(message = "At least one mark entry is required")
+    @Size(max = 500, message = "At most 500 entries can be submitted at once")
+    private List<@Valid MarkEntryRequest> entries;
+}
@@ -0,0 +1,27 @@
+package com.smartschool.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO summarizing a marks upload
+ * Requirement: EXM-02, EXM-05
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksUploadResponse {
+
+    private Long examTermId;
+    private Long classId;
+    private Long subjectId;
+    private int recorded;
+
+    /**
+     * Entries without a grade: no obtained marks, no grading scale, or below every band
+     */
+    private long ungraded;
+}
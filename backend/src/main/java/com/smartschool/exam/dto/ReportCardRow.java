@@ -0,0 +1,35 @@
+package com.smartschool.exam.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One subject line of a student's report card, together with the student's details
+ */
+public interface ReportCardRow {
+
+    Long getStudentId();
+
+    String getStudentName();
+
+    String getAdmissionNumber();
+
+    String getPhotoPath();
+
+    Integer getRollNumber();
+
+    String getClassName();
+
+    String getSectionName();
+
+    String getSubjectName();
+
+    BigDecimal getObtainedMarks();
+
+    BigDecimal getMaxMarks();
+
+    BigDecimal getPercentage();
+
+    String getGrade();
+
+    String getTeacherRemarks();
+}
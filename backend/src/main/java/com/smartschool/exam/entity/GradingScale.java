@@ -0,0 +1,42 @@
+package com.smartschool.exam.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Entity representing one grade band of an exam term's grading scale (e.g., 90-100 = A+)
+ * Requirement: EXM-04
+ */
+@Entity
+@Table(
+    name = "grading_scales",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"exam_term_id", "grade_label"})
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradingScale {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "exam_term_id", nullable = false)
+    private Long examTermId;
+
+    @Column(name = "grade_label", nullable = false, length = 10)
+    private String gradeLabel;
+
+    @Column(name = "min_percentage", nullable = false, precision = 5, scale = 2)
+    private BigDecimal minPercentage;
+
+    @Column(name = "max_percentage", nullable = false, precision = 5, scale = 2)
+    private BigDecimal maxPercentage;
+
+    @Column(length = 255)
+    private String remarks;
+}
@@ -0,0 +1,58 @@
+package com.smartschool.exam.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the marks of one student in one subject for an exam term
+ * Requirement: EXM-02, EXM-05
+ */
+@Entity
+@Table(
+    name = "marks",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "subject_id", "exam_term_id"})
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Mark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    @Column(name = "exam_term_id", nullable = false)
+    private Long examTermId;
+
+    @Column(name = "obtained_marks", precision = 5, scale = 2)
+    private BigDecimal obtainedMarks;
+
+    @Column(name = "max_marks", precision = 5, scale = 2)
+    private BigDecimal maxMarks;
+
+    @Column(length = 10)
+    private String grade;
+
+    @Column(precision = 5, scale = 2)
+    private BigDecimal percentage;
+
+    @Column(name = "teacher_remarks", columnDefinition = "TEXT")
+    private String teacherRemarks;
+
+    @Column(name = "updated_by_user_id", nullable = false)
+    private Long updatedByUserId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
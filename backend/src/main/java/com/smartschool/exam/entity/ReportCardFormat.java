@@ -0,0 +1,31 @@
+package com.smartschool.exam.entity;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Output of a class-wide report card download
+ */
+public enum ReportCardFormat {
+
+    /** One PDF per student in a ZIP archive */
+    ZIP("application/zip", "zip"),
+
+    /** All report cards merged into a single PDF, ready to print */
+    PDF(MediaType.APPLICATION_PDF_VALUE, "pdf");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ReportCardFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,25 @@
+package com.smartschool.exam.mapper;
+
+import com.smartschool.exam.dto.GradeBandRequest;
+import com.smartschool.exam.dto.GradeBandResponse;
+import com.smartschool.exam.entity.GradingScale;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * MapStruct mapper for GradingScale entity
+ * Requirement: EXM-04
+ */
+@Mapper(componentModel = "spring")
+public interface GradingScaleMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "examTermId", ignore = true)
+    GradingScale toEntity(GradeBandRequest request);
+
+    GradeBandResponse toResponse(GradingScale entity);
+
+    List<GradeBandResponse> toResponseList(List<GradingScale> entities);
+}
@@ -0,0 +1,29 @@
+package com.smartschool.exam.repository;
+
+import com.smartschool.exam.entity.ExamTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for ExamTerm entity
+ * Requirement: EXM-01
+ */
+@Repository
+public interface ExamTermRepository extends JpaRepository<ExamTerm, Long> {
+
+    /**
+     * Find an exam term and hold a share lock on it until the transaction ends.
+     * Marks are graded under this lock, so the term's grading scale cannot be replaced meanwhile.
+     */
+    @Query(value = "SELECT * FROM exam_terms WHERE id = :id FOR SHARE", nativeQuery = true)
+    Optional<ExamTerm> findByIdForShare(Long id);
+
+    /**
+     * Lock an exam term against mark submissions until the transaction ends; returns its ID if it exists
+     */
+    @Query(value = "SELECT id FROM exam_terms WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockForUpdate(Long id);
+}
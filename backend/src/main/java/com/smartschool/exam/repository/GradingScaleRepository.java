@@ -0,0 +1,29 @@
+package com.smartschool.exam.repository;
+
+import com.smartschool.exam.entity.GradingScale;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for GradingScale entity
+ * Requirement: EXM-04
+ */
+@Repository
+public interface GradingScaleRepository extends JpaRepository<GradingScale, Long> {
+
+    /**
+     * Find the grade bands of an exam term, lowest first
+     */
+    List<GradingScale> findByExamTermIdOrderByMinPercentage(Long examTermId);
+
+    /**
+     * Remove the grading scale of an exam term in one statement
+     */
+    @Modifying
+    @Query("DELETE FROM GradingScale g WHERE g.examTermId = :examTermId")
+    int deleteByExamTermId(Long examTermId);
+}
@@ -0,0 +1,109 @@
+package com.smartschool.exam.repository;
+
+import com.smartschool.exam.dto.ReportCardRow;
+import com.smartschool.exam.entity.Mark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for Mark entity
+ * Requirement: EXM-02, EXM-05, EXM-07, EXM-08
+ */
+@Repository
+public interface MarkRepository extends JpaRepository<Mark, Long> {
+
+    /**
+     * Insert or overwrite the marks of one subject for many students in one statement.
+     * The arrays are parallel: element i of each array belongs to the same student.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO marks (student_id, subject_id, exam_term_id, obtained_marks, max_marks, " +
+            "percentage, grade, teacher_remarks, updated_by_user_id, updated_at) " +
+            "SELECT u.student_id, :subjectId, :examTermId, u.obtained_marks, u.max_marks, " +
+            "u.percentage, u.grade, u.remarks, :updatedBy, CURRENT_TIMESTAMP " +
+            "FROM unnest(CAST(:studentIds AS BIGINT[]), CAST(:obtainedMarks AS NUMERIC[]), CAST(:maxMarks AS NUMERIC[]), " +
+            "CAST(:percentages AS NUMERIC[]), CAST(:grades AS VARCHAR[]), CAST(:remarks AS TEXT[])) " +
+            "AS u(student_id, obtained_marks, max_marks, percentage, grade, remarks) " +
+            "ON CONFLICT (student_id, subject_id, exam_term_id) DO UPDATE SET " +
+            "obtained_marks = EXCLUDED.obtained_marks, max_marks = EXCLUDED.max_marks, " +
+            "percentage = EXCLUDED.percentage, grade = EXCLUDED.grade, teacher_remarks = EXCLUDED.teacher_remarks, " +
+            "updated_by_user_id = EXCLUDED.updated_by_user_id, updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int upsertAll(Long examTermId, Long subjectId, Long updatedBy, Long[] studentIds, BigDecimal[] obtainedMarks,
+                  BigDecimal[] maxMarks, BigDecimal[] percentages, String[] grades, String[] remarks);
+
+    /**
+     * Recompute the percentage and grade of every mark of an exam term in one statement, using the
+     * same rule as GradeTable: the band with the highest minimum not above the percentage.
+     * Rows whose result does not change are not rewritten.
+     */
+    @Modifying
+    @Query(value = "UPDATE marks m SET percentage = c.percentage, grade = c.grade " +
+            "FROM (SELECT x.id, x.percentage, g.grade_label AS grade " +
+            "      FROM (SELECT id, ROUND(obtained_marks * 100 / NULLIF(max_marks, 0), 2) AS percentage " +
+            "            FROM marks WHERE exam_term_id = :examTermId) x " +
+            "      LEFT JOIN LATERAL (SELECT gs.grade_label FROM grading_scales gs " +
+            "                         WHERE gs.exam_term_id = :examTermId AND gs.min_percentage <= x.percentage " +
+            "                         ORDER BY gs.min_percentage DESC LIMIT 1) g ON TRUE) c " +
+            "WHERE m.id = c.id " +
+            "AND (m.percentage IS DISTINCT FROM c.percentage OR m.grade IS DISTINCT FROM c.grade)",
+            nativeQuery = true)
+    int recomputeTermGrades(Long examTermId);
+
+    /**
+     * Count how many of the given students are enrolled in a class for a session
+     */
+    @Query(value = "SELECT COUNT(*) FROM student_enrollments " +
+            "WHERE academic_session_id = :sessionId AND class_id = :classId AND student_id IN (:studentIds)",
+            nativeQuery = true)
+    long countEnrolledInClass(Long sessionId, Long classId, Collection<Long> studentIds);
+
+    /**
+     * Report card lines joined with the enrollment of the student in the term's session
+     */
+    String REPORT_CARD_ROWS = "SELECT e.student_id AS \"studentId\", TRIM(p.first_name || ' ' || COALESCE(p.last_name, '')) AS \"studentName\", " +
+            "s.admission_number AS \"admissionNumber\", p.photo_path AS \"photoPath\", e.roll_number AS \"rollNumber\", " +
+            "c.name AS \"className\", sec.name AS \"sectionName\", sub.name AS \"subjectName\", " +
+            "m.obtained_marks AS \"obtainedMarks\", m.max_marks AS \"maxMarks\", m.percentage AS \"percentage\", " +
+            "TRIM(m.grade) AS \"grade\", m.teacher_remarks AS \"teacherRemarks\" " +
+            "FROM exam_terms t " +
+            "JOIN student_enrollments e ON e.academic_session_id = t.academic_session_id " +
+            "JOIN students s ON s.id = e.student_id " +
+            "JOIN persons p ON p.id = s.id " +
+            "JOIN classes c ON c.id = e.class_id " +
+            "JOIN sections sec ON sec.id = e.section_id " +
+            "JOIN marks m ON m.student_id = e.student_id AND m.exam_term_id = t.id " +
+            "JOIN subjects sub ON sub.id = m.subject_id ";
+
+    /**
+     * Report card lines of every student enrolled in a class in the term's session.
+     * Rows of one student are adjacent: ordered by section, roll number, student and subject.
+     */
+    @Query(value = REPORT_CARD_ROWS +
+            "WHERE t.id = :examTermId AND e.class_id = :classId " +
+            "ORDER BY sec.name, e.roll_number NULLS LAST, e.student_id, sub.name",
+            nativeQuery = true)
+    List<ReportCardRow> findReportCardRows(Long examTermId, Long classId);
+
+    /**
+     * Report card lines of one student, ordered by subject
+     */
+    @Query(value = REPORT_CARD_ROWS +
+            "WHERE t.id = :examTermId AND e.student_id = :studentId " +
+            "ORDER BY sub.name",
+            nativeQuery = true)
+    List<ReportCardRow> findStudentReportCardRows(Long examTermId, Long studentId);
+
+    /**
+     * Check whether a person is a registered guardian of a student
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM student_guardians WHERE student_id = :studentId AND guardian_id = :guardianId)",
+            nativeQuery = true)
+    boolean isGuardianOf(Long studentId, Long guardianId);
+}
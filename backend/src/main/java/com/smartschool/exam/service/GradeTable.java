@@ -0,0 +1,60 @@
+package com.smartschool.exam.service;
+
+import com.smartschool.exam.entity.GradingScale;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable grading scale of one exam term, searchable by percentage.
+ * Bands are keyed by their minimum; a percentage takes the band with the highest minimum not above it,
+ * so a gap between bands (e.g. 89.50 between 80-89 and 90-100) falls into the lower band.
+ * MarkRepository.recomputeTermGrades applies the same rule in SQL.
+ * Requirement: EXM-04, EXM-05
+ */
+public final class GradeTable {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final NavigableMap<BigDecimal, String> gradesByMinimum;
+
+    private GradeTable(NavigableMap<BigDecimal, String> gradesByMinimum) {
+        this.gradesByMinimum = gradesByMinimum;
+    }
+
+    public static GradeTable of(List<GradingScale> bands) {
+        NavigableMap<BigDecimal, String> grades = new TreeMap<>();
+        bands.forEach(band -> grades.put(band.getMinPercentage(), band.getGradeLabel()));
+        return new GradeTable(Collections.unmodifiableNavigableMap(grades));
+    }
+
+    public boolean isEmpty() {
+        return gradesByMinimum.isEmpty();
+    }
+
+    /**
+     * Percentage rounded to 2 decimals (half up, like ROUND in PostgreSQL); null when marks are missing
+     */
+    public static BigDecimal percentage(BigDecimal obtainedMarks, BigDecimal maxMarks) {
+        if (obtainedMarks == null || maxMarks == null || maxMarks.signum() == 0) {
+            return null;
+        }
+        return obtainedMarks.multiply(HUNDRED).divide(maxMarks, 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Grade of a percentage, or null when the percentage is missing or below every band
+     */
+    public String grade(BigDecimal percentage) {
+        if (percentage == null) {
+            return null;
+        }
+        Map.Entry<BigDecimal, String> band = gradesByMinimum.floorEntry(percentage);
+        return band != null ? band.getValue() : null;
+    }
+}
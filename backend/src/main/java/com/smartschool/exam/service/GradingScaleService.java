@@ -0,0 +1,138 @@
+package com.smartschool.exam.service;
+
+import com.smartschool.config.CacheConfig;
+import com.smartschool.exam.dto.GradeBandRequest;
+import com.smartschool.exam.dto.GradingScaleRequest;
+import com.smartschool.exam.dto.GradingScaleResponse;
+import com.smartschool.exam.entity.GradingScale;
+import com.smartschool.exam.mapper.GradingScaleMapper;
+import com.smartschool.exam.repository.ExamTermRepository;
+import com.smartschool.exam.repository.GradingScaleRepository;
+import com.smartschool.exam.repository.MarkRepository;
+import com.smartschool.exception.InvalidOperationException;
+import com.smartschool.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service for managing the grading scale of exam terms.
+ * Replacing a scale regrades every mark of the term with one set-based UPDATE in the same transaction.
+ * It locks the exam term FOR UPDATE, which excludes the FOR SHARE lock that mark submissions hold while they
+ * read the grade table, and evicts the cached table under that lock. A table loaded before the replacement
+ * therefore cannot be put back or read by a submission that ran after it.
+ * Requirement: EXM-04, EXM-05
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GradingScaleService {
+
+    private final GradingScaleRepository gradingScaleRepository;
+    private final ExamTermRepository examTermRepository;
+    private final MarkRepository markRepository;
+    private final GradingScaleMapper gradingScaleMapper;
+    private final CacheManager cacheManager;
+
+    /**
+     * Get the grading scale of an exam term, lowest band first
+     */
+    @Transactional(readOnly = true)
+    public GradingScaleResponse getGradingScale(Long examTermId) {
+        log.info("Fetching grading scale for exam term ID: {}", examTermId);
+        findTermOrThrow(examTermId);
+        return GradingScaleResponse.builder()
+                .examTermId(examTermId)
+                .bands(gradingScaleMapper.toResponseList(gradingScaleRepository.findByExamTermIdOrderByMinPercentage(examTermId)))
+                .build();
+    }
+
+    /**
+     * Get the grade lookup table of an exam term; loaded once and cached until the scale is replaced.
+     * Callers grading marks must hold the term's share lock (ExamTermRepository.findByIdForShare).
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.GRADING_SCALES, key = "#examTermId", sync = true)
+    public GradeTable getGradeTable(Long examTermId) {
+        return GradeTable.of(gradingScaleRepository.findByExamTermIdOrderByMinPercentage(examTermId));
+    }
+
+    /**
+     * Replace the grading scale of an exam term and regrade all of its marks
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GRADING_SCALES, key = "#examTermId")
+    public GradingScaleResponse replaceGradingScale(Long examTermId, GradingScaleRequest request) {
+        log.info("Replacing grading scale for exam term ID: {} with {} bands", examTermId, request.getBands().size());
+        examTermRepository.lockForUpdate(examTermId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam Term", "id", examTermId));
+        validateBands(request.getBands());
+        // No submission can load the old table from here until commit; @CacheEvict evicts again after commit
+        cacheManager.getCache(CacheConfig.GRADING_SCALES).evict(examTermId);
+
+        gradingScaleRepository.deleteByExamTermId(examTermId);
+        List<GradingScale> bands = request.getBands().stream()
+                .map(band -> {
+                    GradingScale scale = gradingScaleMapper.toEntity(band);
+                    scale.setExamTermId(examTermId);
+                    scale.setGradeLabel(band.getGradeLabel().trim());
+                    return scale;
+                })
+                .sorted(Comparator.comparing(GradingScale::getMinPercentage))
+                .toList();
+        gradingScaleRepository.saveAllAndFlush(bands);
+
+        int regraded = markRepository.recomputeTermGrades(examTermId);
+        log.info("Grading scale replaced for exam term ID: {}, {} marks regraded", examTermId, regraded);
+
+        return GradingScaleResponse.builder()
+                .examTermId(examTermId)
+                .bands(gradingScaleMapper.toResponseList(bands))
+                .regradedMarks(regraded)
+                .build();
+    }
+
+    /**
+     * Bands need distinct labels, a minimum not above their maximum, and must not overlap
+     */
+    private void validateBands(List<GradeBandRequest> bands) {
+        Set<String> labels = new HashSet<>();
+        for (GradeBandRequest band : bands) {
+            if (!labels.add(band.getGradeLabel().trim())) {
+                throw new InvalidOperationException(
+                        String.format("Grade '%s' appears more than once in the scale", band.getGradeLabel()));
+            }
+            if (band.getMinPercentage().compareTo(band.getMaxPercentage()) > 0) {
+                throw new InvalidOperationException(
+                        String.format("Grade '%s' has a minimum above its maximum", band.getGradeLabel()));
+            }
+        }
+
+        List<GradeBandRequest> sorted = bands.stream()
+                .sorted(Comparator.comparing(GradeBandRequest::getMinPercentage))
+                .toList();
+        for (int i = 1; i < sorted.size(); i++) {
+            GradeBandRequest lower = sorted.get(i - 1);
+            GradeBandRequest upper = sorted.get(i);
+            if (upper.getMinPercentage().compareTo(lower.getMaxPercentage()) <= 0) {
+                throw new InvalidOperationException(String.format(
+                        "Grades '%s' and '%s' overlap", lower.getGradeLabel(), upper.getGradeLabel()));
+            }
+        }
+    }
+
+    private void findTermOrThrow(Long examTermId) {
+        if (!examTermRepository.existsById(examTermId)) {
+            throw new ResourceNotFoundException("Exam Term", "id", examTermId);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.smartschool.exam.service;
+
+import com.smartschool.attendance.repository.TeacherAssignmentRepository;
+import com.smartschool.auth.entity.User;
+import com.smartschool.exam.dto.MarkEntryRequest;
+import com.smartschool.exam.dto.MarksUploadRequest;
+import com.smartschool.exam.dto.MarksUploadResponse;
+import com.smartschool.exam.entity.ExamTerm;
+import com.smartschool.exam.repository.ExamTermRepository;
+import com.smartschool.exam.repository.MarkRepository;
+import com.smartschool.exception.InvalidOperationException;
+import com.smartschool.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service for entering marks.
+ * A class-subject upload is graded in one pass against the term's cached grade table and written with
+ * a single INSERT ... ON CONFLICT DO UPDATE, so re-uploading corrects earlier marks.
+ * The exam term is share-locked first, so a grading scale replacement waits for the upload to commit
+ * and an upload that waited for a replacement grades with the new scale.
+ * Requirement: EXM-02, EXM-03, EXM-05
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarkService {
+
+    private final MarkRepository markRepository;
+    private final ExamTermRepository examTermRepository;
+    private final TeacherAssignmentRepository teacherAssignmentRepository;
+    private final GradingScaleService gradingScaleService;
+
+    /**
+     * Record the marks of one subject for students of a class
+     */
+    @Transactional
+    public MarksUploadResponse submitMarks(Long examTermId, Long classId, Long subjectId,
+                                           MarksUploadRequest request, User user) {
+        log.info("Submitting marks for exam term ID: {}, class ID: {}, subject ID: {} ({} entries)",
+                examTermId, classId, subjectId, request.getEntries().size());
+
+        ExamTerm term = examTermRepository.findByIdForShare(examTermId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam Term", "id", examTermId));
+        checkTeacherAssignment(user, term, classId, subjectId);
+
+        GradeTable grades = gradingScaleService.getGradeTable(examTermId);
+        List<MarkEntryRequest> entries = request.getEntries();
+        Set<Long> studentIds = new HashSet<>();
+        Long[] studentIdArray = new Long[entries.size()];
+        BigDecimal[] obtainedMarks = new BigDecimal[entries.size()];
+        BigDecimal[] maxMarks = new BigDecimal[entries.size()];
+        BigDecimal[] percentages = new BigDecimal[entries.size()];
+        String[] gradeLabels = new String[entries.size()];
+        String[] remarks = new String[entries.size()];
+        long ungraded = 0;
+
+        for (int i = 0; i < entries.size(); i++) {
+            MarkEntryRequest entry = entries.get(i);
+            if (!studentIds.add(entry.getStudentId())) {
+                throw new InvalidOperationException(
+                        String.format("Student %s appears more than once in the submission", entry.getStudentId()));
+            }
+
+            BigDecimal max = entry.getMaxMarks() != null ? entry.getMaxMarks() : request.getMaxMarks();
+            if (entry.getObtainedMarks() != null && entry.getObtainedMarks().compareTo(max) > 0) {
+                throw new InvalidOperationException(String.format(
+                        "Student %s has %s marks, above the maximum of %s", entry.getStudentId(), entry.getObtainedMarks(), max));
+            }
+
+            studentIdArray[i] = entry.getStudentId();
+            obtainedMarks[i] = entry.getObtainedMarks();
+            maxMarks[i] = max;
+            percentages[i] = GradeTable.percentage(entry.getObtainedMarks(), max);
+            gradeLabels[i] = grades.grade(percentages[i]);
+            remarks[i] = entry.getRemarks();
+            if (gradeLabels[i] == null) {
+                ungraded++;
+            }
+        }
+
+        // One query validates every student against the class enrollment of the term's session
+        if (markRepository.countEnrolledInClass(term.getAcademicSessionId(), classId, studentIds) != studentIds.size()) {
+            throw new InvalidOperationException("One or more students are not enrolled in this class");
+        }
+
+        int recorded = markRepository.upsertAll(examTermId, subjectId, user.getId(),
+                studentIdArray, obtainedMarks, maxMarks, percentages, gradeLabels, remarks);
+
+        log.info("Marks recorded for {} students ({} ungraded)", recorded, ungraded);
+        return MarksUploadResponse.builder()
+                .examTermId(examTermId)
+                .classId(classId)
+                .subjectId(subjectId)
+                .recorded(recorded)
+                .ungraded(ungraded)
+                .build();
+    }
+
+    /**
+     * Teachers may only enter marks for the subjects and classes assigned to them (EXM-03), and not once
+     * the term's results are published; administrators may enter any marks
+     */
+    private void checkTeacherAssignment(User user, ExamTerm term, Long classId, Long subjectId) {
+        if (user.getRole() == User.UserRole.ADMIN || user.getRole() == User.UserRole.SUPER_ADMIN) {
+            return;
+        }
+
+        if (user.getRole() != User.UserRole.TEACHER || user.getPersonId() == null
+                || !teacherAssignmentRepository.existsByAcademicSessionIdAndStaffIdAndClassIdAndSubjectId(
+                        term.getAcademicSessionId(), user.getPersonId(), classId, subjectId)) {
+            log.warn("User {} is not assigned to subject ID: {} of class ID: {}", user.getUsername(), subjectId, classId);
+            throw new AccessDeniedException("You are not assigned to this subject of this class");
+        }
+        if (Boolean.TRUE.equals(term.getIsPublished())) {
+            throw new AccessDeniedException("Marks cannot be changed after the results are published");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.smartschool.exam.service;
+
+import com.smartschool.auth.entity.User;
+import com.smartschool.exam.dto.ReportCardRow;
+import com.smartschool.exam.entity.ExamTerm;
+import com.smartschool.exam.entity.ReportCardFormat;
+import com.smartschool.exam.repository.ExamTermRepository;
+import com.smartschool.exam.repository.MarkRepository;
+import com.smartschool.exception.ResourceNotFoundException;
+import com.smartschool.report.dto.CachedReport;
+import com.smartschool.report.dto.ReportDocument;
+import com.smartschool.report.service.PdfReportRenderer;
+import com.smartschool.report.service.ReportAssets;
+import com.smartschool.report.service.ReportCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds report card PDFs for a whole class (EXM-07, EXM-08).
+ * The marks of the class are read with one query up front (a few hundred small rows); each student's
+ * document, including the photo, is only built when the renderer asks for it, so no more than the
+ * renderer's in-flight window of report cards is held in memory whatever the class size.
+ * Single report cards are served from the report cache; republished marks change the cache key.
+ * Requirement: EXM-06, EXM-07, EXM-08, USR-06
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportCardService {
+
+    private static final String TEMPLATE = "report-card";
+
+    private final ExamTermRepository examTermRepository;
+    private final MarkRepository markRepository;
+    private final PdfReportRenderer pdfReportRenderer;
+    private final ReportAssets reportAssets;
+    private final ReportCache reportCache;
+
+    @Value("${app.file-storage.student-photos-dir}")
+    private String studentPhotosDir;
+
+    /**
+     * Get the report card PDF of one student, rendering it only if the marks changed since the last download.
+     * Parents may only download the report cards of their own children once the term is published.
+     */
+    public CachedReport getStudentReportCard(Long examTermId, Long studentId, User user) {
+        log.info("Fetching report card of student ID: {} for exam term ID: {}", studentId, examTermId);
+        ExamTerm term = examTermRepository.findById(examTermId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam Term", "id", examTermId));
+        checkStudentAccess(user, term, studentId);
+
+        List<ReportCardRow> rows = markRepository.findStudentReportCardRows(examTermId, studentId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(String.format(
+                    "No marks found for student ID %s in exam term '%s'", studentId, term.getName()));
+        }
+        return reportCache.getOrRender(toDocument(term, rows));
+    }
+
+    /**
+     * Load the report card data of a class for an exam term.
+     * Throws when nothing can be printed, so the error is returned before the download starts.
+     */
+    public ClassReportCards loadClassReportCards(Long examTermId, Long classId) {
+        log.info("Loading report cards of class ID: {} for exam term ID: {}", classId, examTermId);
+        ExamTerm term = examTermRepository.findById(examTermId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam Term", "id", examTermId));
+
+        List<ReportCardRow> rows = markRepository.findReportCardRows(examTermId, classId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(String.format(
+                    "No marks found for class ID %s in exam term '%s'", classId, term.getName()));
+        }
+
+        // Rows of one student are adjacent in the query order
+        List<List<ReportCardRow>> students = new ArrayList<>();
+        for (ReportCardRow row : rows) {
+            if (students.isEmpty() || !students.getLast().getFirst().getStudentId().equals(row.getStudentId())) {
+                students.add(new ArrayList<>());
+            }
+            students.getLast().add(row);
+        }
+
+        String fileName = String.format("report-cards-%s-%s",
+                safeFileName(rows.getFirst().getClassName()), safeFileName(term.getName()));
+        Iterable<ReportDocument> documents = () -> students.stream()
+                .map(studentRows -> toDocument(term, studentRows))
+                .iterator();
+        return new ClassReportCards(fileName, students.size(), documents);
+    }
+
+    /**
+     * Render the report cards into the stream, either as a ZIP of PDFs or as one merged PDF
+     */
+    public void writeClassReportCards(ClassReportCards reportCards, ReportCardFormat format, OutputStream out)
+            throws IOException {
+        log.info("Rendering {} report cards as {}", reportCards.students(), format);
+        if (format == ReportCardFormat.ZIP) {
+            pdfReportRenderer.renderZip(reportCards.documents(), out);
+        } else {
+            pdfReportRenderer.renderMerged(reportCards.documents(), out);
+        }
+    }
+
+    private void checkStudentAccess(User user, ExamTerm term, Long studentId) {
+        switch (user.getRole()) {
+            case SUPER_ADMIN, ADMIN -> {
+            }
+            case PARENT -> {
+                if (user.getPersonId() == null || !markRepository.isGuardianOf(studentId, user.getPersonId())) {
+                    log.warn("User {} is not a guardian of student ID: {}", user.getUsername(), studentId);
+                    throw new AccessDeniedException("You can only view the report cards of your own children");
+                }
+                if (!Boolean.TRUE.equals(term.getIsPublished())) {
+                    throw new AccessDeniedException("The results of this exam term are not published yet");
+                }
+            }
+            default -> throw new AccessDeniedException("You are not allowed to view report cards");
+        }
+    }
+
+    private ReportDocument toDocument(ExamTerm term, List<ReportCardRow> rows) {
+        ReportCardRow first = rows.getFirst();
+        String photo = StringUtils.hasText(first.getPhotoPath())
+                ? reportAssets.imageDataUri(Path.of(studentPhotosDir).resolve(first.getPhotoPath()))
+                : null;
+        ReportCardStudent student = new ReportCardStudent(first.getStudentName(), first.getAdmissionNumber(),
+                first.getRollNumber(), first.getClassName(), first.getSectionName(), photo);
+
+        BigDecimal totalObtained = BigDecimal.ZERO;
+        BigDecimal totalMax = BigDecimal.ZERO;
+        List<ReportCardLine> lines = new ArrayList<>(rows.size());
+        for (ReportCardRow row : rows) {
+            lines.add(new ReportCardLine(row.getSubjectName(), row.getObtainedMarks(), row.getMaxMarks(),
+                    row.getPercentage() != null ? row.getPercentage() : GradeTable.percentage(row.getObtainedMarks(), row.getMaxMarks()),
+                    row.getGrade(), row.getTeacherRemarks()));
+            if (row.getObtainedMarks() != null && row.getMaxMarks() != null) {
+                totalObtained = totalObtained.add(row.getObtainedMarks());
+                totalMax = totalMax.add(row.getMaxMarks());
+            }
+        }
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("termName", term.getName());
+        variables.put("student", student);
+        variables.put("subjects", lines);
+        variables.put("totalObtained", totalObtained);
+        variables.put("totalMax", totalMax);
+        variables.put("percentage", GradeTable.percentage(totalObtained, totalMax));
+
+        String fileName = String.format("%s-%s.pdf",
+                safeFileName(first.getSectionName()), safeFileName(first.getAdmissionNumber()));
+        return new ReportDocument(fileName, TEMPLATE, variables);
+    }
+
+    private String safeFileName(String value) {
+        return value == null ? "unknown" : value.trim().replaceAll("[^A-Za-z0-9_-]+", "_");
+    }
+
+    /**
+     * Report cards of a class, built lazily while they are rendered
+     */
+    public record ClassReportCards(String fileName, int students, Iterable<ReportDocument> documents) {
+    }
+
+    public record ReportCardStudent(String name, String admissionNumber, Integer rollNumber,
+                                    String className, String sectionName, String photo) {
+    }
+
+    public record ReportCardLine(String subject, BigDecimal obtainedMarks, BigDecimal maxMarks,
+                                 BigDecimal percentage, String grade, String remarks) {
+    }
+}
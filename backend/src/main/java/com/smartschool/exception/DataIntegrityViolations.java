@@ -0,0 +1,45 @@
+package com.smartschool.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Helpers for reading the database error behind a {@link DataIntegrityViolationException}
+ */
+public final class DataIntegrityViolations {
+
+    /**
+     * PostgreSQL SQLState for unique_violation
+     */
+    public static final String UNIQUE_VIOLATION = "23505";
+
+    private DataIntegrityViolations() {
+    }
+
+    /**
+     * Name of the violated constraint, when the driver reported one
+     */
+    public static Optional<String> constraintName(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return Optional.of(violation.getConstraintName());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Check if the violation was a unique constraint or unique index
+     */
+    public static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
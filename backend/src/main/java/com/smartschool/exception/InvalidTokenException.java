@@ -0,0 +1,11 @@
+package com.smartschool.exception;
+
+/**
+ * Exception thrown when a refresh token is unknown, expired, revoked or reused
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
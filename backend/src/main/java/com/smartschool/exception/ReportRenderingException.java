@@ -0,0 +1,11 @@
+package com.smartschool.exception;
+
+/**
+ * Exception thrown when a report template cannot be rendered to PDF
+ */
+public class ReportRenderingException extends RuntimeException {
+
+    public ReportRenderingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,33 @@
+package com.smartschool.fee.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded executor that generates the vouchers of several classes at once.
+ * Each worker holds one database connection while it writes a chunk, so the pool size also bounds the
+ * connections taken from Hikari by a generation run.
+ */
+@Configuration
+public class FeeGenerationExecutorConfig {
+
+    public static final String FEE_GENERATION_EXECUTOR = "feeGenerationExecutor";
+
+    @Value("${app.fee.generation.threads:0}")
+    private int threads;
+
+    @Bean(name = FEE_GENERATION_EXECUTOR)
+    public ThreadPoolTaskExecutor feeGenerationExecutor() {
+        // Default to one thread per core: computing is cheap, the chunk inserts keep the database busy
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("fee-generation-");
+        executor.initialize();
+        return executor;
+    }
+}
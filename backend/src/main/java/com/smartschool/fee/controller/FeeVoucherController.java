@@ -0,0 +1,76 @@
+package com.smartschool.fee.controller;
+
+import com.smartschool.fee.dto.FeeVoucherGenerationRequest;
+import com.smartschool.fee.dto.FeeVoucherGenerationResponse;
+import com.smartschool.fee.service.FeeVoucherDocumentService;
+import com.smartschool.fee.service.FeeVoucherGenerationService;
+import com.smartschool.report.dto.CachedReport;
+import com.smartschool.report.dto.ReportDocument;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * REST Controller for Fee Vouchers
+ * Requirement: FEE-05, FEE-06
+ */
+@Tag(name = "Fee Vouchers", description = "APIs for generating and printing monthly fee vouchers")
+@RestController
+@RequestMapping("/api/fees/vouchers")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'ACCOUNTANT')")
+public class FeeVoucherController {
+
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final FeeVoucherGenerationService feeVoucherGenerationService;
+    private final FeeVoucherDocumentService feeVoucherDocumentService;
+
+    @Operation(summary = "Generate the missing vouchers of a billing month for all active students")
+    @PostMapping("/generate")
+    public ResponseEntity<FeeVoucherGenerationResponse> generateVouchers(
+            @Valid @RequestBody FeeVoucherGenerationRequest request) {
+        return ResponseEntity.ok(feeVoucherGenerationService.generateVouchers(request));
+    }
+
+    @Operation(summary = "Download a fee voucher as PDF (supports Range and If-None-Match)")
+    @GetMapping("/{id}/pdf")
+    public ResponseEntity<Resource> getVoucherPdf(@PathVariable Long id) {
+        CachedReport pdf = feeVoucherDocumentService.getVoucherPdf(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .eTag(pdf.key())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline().filename(pdf.fileName()).build().toString())
+                .body(pdf.resource());
+    }
+
+    @Operation(summary = "Download the fee vouchers of a class for a billing month as a ZIP of PDFs")
+    @GetMapping(value = "/classes/{classId}/pdf", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> getClassVoucherArchive(
+            @PathVariable Long classId,
+            @RequestParam int month,
+            @RequestParam int year) {
+        // Loaded before streaming starts so that a missing class still gets a proper error response
+        List<ReportDocument> documents = feeVoucherDocumentService.loadClassVouchers(classId, month, year);
+        StreamingResponseBody body = out -> feeVoucherDocumentService.writeVoucherArchive(documents, out);
+
+        String fileName = String.format("fee-vouchers-class-%d-%d-%02d.zip", classId, year, month);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
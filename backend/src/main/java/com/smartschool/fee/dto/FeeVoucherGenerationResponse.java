@@ -0,0 +1,42 @@
+package com.smartschool.fee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO summarizing a voucher generation run
+ * Requirement: FEE-05
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeVoucherGenerationResponse {
+
+    private int month;
+    private int year;
+
+    /**
+     * Classes processed in parallel
+     */
+    private int classes;
+
+    /**
+     * Vouchers created by this run
+     */
+    private long generated;
+
+    /**
+     * Enrolled students skipped because no fee applies to their class
+     */
+    private long withoutFees;
+
+    /**
+     * Vouchers that exist for the month after this run, including those of earlier runs
+     */
+    private long totalForMonth;
+
+    private long durationMs;
+}
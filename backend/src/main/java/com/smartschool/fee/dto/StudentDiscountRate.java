@@ -0,0 +1,9 @@
+package com.smartschool.fee.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum of the active discount percentages of a student
+ */
+public record StudentDiscountRate(Long studentId, BigDecimal percentage) {
+}
@@ -0,0 +1,11 @@
+package com.smartschool.fee.dto;
+
+/**
+ * Enrollment of a student that has no voucher yet for the billing month
+ */
+public interface UnbilledEnrollment {
+
+    Long getStudentId();
+
+    Long getClassId();
+}
@@ -0,0 +1,17 @@
+package com.smartschool.fee.dto;
+
+/**
+ * Student name and placement printed on a voucher
+ */
+public interface VoucherStudentDetails {
+
+    Long getStudentId();
+
+    String getStudentName();
+
+    String getAdmissionNumber();
+
+    String getClassName();
+
+    String getSectionName();
+}
@@ -0,0 +1,51 @@
+package com.smartschool.fee.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a fee charged to a class, or to every class when no class is set
+ * Requirement: FEE-01
+ */
+@Entity
+@Table(name = "fee_structures")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeeStructure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    /**
+     * Null for a general fee charged to every class
+     */
+    @Column(name = "class_id")
+    private Long classId;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    /**
+     * Monthly fees are billed every month; other fees once, in the first month of the session
+     */
+    @Column(name = "is_monthly")
+    @Builder.Default
+    private Boolean isMonthly = true;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,63 @@
+package com.smartschool.fee.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity representing the fee voucher of one student for one billing month
+ * Requirement: FEE-05, FEE-06
+ */
+@Entity
+@Table(name = "fee_vouchers")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeeVoucher {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "voucher_number", nullable = false, unique = true, length = 50)
+    private String voucherNumber;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "total_discount_amount", precision = 10, scale = 2)
+    private BigDecimal totalDiscountAmount;
+
+    @Column(name = "payable_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal payableAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private FeeVoucherStatus status;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @OneToMany(mappedBy = "feeVoucher")
+    @Builder.Default
+    private List<FeeVoucherItem> items = new ArrayList<>();
+}
@@ -0,0 +1,41 @@
+package com.smartschool.fee.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Entity representing one itemized fee on a voucher
+ * Requirement: FEE-06
+ */
+@Entity
+@Table(
+    name = "fee_voucher_items",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"fee_voucher_id", "fee_structure_id"})
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeeVoucherItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "fee_voucher_id", nullable = false)
+    private FeeVoucher feeVoucher;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "fee_structure_id", nullable = false)
+    private FeeStructure feeStructure;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "discount_amount", precision = 10, scale = 2)
+    private BigDecimal discountAmount;
+}
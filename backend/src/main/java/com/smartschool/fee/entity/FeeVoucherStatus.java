@@ -0,0 +1,11 @@
+package com.smartschool.fee.entity;
+
+/**
+ * Payment state of a fee voucher
+ * Requirement: FEE-09
+ */
+public enum FeeVoucherStatus {
+    PENDING,
+    PAID,
+    OVERDUE
+}
@@ -0,0 +1,41 @@
+package com.smartschool.fee.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Entity representing a discount applied to a student's profile
+ * Requirement: FEE-04, FEE-07
+ */
+@Entity
+@Table(
+    name = "student_discounts",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "discount_id"})
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentDiscount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "discount_id", nullable = false)
+    private Discount discount;
+
+    @Column(name = "applied_from_date", nullable = false)
+    private LocalDate appliedFromDate;
+
+    @Column(name = "is_active")
+    @Builder.Default
+    private Boolean isActive = true;
+}
@@ -0,0 +1,13 @@
+package com.smartschool.fee.repository;
+
+import com.smartschool.fee.entity.FeeStructure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for FeeStructure entity
+ * Requirement: FEE-01
+ */
+@Repository
+public interface FeeStructureRepository extends JpaRepository<FeeStructure, Long> {
+}
@@ -0,0 +1,109 @@
+package com.smartschool.fee.repository;
+
+import com.smartschool.fee.dto.UnbilledEnrollment;
+import com.smartschool.fee.dto.VoucherStudentDetails;
+import com.smartschool.fee.entity.FeeVoucher;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for FeeVoucher entity
+ * Requirement: FEE-05, FEE-06
+ */
+@Repository
+public interface FeeVoucherRepository extends JpaRepository<FeeVoucher, Long> {
+
+    /**
+     * Enrollments of a session whose student has no voucher for the billing month yet, grouped by class
+     */
+    @Query(value = "SELECT e.student_id AS \"studentId\", e.class_id AS \"classId\" FROM student_enrollments e " +
+            "WHERE e.academic_session_id = :sessionId AND NOT EXISTS (" +
+            "SELECT 1 FROM fee_vouchers v WHERE v.student_id = e.student_id AND v.year = :year AND v.month = :month) " +
+            "ORDER BY e.class_id, e.student_id",
+            nativeQuery = true)
+    List<UnbilledEnrollment> findUnbilledEnrollments(Long sessionId, int month, int year);
+
+    long countByMonthAndYear(Integer month, Integer year);
+
+    /**
+     * Try to take the generation lock of a billing month (yyyymm) for the current transaction.
+     * Transaction-level advisory locks are released on commit, rollback or a lost connection.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('fee_voucher_generation'), :billingMonth)",
+            nativeQuery = true)
+    boolean tryLockBillingMonth(int billingMonth);
+
+    /**
+     * Insert a chunk of vouchers in one statement; vouchers that already exist are skipped.
+     * The arrays are parallel: element i of each array belongs to the same voucher.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO fee_vouchers (voucher_number, student_id, due_date, total_amount, " +
+            "total_discount_amount, payable_amount, status, month, year) " +
+            "SELECT u.voucher_number, u.student_id, :dueDate, u.total, u.discount, u.payable, 'PENDING', :month, :year " +
+            "FROM unnest(CAST(:voucherNumbers AS VARCHAR[]), CAST(:studentIds AS BIGINT[]), " +
+            "CAST(:totals AS NUMERIC[]), CAST(:discounts AS NUMERIC[]), CAST(:payables AS NUMERIC[])) " +
+            "AS u(voucher_number, student_id, total, discount, payable) " +
+            "ON CONFLICT (student_id, year, month) DO NOTHING",
+            nativeQuery = true)
+    int insertVouchers(LocalDate dueDate, int month, int year, String[] voucherNumbers, Long[] studentIds,
+                       BigDecimal[] totals, BigDecimal[] discounts, BigDecimal[] payables);
+
+    /**
+     * Insert the items of a chunk, resolving vouchers by their deterministic number.
+     * Items that already exist are skipped, so replaying a chunk is harmless.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO fee_voucher_items (fee_voucher_id, fee_structure_id, amount, discount_amount) " +
+            "SELECT v.id, u.fee_structure_id, u.amount, u.discount " +
+            "FROM unnest(CAST(:voucherNumbers AS VARCHAR[]), CAST(:feeStructureIds AS BIGINT[]), " +
+            "CAST(:amounts AS NUMERIC[]), CAST(:discounts AS NUMERIC[])) " +
+            "AS u(voucher_number, fee_structure_id, amount, discount) " +
+            "JOIN fee_vouchers v ON v.voucher_number = u.voucher_number " +
+            "ON CONFLICT (fee_voucher_id, fee_structure_id) DO NOTHING",
+            nativeQuery = true)
+    int insertItems(String[] voucherNumbers, Long[] feeStructureIds, BigDecimal[] amounts, BigDecimal[] discounts);
+
+    /**
+     * Find a voucher with its items and their fee structures
+     */
+    @Query("SELECT DISTINCT v FROM FeeVoucher v LEFT JOIN FETCH v.items i LEFT JOIN FETCH i.feeStructure WHERE v.id = :id")
+    Optional<FeeVoucher> findByIdWithItems(Long id);
+
+    /**
+     * Find the vouchers of a billing month for the given students, with their items and fee structures
+     */
+    @Query("SELECT DISTINCT v FROM FeeVoucher v LEFT JOIN FETCH v.items i LEFT JOIN FETCH i.feeStructure " +
+            "WHERE v.month = :month AND v.year = :year AND v.studentId IN :studentIds")
+    List<FeeVoucher> findWithItemsForStudents(int month, int year, Collection<Long> studentIds);
+
+    /**
+     * Students enrolled in a class for a session, in section and roll number order
+     */
+    @Query(value = "SELECT e.student_id FROM student_enrollments e JOIN sections sec ON sec.id = e.section_id " +
+            "WHERE e.academic_session_id = :sessionId AND e.class_id = :classId " +
+            "ORDER BY sec.name, e.roll_number NULLS LAST, e.student_id",
+            nativeQuery = true)
+    List<Long> findEnrolledStudentIds(Long sessionId, Long classId);
+
+    /**
+     * Name, admission number and placement in a session of the given students
+     */
+    @Query(value = "SELECT s.id AS \"studentId\", TRIM(p.first_name || ' ' || COALESCE(p.last_name, '')) AS \"studentName\", " +
+            "s.admission_number AS \"admissionNumber\", c.name AS \"className\", sec.name AS \"sectionName\" " +
+            "FROM students s JOIN persons p ON p.id = s.id " +
+            "LEFT JOIN student_enrollments e ON e.student_id = s.id AND e.academic_session_id = :sessionId " +
+            "LEFT JOIN classes c ON c.id = e.class_id " +
+            "LEFT JOIN sections sec ON sec.id = e.section_id " +
+            "WHERE s.id IN (:studentIds)",
+            nativeQuery = true)
+    List<VoucherStudentDetails> findStudentDetails(Long sessionId, Collection<Long> studentIds);
+}
@@ -0,0 +1,27 @@
+package com.smartschool.fee.repository;
+
+import com.smartschool.fee.dto.StudentDiscountRate;
+import com.smartschool.fee.entity.StudentDiscount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for StudentDiscount entity
+ * Requirement: FEE-04, FEE-07
+ */
+@Repository
+public interface StudentDiscountRepository extends JpaRepository<StudentDiscount, Long> {
+
+    /**
+     * Total active discount percentage per student, for discounts applied on or before the given date
+     */
+    @Query("SELECT new com.smartschool.fee.dto.StudentDiscountRate(sd.studentId, SUM(d.percentage)) " +
+            "FROM StudentDiscount sd JOIN sd.discount d " +
+            "WHERE sd.isActive = true AND d.isActive = true AND sd.appliedFromDate <= :date " +
+            "GROUP BY sd.studentId")
+    List<StudentDiscountRate> findActiveRates(LocalDate date);
+}
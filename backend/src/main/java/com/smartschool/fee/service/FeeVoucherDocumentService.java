@@ -0,0 +1,141 @@
+package com.smartschool.fee.service;
+
+import com.smartschool.exception.InvalidOperationException;
+import com.smartschool.exception.ResourceNotFoundException;
+import com.smartschool.fee.dto.VoucherStudentDetails;
+import com.smartschool.fee.entity.FeeVoucher;
+import com.smartschool.fee.entity.FeeVoucherItem;
+import com.smartschool.fee.entity.FeeVoucherStatus;
+import com.smartschool.fee.repository.FeeVoucherRepository;
+import com.smartschool.report.dto.CachedReport;
+import com.smartschool.report.dto.ReportDocument;
+import com.smartschool.report.service.PdfReportRenderer;
+import com.smartschool.report.service.ReportCache;
+import com.smartschool.setup.service.CurrentAcademicSessionHolder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds downloadable fee voucher PDFs (FEE-06).
+ * All data is loaded up front with a fixed number of queries; rendering then runs on the report
+ * executor without holding a database connection. Single vouchers are served from the report cache,
+ * so repeated downloads of an unchanged voucher are not rendered again.
+ * Requirement: FEE-06
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeeVoucherDocumentService {
+
+    private static final String TEMPLATE = "fee-voucher";
+    private static final DateTimeFormatter BILLING_MONTH_FORMAT = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+
+    private final FeeVoucherRepository feeVoucherRepository;
+    private final PdfReportRenderer pdfReportRenderer;
+    private final ReportCache reportCache;
+    private final CurrentAcademicSessionHolder currentSessionHolder;
+
+    @Value("${app.fee.payment-instructions:Please pay at the school accounts office or by bank transfer before the due date, quoting the voucher number.}")
+    private String paymentInstructions;
+
+    /**
+     * Get the PDF of one voucher, rendering it only if its content changed since the last download
+     */
+    public CachedReport getVoucherPdf(Long voucherId) {
+        log.info("Fetching PDF of fee voucher ID: {}", voucherId);
+        FeeVoucher voucher = feeVoucherRepository.findByIdWithItems(voucherId)
+                .orElseThrow(() -> new ResourceNotFoundException("Fee Voucher", "id", voucherId));
+
+        return reportCache.getOrRender(toDocument(voucher, loadStudents(List.of(voucher.getStudentId()))));
+    }
+
+    /**
+     * Load the vouchers of a class for a billing month, ordered by section and roll number.
+     * Throws when the class has no vouchers, so an error can still be returned before streaming starts.
+     */
+    public List<ReportDocument> loadClassVouchers(Long classId, int month, int year) {
+        if (month < 1 || month > 12) {
+            throw new InvalidOperationException("Month must be between 1 and 12");
+        }
+        log.info("Loading fee vouchers of class ID: {} for {}-{}", classId, year, month);
+        List<Long> studentIds = feeVoucherRepository.findEnrolledStudentIds(currentSessionHolder.getCurrentSessionId(), classId);
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < studentIds.size(); i++) {
+            position.put(studentIds.get(i), i);
+        }
+
+        List<FeeVoucher> vouchers = studentIds.isEmpty() ? List.of()
+                : feeVoucherRepository.findWithItemsForStudents(month, year, studentIds);
+        if (vouchers.isEmpty()) {
+            throw new ResourceNotFoundException(
+                    String.format("No fee vouchers found for class ID %s in %s", classId, YearMonth.of(year, month)));
+        }
+
+        Map<Long, VoucherStudent> students = loadStudents(studentIds);
+        return vouchers.stream()
+                .sorted(Comparator.comparing(voucher -> position.get(voucher.getStudentId())))
+                .map(voucher -> toDocument(voucher, students))
+                .toList();
+    }
+
+    /**
+     * Render the given vouchers in parallel into a ZIP archive
+     */
+    public void writeVoucherArchive(List<ReportDocument> documents, OutputStream out) throws IOException {
+        pdfReportRenderer.renderZip(documents, out);
+    }
+
+    private Map<Long, VoucherStudent> loadStudents(Collection<Long> studentIds) {
+        return feeVoucherRepository.findStudentDetails(currentSessionHolder.getCurrentSessionId(), studentIds).stream()
+                .map(details -> new VoucherStudent(details.getStudentId(), details.getStudentName(),
+                        details.getAdmissionNumber(), details.getClassName(), details.getSectionName()))
+                .collect(Collectors.toMap(VoucherStudent::id, Function.identity()));
+    }
+
+    private ReportDocument toDocument(FeeVoucher voucher, Map<Long, VoucherStudent> students) {
+        VoucherStudent student = students.getOrDefault(voucher.getStudentId(),
+                new VoucherStudent(voucher.getStudentId(), "Student " + voucher.getStudentId(), "-", null, null));
+        List<VoucherLine> lines = voucher.getItems().stream()
+                .sorted(Comparator.comparing((FeeVoucherItem item) -> item.getFeeStructure().getName()))
+                .map(item -> new VoucherLine(item.getFeeStructure().getName(), item.getAmount(),
+                        item.getDiscountAmount() != null ? item.getDiscountAmount() : BigDecimal.ZERO))
+                .toList();
+
+        // Plain records only: the variables are also hashed into the report cache key
+        VoucherSummary summary = new VoucherSummary(voucher.getVoucherNumber(), voucher.getDueDate(),
+                voucher.getTotalAmount(), voucher.getTotalDiscountAmount(), voucher.getPayableAmount(), voucher.getStatus());
+        return new ReportDocument(voucher.getVoucherNumber() + ".pdf", TEMPLATE, Map.of(
+                "voucher", summary,
+                "student", student,
+                "items", lines,
+                "billingMonth", YearMonth.of(voucher.getYear(), voucher.getMonth()).format(BILLING_MONTH_FORMAT),
+                "paymentInstructions", paymentInstructions));
+    }
+
+    public record VoucherSummary(String voucherNumber, LocalDate dueDate, BigDecimal totalAmount,
+                                 BigDecimal totalDiscountAmount, BigDecimal payableAmount, FeeVoucherStatus status) {
+    }
+
+    public record VoucherStudent(Long id, String name, String admissionNumber, String className, String sectionName) {
+    }
+
+    public record VoucherLine(String name, BigDecimal amount, BigDecimal discount) {
+    }
+}
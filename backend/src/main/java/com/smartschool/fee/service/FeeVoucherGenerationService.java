@@ -0,0 +1,259 @@
+package com.smartschool.fee.service;
+
+import com.smartschool.exception.InvalidOperationException;
+import com.smartschool.fee.config.FeeGenerationExecutorConfig;
+import com.smartschool.fee.dto.FeeVoucherGenerationRequest;
+import com.smartschool.fee.dto.FeeVoucherGenerationResponse;
+import com.smartschool.fee.dto.StudentDiscountRate;
+import com.smartschool.fee.dto.UnbilledEnrollment;
+import com.smartschool.fee.entity.FeeStructure;
+import com.smartschool.fee.repository.FeeStructureRepository;
+import com.smartschool.fee.repository.FeeVoucherRepository;
+import com.smartschool.fee.repository.StudentDiscountRepository;
+import com.smartschool.setup.dto.AcademicSessionResponse;
+import com.smartschool.setup.service.CurrentAcademicSessionHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the fee vouchers of every active student for a billing month (FEE-05).
+ * Fee structures and discount rates are loaded once. Active enrollments (those of the current session) are
+ * partitioned by class and each class is computed on the generation executor. Vouchers are written in chunks:
+ * each chunk is one transaction of two array-based INSERT statements, one for the vouchers and one for their items.
+ * Voucher numbers are derived from student and month and inserts skip existing rows, so a run that fails
+ * half-way is resumed by starting it again: students that already have a voucher are not loaded.
+ * A run holds a Postgres advisory lock on its billing month for its whole duration, so two runs of the same month
+ * never overlap, even on different instances; the lock takes one connection besides the executor's.
+ * Requirement: FEE-05, FEE-07
+ */
+@Slf4j
+@Service
+public class FeeVoucherGenerationService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final FeeStructureRepository feeStructureRepository;
+    private final StudentDiscountRepository studentDiscountRepository;
+    private final FeeVoucherRepository feeVoucherRepository;
+    private final CurrentAcademicSessionHolder currentSessionHolder;
+    private final TaskExecutor feeGenerationExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.fee.generation.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.fee.due-day-of-month:10}")
+    private int dueDayOfMonth;
+
+    public FeeVoucherGenerationService(FeeStructureRepository feeStructureRepository,
+                                       StudentDiscountRepository studentDiscountRepository,
+                                       FeeVoucherRepository feeVoucherRepository,
+                                       CurrentAcademicSessionHolder currentSessionHolder,
+                                       @Qualifier(FeeGenerationExecutorConfig.FEE_GENERATION_EXECUTOR) TaskExecutor feeGenerationExecutor,
+                                       PlatformTransactionManager transactionManager) {
+        this.feeStructureRepository = feeStructureRepository;
+        this.studentDiscountRepository = studentDiscountRepository;
+        this.feeVoucherRepository = feeVoucherRepository;
+        this.currentSessionHolder = currentSessionHolder;
+        this.feeGenerationExecutor = feeGenerationExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Generate the missing vouchers of a billing month for all students enrolled in the current session
+     */
+    public FeeVoucherGenerationResponse generateVouchers(FeeVoucherGenerationRequest request) {
+        YearMonth billingMonth = YearMonth.of(request.getYear(), request.getMonth());
+        AcademicSessionResponse session = currentSessionHolder.getCurrentSessionOrThrow();
+        if (billingMonth.atEndOfMonth().isBefore(session.getStartDate())
+                || billingMonth.atDay(1).isAfter(session.getEndDate())) {
+            throw new InvalidOperationException(
+                    String.format("Billing month %s is outside the current academic session '%s'", billingMonth, session.getName()));
+        }
+        LocalDate dueDate = request.getDueDate() != null ? request.getDueDate()
+                : billingMonth.atDay(Math.min(dueDayOfMonth, billingMonth.lengthOfMonth()));
+
+        // The lock lives as long as this transaction; chunks commit in their own transactions on the executor
+        return transactionTemplate.execute(status -> {
+            if (!feeVoucherRepository.tryLockBillingMonth(billingMonth.getYear() * 100 + billingMonth.getMonthValue())) {
+                throw new InvalidOperationException("Voucher generation for " + billingMonth + " is already running");
+            }
+            return generate(session, billingMonth, dueDate);
+        });
+    }
+
+    private FeeVoucherGenerationResponse generate(AcademicSessionResponse session, YearMonth billingMonth, LocalDate dueDate) {
+        long started = System.currentTimeMillis();
+        log.info("Generating fee vouchers for {} (due {})", billingMonth, dueDate);
+
+        // Non-monthly fees are billed once, in the month the session starts
+        boolean firstMonth = billingMonth.equals(YearMonth.from(session.getStartDate()));
+        FeeSchedule schedule = loadSchedule(billingMonth, firstMonth);
+
+        Map<Long, List<Long>> studentsByClass = feeVoucherRepository
+                .findUnbilledEnrollments(session.getId(), billingMonth.getMonthValue(), billingMonth.getYear())
+                .stream()
+                .collect(Collectors.groupingBy(UnbilledEnrollment::getClassId,
+                        Collectors.mapping(UnbilledEnrollment::getStudentId, Collectors.toList())));
+
+        List<CompletableFuture<ClassResult>> tasks = studentsByClass.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(
+                        () -> generateForClass(entry.getKey(), entry.getValue(), schedule, billingMonth, dueDate),
+                        feeGenerationExecutor))
+                .toList();
+
+        long generated = 0;
+        long withoutFees = 0;
+        try {
+            for (CompletableFuture<ClassResult> task : tasks) {
+                ClassResult result = task.join();
+                generated += result.generated();
+                withoutFees += result.withoutFees();
+            }
+        } catch (CompletionException e) {
+            // Chunks written so far stay committed; running the same month again resumes from there
+            tasks.forEach(task -> task.cancel(false));
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        long duration = System.currentTimeMillis() - started;
+        log.info("Fee vouchers for {} generated: {} created across {} classes in {} ms",
+                billingMonth, generated, studentsByClass.size(), duration);
+
+        return FeeVoucherGenerationResponse.builder()
+                .month(billingMonth.getMonthValue())
+                .year(billingMonth.getYear())
+                .classes(studentsByClass.size())
+                .generated(generated)
+                .withoutFees(withoutFees)
+                .totalForMonth(feeVoucherRepository.countByMonthAndYear(billingMonth.getMonthValue(), billingMonth.getYear()))
+                .durationMs(duration)
+                .build();
+    }
+
+    /**
+     * Load the fees that apply to the billing month and the discount rate of every student, once per run
+     */
+    private FeeSchedule loadSchedule(YearMonth billingMonth, boolean firstMonth) {
+        List<FeeStructure> structures = feeStructureRepository.findAll().stream()
+                .filter(structure -> firstMonth || !Boolean.FALSE.equals(structure.getIsMonthly()))
+                .toList();
+
+        List<FeeStructure> general = structures.stream().filter(structure -> structure.getClassId() == null).toList();
+        Map<Long, List<FeeStructure>> byClass = structures.stream()
+                .filter(structure -> structure.getClassId() != null)
+                .collect(Collectors.groupingBy(FeeStructure::getClassId));
+
+        Map<Long, BigDecimal> discountRates = studentDiscountRepository.findActiveRates(billingMonth.atEndOfMonth()).stream()
+                .collect(Collectors.toMap(StudentDiscountRate::studentId, StudentDiscountRate::percentage));
+
+        return new FeeSchedule(general, byClass, discountRates);
+    }
+
+    /**
+     * Compute and persist the vouchers of one class, one transaction per chunk
+     */
+    private ClassResult generateForClass(Long classId, List<Long> studentIds, FeeSchedule schedule,
+                                         YearMonth billingMonth, LocalDate dueDate) {
+        List<FeeStructure> fees = new ArrayList<>(schedule.general());
+        fees.addAll(schedule.byClass().getOrDefault(classId, List.of()));
+        if (fees.isEmpty()) {
+            log.warn("No fee structure applies to class ID: {}, skipping {} students", classId, studentIds.size());
+            return new ClassResult(0, studentIds.size());
+        }
+
+        long generated = 0;
+        for (int from = 0; from < studentIds.size(); from += chunkSize) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + chunkSize, studentIds.size()));
+            VoucherChunk vouchers = computeChunk(chunk, fees, schedule.discountRates(), billingMonth);
+            Integer inserted = transactionTemplate.execute(status -> {
+                int count = feeVoucherRepository.insertVouchers(dueDate, billingMonth.getMonthValue(), billingMonth.getYear(),
+                        vouchers.voucherNumbers(), vouchers.studentIds(),
+                        vouchers.totals(), vouchers.discounts(), vouchers.payables());
+                feeVoucherRepository.insertItems(vouchers.itemVoucherNumbers(), vouchers.itemFeeStructureIds(),
+                        vouchers.itemAmounts(), vouchers.itemDiscounts());
+                return count;
+            });
+            generated += inserted != null ? inserted : 0;
+        }
+
+        log.debug("Class ID: {} billed, {} vouchers created", classId, generated);
+        return new ClassResult(generated, 0);
+    }
+
+    /**
+     * Build the parallel arrays of a chunk; every student gets every fee, discounted by their rate (FEE-07).
+     * Discounts add up, but a student never gets more than 100% off.
+     */
+    static VoucherChunk computeChunk(List<Long> studentIds, List<FeeStructure> fees,
+                                      Map<Long, BigDecimal> discountRates, YearMonth billingMonth) {
+        int vouchers = studentIds.size();
+        int items = vouchers * fees.size();
+        VoucherChunk chunk = new VoucherChunk(
+                new String[vouchers], new Long[vouchers], new BigDecimal[vouchers], new BigDecimal[vouchers], new BigDecimal[vouchers],
+                new String[items], new Long[items], new BigDecimal[items], new BigDecimal[items]);
+
+        int item = 0;
+        for (int i = 0; i < vouchers; i++) {
+            Long studentId = studentIds.get(i);
+            String voucherNumber = voucherNumber(studentId, billingMonth);
+            BigDecimal rate = discountRates.getOrDefault(studentId, BigDecimal.ZERO).min(HUNDRED);
+            BigDecimal total = BigDecimal.ZERO;
+            BigDecimal discount = BigDecimal.ZERO;
+
+            for (FeeStructure fee : fees) {
+                BigDecimal itemDiscount = fee.getAmount().multiply(rate).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+                chunk.itemVoucherNumbers()[item] = voucherNumber;
+                chunk.itemFeeStructureIds()[item] = fee.getId();
+                chunk.itemAmounts()[item] = fee.getAmount();
+                chunk.itemDiscounts()[item] = itemDiscount;
+                total = total.add(fee.getAmount());
+                discount = discount.add(itemDiscount);
+                item++;
+            }
+
+            chunk.voucherNumbers()[i] = voucherNumber;
+            chunk.studentIds()[i] = studentId;
+            chunk.totals()[i] = total;
+            chunk.discounts()[i] = discount;
+            chunk.payables()[i] = total.subtract(discount);
+        }
+        return chunk;
+    }
+
+    /**
+     * Deterministic voucher number, e.g. FV-202611-000123; the same student and month always get the same number
+     */
+    static String voucherNumber(Long studentId, YearMonth billingMonth) {
+        return String.format("FV-%04d%02d-%06d", billingMonth.getYear(), billingMonth.getMonthValue(), studentId);
+    }
+
+    private record FeeSchedule(List<FeeStructure> general, Map<Long, List<FeeStructure>> byClass,
+                               Map<Long, BigDecimal> discountRates) {
+    }
+
+    private record ClassResult(long generated, long withoutFees) {
+    }
+
+    record VoucherChunk(String[] voucherNumbers, Long[] studentIds, BigDecimal[] totals,
+                                BigDecimal[] discounts, BigDecimal[] payables,
+                                String[] itemVoucherNumbers, Long[] itemFeeStructureIds,
+                                BigDecimal[] itemAmounts, BigDecimal[] itemDiscounts) {
+    }
+}
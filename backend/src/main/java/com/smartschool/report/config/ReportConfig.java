@@ -0,0 +1,62 @@
+package com.smartschool.report.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Template engine and bounded executor for PDF reports.
+ * The engine is separate from the web view engine so its template cache stays on even when
+ * spring.thymeleaf.cache is turned off (e.g. by DevTools): every template is parsed once per JVM,
+ * and its expressions are compiled to bytecode by the SpEL compiler after first use.
+ */
+@Configuration
+public class ReportConfig {
+
+    public static final String REPORT_TEMPLATE_ENGINE = "reportTemplateEngine";
+    public static final String REPORT_RENDER_EXECUTOR = "reportRenderExecutor";
+
+    @Value("${app.report.threads:0}")
+    private int threads;
+
+    @Value("${app.report.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Bean(name = REPORT_TEMPLATE_ENGINE)
+    public SpringTemplateEngine reportTemplateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("reports/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        resolver.setCacheTTLMs(null);
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        engine.setEnableSpringELCompiler(true);
+        return engine;
+    }
+
+    @Bean(name = REPORT_RENDER_EXECUTOR)
+    public ThreadPoolTaskExecutor reportRenderExecutor() {
+        // Layout and PDF encoding are CPU bound: one thread per core unless configured
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,10 @@
+package com.smartschool.report.dto;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * A rendered report on disk.
+ * The key is the content hash of the report's inputs and doubles as its ETag.
+ */
+public record CachedReport(String key, String fileName, Resource resource) {
+}
@@ -0,0 +1,13 @@
+package com.smartschool.report.dto;
+
+import java.util.Map;
+
+/**
+ * One document to render
+ *
+ * @param fileName  name of the PDF, used as the entry name in batch archives
+ * @param template  template under classpath:reports/, without the .html suffix
+ * @param variables template variables, in addition to the shared school assets
+ */
+public record ReportDocument(String fileName, String template, Map<String, Object> variables) {
+}
@@ -0,0 +1,244 @@
+package com.smartschool.report.service;
+
+import com.openhtmltopdf.extend.FSCacheEx;
+import com.openhtmltopdf.extend.FSCacheValue;
+import com.openhtmltopdf.extend.impl.FSDefaultCacheStore;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import com.smartschool.exception.ReportRenderingException;
+import com.smartschool.exception.ServiceUnavailableException;
+import com.smartschool.report.config.ReportConfig;
+import com.smartschool.report.dto.ReportDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.context.Context;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders Thymeleaf report templates to PDF on the bounded report executor.
+ * Shared state is prepared once per JVM and reused by every render:
+ * <ul>
+ *   <li>compiled templates (cached by the report template engine)</li>
+ *   <li>the stylesheet, logo and font bytes (ReportAssets)</li>
+ *   <li>font metrics (a shared openhtmltopdf cache store)</li>
+ *   <li>one XML DocumentBuilder per render thread, reset between documents</li>
+ * </ul>
+ * openhtmltopdf builders are single-use, so the per-document objects are just the builder and the PDF itself.
+ */
+@Slf4j
+@Component
+public class PdfReportRenderer {
+
+    private final SpringTemplateEngine templateEngine;
+    private final ReportAssets reportAssets;
+    private final AsyncTaskExecutor reportRenderExecutor;
+    private final int concurrency;
+
+    private final FSCacheEx<String, FSCacheValue> fontMetricsCache = new FSDefaultCacheStore();
+    private final ThreadLocal<DocumentBuilder> documentBuilders = ThreadLocal.withInitial(PdfReportRenderer::newDocumentBuilder);
+
+    public PdfReportRenderer(@Qualifier(ReportConfig.REPORT_TEMPLATE_ENGINE) SpringTemplateEngine templateEngine,
+                             ReportAssets reportAssets,
+                             @Qualifier(ReportConfig.REPORT_RENDER_EXECUTOR) AsyncTaskExecutor reportRenderExecutor) {
+        this.templateEngine = templateEngine;
+        this.reportAssets = reportAssets;
+        this.reportRenderExecutor = reportRenderExecutor;
+        this.concurrency = reportRenderExecutor instanceof ThreadPoolTaskExecutor pool
+                ? pool.getMaxPoolSize() : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Render one document and return the PDF bytes
+     */
+    public byte[] render(ReportDocument document) {
+        return join(submit(document)).pdf();
+    }
+
+    /**
+     * Render one document and write it to the given stream (an HTTP response or a file)
+     */
+    public void render(ReportDocument document, OutputStream out) throws IOException {
+        out.write(render(document));
+        out.flush();
+    }
+
+    /**
+     * Render many documents in parallel and stream them as a ZIP archive, in the given order.
+     * Documents are taken from the iterable only as render slots free up, so callers can build them lazily.
+     * At most twice the executor's thread count is in flight, so memory stays bounded for any batch size;
+     * entries are written as they complete, and a slow client throttles rendering through the blocked writes.
+     * If the client aborts, the documents still in flight are cancelled and leave the executor's queue.
+     */
+    public void renderZip(Iterable<ReportDocument> documents, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        renderInOrder(documents, rendered -> {
+            zip.putNextEntry(new ZipEntry(rendered.fileName()));
+            zip.write(rendered.pdf());
+            zip.closeEntry();
+        });
+        zip.finish();
+    }
+
+    /**
+     * Render many documents in parallel and write them to the stream as one merged PDF, in the given order.
+     * Each rendered document is spooled to a temporary file and the merge buffers through temporary files,
+     * so heap use stays bounded like renderZip; the response only starts once every document is rendered.
+     */
+    public void renderMerged(Iterable<ReportDocument> documents, OutputStream out) throws IOException {
+        Path spool = Files.createTempDirectory("report-merge-");
+        try {
+            PDFMergerUtility merger = new PDFMergerUtility();
+            AtomicInteger spooled = new AtomicInteger();
+            renderInOrder(documents, rendered -> {
+                Path file = spool.resolve(String.format("%06d.pdf", spooled.getAndIncrement()));
+                Files.write(file, rendered.pdf());
+                merger.addSource(file.toFile());
+            });
+            merger.setDestinationStream(out);
+            merger.mergeDocuments(IOUtils.createTempFileOnlyStreamCache());
+        } finally {
+            FileSystemUtils.deleteRecursively(spool);
+        }
+    }
+
+    /**
+     * Render documents with a bounded window in flight and hand each result to the sink in input order.
+     * When the sink or a render fails, the rest of the window is cancelled: queued renders are removed
+     * from the executor and running ones are interrupted.
+     */
+    private void renderInOrder(Iterable<ReportDocument> documents, RenderedDocumentSink sink) throws IOException {
+        long started = System.nanoTime();
+        int window = concurrency * 2;
+        int count = 0;
+        Deque<Future<RenderedDocument>> inFlight = new ArrayDeque<>(window);
+        Iterator<ReportDocument> pending = documents.iterator();
+
+        try {
+            while (pending.hasNext() || !inFlight.isEmpty()) {
+                while (inFlight.size() < window && pending.hasNext()) {
+                    inFlight.add(submit(pending.next()));
+                }
+                sink.accept(join(inFlight.poll()));
+                count++;
+            }
+        } finally {
+            cancel(inFlight);
+        }
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("Rendered {} documents in {} ms ({} documents/s)",
+                count, Math.round(seconds * 1000), Math.round(count / Math.max(seconds, 0.001)));
+    }
+
+    private Future<RenderedDocument> submit(ReportDocument document) {
+        try {
+            return reportRenderExecutor.submit(() -> new RenderedDocument(document.fileName(), renderOnWorker(document)));
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many reports are being rendered, please retry shortly");
+        }
+    }
+
+    private RenderedDocument join(Future<RenderedDocument> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause
+                    : new ReportRenderingException("Cannot render report", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException("Report rendering was interrupted");
+        }
+    }
+
+    private void cancel(Deque<Future<RenderedDocument>> inFlight) {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        inFlight.forEach(future -> future.cancel(true));
+        // Cancelled tasks otherwise hold their queue slots until a worker reaches them
+        if (reportRenderExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.getThreadPoolExecutor().purge();
+        }
+    }
+
+    /**
+     * Template to XHTML to DOM to PDF, on a report executor thread
+     */
+    private byte[] renderOnWorker(ReportDocument document) {
+        try {
+            Context context = new Context(Locale.ENGLISH, document.variables());
+            context.setVariable("schoolName", reportAssets.getSchoolName());
+            context.setVariable("logo", reportAssets.getLogoDataUri());
+            context.setVariable("stylesheet", reportAssets.getStylesheet());
+            String html = templateEngine.process(document.template(), context);
+
+            DocumentBuilder documentBuilder = documentBuilders.get();
+            documentBuilder.reset();
+            Document dom = documentBuilder.parse(new InputSource(new StringReader(html)));
+
+            ByteArrayOutputStream pdf = new ByteArrayOutputStream(32 * 1024);
+            PdfRendererBuilder builder = new PdfRendererBuilder()
+                    .withW3cDocument(dom, null)
+                    .useCacheStore(PdfRendererBuilder.CacheStore.PDF_FONT_METRICS, fontMetricsCache)
+                    .toStream(pdf);
+            reportAssets.registerFonts(builder);
+            builder.run();
+            return pdf.toByteArray();
+        } catch (Exception e) {
+            throw new ReportRenderingException("Cannot render report " + document.fileName(), e);
+        }
+    }
+
+    /**
+     * Parser for the well-formed XHTML produced by the report templates; external DTDs are never fetched
+     */
+    private static DocumentBuilder newDocumentBuilder() {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setExpandEntityReferences(false);
+            return factory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Cannot create XML parser for reports", e);
+        }
+    }
+
+    private record RenderedDocument(String fileName, byte[] pdf) {
+    }
+
+    @FunctionalInterface
+    private interface RenderedDocumentSink {
+        void accept(RenderedDocument rendered) throws IOException;
+    }
+}
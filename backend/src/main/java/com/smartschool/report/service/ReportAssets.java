@@ -0,0 +1,129 @@
+package com.smartschool.report.service;
+
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * School-wide report assets, read from disk once at startup and shared by every render:
+ * the report stylesheet, the school logo (as a data URI, so renders never touch the file system)
+ * and the bytes of any TrueType fonts in the configured fonts directory.
+ */
+@Slf4j
+@Component
+public class ReportAssets {
+
+    private static final String STYLESHEET = "reports/report.css";
+
+    @Value("${app.report.school-name:SmartSchool}")
+    @Getter
+    private String schoolName;
+
+    @Value("${app.report.logo-path:}")
+    private String logoPath;
+
+    @Value("${app.report.fonts-dir:}")
+    private String fontsDir;
+
+    @Getter
+    private String stylesheet;
+
+    @Getter
+    private String logoDataUri;
+
+    /**
+     * Fingerprint of every asset above; part of the key of cached reports (ReportCache)
+     */
+    @Getter
+    private String version;
+
+    /**
+     * Font family (file name without extension) to font file contents
+     */
+    private final Map<String, byte[]> fonts = new LinkedHashMap<>();
+
+    @PostConstruct
+    void load() throws IOException {
+        try (InputStream in = new ClassPathResource(STYLESHEET).getInputStream()) {
+            stylesheet = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        if (StringUtils.hasText(logoPath)) {
+            logoDataUri = toDataUri(Path.of(logoPath), Files.readAllBytes(Path.of(logoPath)));
+        }
+
+        if (StringUtils.hasText(fontsDir) && Files.isDirectory(Path.of(fontsDir))) {
+            try (Stream<Path> files = Files.list(Path.of(fontsDir))) {
+                files.filter(file -> file.getFileName().toString().toLowerCase().endsWith(".ttf"))
+                        .forEach(file -> fonts.put(
+                                file.getFileName().toString().replaceFirst("(?i)\\.ttf$", ""), readFont(file)));
+            }
+        }
+
+        MessageDigest digest = ReportCache.newDigest();
+        digest.update(schoolName.getBytes(StandardCharsets.UTF_8));
+        digest.update(stylesheet.getBytes(StandardCharsets.UTF_8));
+        if (logoDataUri != null) {
+            digest.update(logoDataUri.getBytes(StandardCharsets.UTF_8));
+        }
+        fonts.forEach((family, bytes) -> {
+            digest.update(family.getBytes(StandardCharsets.UTF_8));
+            digest.update(bytes);
+        });
+        version = HexFormat.of().formatHex(digest.digest());
+
+        log.info("Report assets loaded: logo {}, {} fonts", logoDataUri != null ? "present" : "absent", fonts.size());
+    }
+
+    /**
+     * Register the cached fonts with a renderer; the bytes are shared, only a stream wrapper is created per render
+     */
+    public void registerFonts(PdfRendererBuilder builder) {
+        fonts.forEach((family, bytes) -> builder.useFont(() -> new ByteArrayInputStream(bytes), family));
+    }
+
+    /**
+     * Read a per-document image (e.g. a student photo) as a data URI, or null when it cannot be read
+     */
+    public String imageDataUri(Path image) {
+        try {
+            return toDataUri(image, Files.readAllBytes(image));
+        } catch (IOException e) {
+            log.warn("Cannot read report image {}: {}", image, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String toDataUri(Path image, byte[] content) {
+        String name = image.getFileName().toString().toLowerCase();
+        String mediaType = name.endsWith(".svg") ? "image/svg+xml" : name.endsWith(".png") ? "image/png" : "image/jpeg";
+        return "data:" + mediaType + ";base64," + Base64.getEncoder().encodeToString(content);
+    }
+
+    private byte[] readFont(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read report font " + file, e);
+        }
+    }
+}
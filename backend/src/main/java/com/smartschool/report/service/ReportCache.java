@@ -0,0 +1,259 @@
+package com.smartschool.report.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.smartschool.exception.ReportRenderingException;
+import com.smartschool.report.dto.CachedReport;
+import com.smartschool.report.dto.ReportDocument;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Disk cache of rendered PDFs, addressed by content.
+ * The key is the SHA-256 of the template, the shared report assets and every template variable, so a
+ * change to any input (a voucher being paid, marks being republished, a new logo) yields a new key and
+ * stale files are simply never read again. Entries are weighed by file size and evicted by Caffeine
+ * once the cache exceeds app.report.cache.max-size-mb. The file of an evicted entry is deleted after
+ * app.report.cache.delete-delay-seconds, so a response that was handed the file just before the eviction can
+ * still open it; if the key has been rendered again by then, the file is kept.
+ * Each key is rendered once at a time: concurrent requests for the same document wait for the first render.
+ * Rendering runs outside the cache's locks; only moving the file into place and recording its size are atomic
+ * with the delayed delete of the same key. Files are written to a temporary name and moved into place, so a
+ * reader never sees a partial PDF.
+ */
+@Slf4j
+@Component
+public class ReportCache {
+
+    private static final String CACHE_DIR = "report-cache";
+    private static final String TEMPLATE_PREFIX = "reports/";
+    private static final String TEMPLATE_SUFFIX = ".html";
+
+    private final PdfReportRenderer pdfReportRenderer;
+    private final ReportAssets reportAssets;
+    private final ObjectMapper keyMapper;
+
+    /**
+     * Template name to the hash of its source; templates only change with a deployment
+     */
+    private final Map<String, String> templateVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Renders in progress by key; requests for a key that is being rendered wait for that render
+     */
+    private final Map<String, CompletableFuture<Void>> rendersInProgress = new ConcurrentHashMap<>();
+
+    @Value("${app.file-storage.documents-dir}")
+    private String documentsDir;
+
+    @Value("${app.report.cache.max-size-mb:512}")
+    private long maxSizeMb;
+
+    @Value("${app.report.cache.delete-delay-seconds:60}")
+    private long deleteDelaySeconds;
+
+    private Path directory;
+
+    /**
+     * Cache key to file size in bytes; weighed in KiB, rounded up
+     */
+    private Cache<String, Long> entries;
+
+    public ReportCache(PdfReportRenderer pdfReportRenderer, ReportAssets reportAssets, ObjectMapper objectMapper) {
+        this.pdfReportRenderer = pdfReportRenderer;
+        this.reportAssets = reportAssets;
+        // Map keys are sorted so that equal variables always serialize to the same bytes
+        this.keyMapper = objectMapper.copy().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    }
+
+    /**
+     * Create the cache directory and register the files left by previous runs, oldest first
+     */
+    @PostConstruct
+    void init() throws IOException {
+        directory = Files.createDirectories(Path.of(documentsDir, CACHE_DIR));
+        entries = Caffeine.newBuilder()
+                .maximumWeight(maxSizeMb * 1024)
+                .weigher((String key, Long size) -> (int) Math.min(Integer.MAX_VALUE, Math.max(1, (size + 1023) / 1024)))
+                .evictionListener((String key, Long size, RemovalCause cause) -> CompletableFuture.runAsync(
+                        () -> deleteIfEvicted(key), CompletableFuture.delayedExecutor(deleteDelaySeconds, TimeUnit.SECONDS)))
+                .build();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(ReportCache::lastModified))
+                    .forEach(file -> {
+                        String name = file.getFileName().toString();
+                        if (name.endsWith(".pdf")) {
+                            entries.put(name.substring(0, name.length() - 4), file.toFile().length());
+                        } else {
+                            delete(file);
+                        }
+                    });
+        }
+        log.info("Report cache at {} holds {} documents", directory, entries.estimatedSize());
+    }
+
+    /**
+     * Return the cached PDF of a document, rendering and storing it first if needed.
+     * The key is computed from the document, so the caller has already loaded all of the report's data: a request
+     * answered with 304 Not Modified for this key still pays for that load and only saves rendering and transfer.
+     */
+    public CachedReport getOrRender(ReportDocument document) {
+        String key = keyOf(document);
+        // Forget entries whose file has been removed behind the cache's back
+        entries.asMap().computeIfPresent(key, (k, size) -> Files.isRegularFile(fileOf(k)) ? size : null);
+        renderIfAbsent(document, key);
+        return new CachedReport(key, document.fileName(), new FileSystemResource(fileOf(key)));
+    }
+
+    /**
+     * Render a document unless it is cached; a request that finds the key being rendered waits for that render
+     * and renders itself only if the render failed
+     */
+    private void renderIfAbsent(ReportDocument document, String key) {
+        while (entries.getIfPresent(key) == null) {
+            CompletableFuture<Void> render = new CompletableFuture<>();
+            CompletableFuture<Void> running = rendersInProgress.putIfAbsent(key, render);
+            if (running != null) {
+                running.join();
+                continue;
+            }
+
+            try {
+                // Another render of the key may have finished just before this one was registered
+                if (entries.getIfPresent(key) == null) {
+                    render(document, key);
+                }
+            } finally {
+                rendersInProgress.remove(key, render);
+                render.complete(null);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Render a document into a temporary file, then move it into place and record its size
+     */
+    private void render(ReportDocument document, String key) {
+        try {
+            Path temporary = Files.createTempFile(directory, key, ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temporary)) {
+                    pdfReportRenderer.render(document, out);
+                }
+                long size = Files.size(temporary);
+                // Under the key's lock, so a delayed delete of an earlier eviction cannot remove the new file
+                entries.asMap().compute(key, (k, previous) -> {
+                    moveIntoPlace(temporary, fileOf(k));
+                    return size;
+                });
+                log.debug("Cached report {} as {}", document.fileName(), key);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new ReportRenderingException("Cannot cache report " + document.fileName(), e);
+        }
+    }
+
+    private static void moveIntoPlace(Path temporary, Path file) {
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Delete the file of an evicted key unless the key has been cached again; atomic with moving a newly
+     * rendered file of the same key into place
+     */
+    private void deleteIfEvicted(String key) {
+        entries.asMap().compute(key, (k, size) -> {
+            if (size == null) {
+                delete(fileOf(k));
+            }
+            return size;
+        });
+    }
+
+    private String keyOf(ReportDocument document) {
+        MessageDigest digest = newDigest();
+        digest.update(document.template().getBytes(StandardCharsets.UTF_8));
+        digest.update(templateVersions.computeIfAbsent(document.template(), ReportCache::hashTemplate)
+                .getBytes(StandardCharsets.UTF_8));
+        digest.update(reportAssets.getVersion().getBytes(StandardCharsets.UTF_8));
+        try {
+            digest.update(keyMapper.writeValueAsBytes(new TreeMap<>(document.variables())));
+        } catch (JsonProcessingException e) {
+            throw new ReportRenderingException("Cannot hash the variables of report " + document.fileName(), e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Path fileOf(String key) {
+        return directory.resolve(key + ".pdf");
+    }
+
+    private static String hashTemplate(String template) {
+        try (InputStream in = new ClassPathResource(TEMPLATE_PREFIX + template + TEMPLATE_SUFFIX).getInputStream()) {
+            return HexFormat.of().formatHex(newDigest().digest(in.readAllBytes()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read report template " + template, e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Cannot delete cached report {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package com.smartschool.setup.controller;
 
+import com.smartschool.common.pagination.PaginationHeaders;
+import com.smartschool.common.version.TableVersionService;
 import com.smartschool.setup.dto.AcademicSessionRequest;
 import com.smartschool.setup.dto.AcademicSessionResponse;
 import com.smartschool.setup.service.AcademicSessionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,7 +30,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AcademicSessionController {
 
+    /**
+     * Tables whose changes invalidate the responses of this controller
+     */
+    private static final String[] VERSIONED_TABLES = {TableVersionService.ACADEMIC_SESSIONS};
+
     private final AcademicSessionService academicSessionService;
+    private final TableVersionService tableVersionService;
 
     @Operation(summary = "Create a new academic session")
     @PostMapping
@@ -33,23 +46,38 @@ public class AcademicSessionController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Get all academic sessions")
+    @Operation(summary = "Get academic sessions, by page or after a cursor")
     @GetMapping
-    public ResponseEntity<List<AcademicSessionResponse>> getAllSessions() {
-        List<AcademicSessionResponse> sessions = academicSessionService.getAllSessions();
-        return ResponseEntity.ok(sessions);
+    public ResponseEntity<List<AcademicSessionResponse>> getAllSessions(
+            @Parameter(description = "Return sessions with an ID greater than this cursor instead of a numbered page")
+            @RequestParam(required = false) Long after,
+            @ParameterObject @PageableDefault(size = 100, sort = "id") Pageable pageable,
+            WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
+        if (after != null) {
+            return PaginationHeaders.ok(academicSessionService.getSessionsAfter(after, pageable.getPageSize()));
+        }
+        return PaginationHeaders.ok(academicSessionService.getSessions(pageable));
     }
 
     @Operation(summary = "Get academic session by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<AcademicSessionResponse> getSessionById(@PathVariable Long id) {
+    public ResponseEntity<AcademicSessionResponse> getSessionById(@PathVariable Long id, WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
         AcademicSessionResponse response = academicSessionService.getSessionById(id);
         return ResponseEntity.ok(response);
     }
 
     @Operation(summary = "Get the current academic session")
     @GetMapping("/current")
-    public ResponseEntity<AcademicSessionResponse> getCurrentSession() {
+    public ResponseEntity<AcademicSessionResponse> getCurrentSession(WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
         AcademicSessionResponse response = academicSessionService.getCurrentSession();
         return ResponseEntity.ok(response);
     }
@@ -1,16 +1,30 @@
 package com.smartschool.setup.controller;
 
+import com.smartschool.common.bulk.BulkResponse;
+import com.smartschool.common.export.ExportFormat;
+import com.smartschool.common.pagination.PaginationHeaders;
+import com.smartschool.common.version.TableVersionService;
 import com.smartschool.setup.dto.ClassSubjectAssignmentRequest;
+import com.smartschool.setup.dto.ClassSubjectBulkAssignmentRequest;
+import com.smartschool.setup.dto.ClassSubjectBulkAssignmentResponse;
+import com.smartschool.setup.dto.SchoolClassBulkRequest;
 import com.smartschool.setup.dto.SchoolClassRequest;
 import com.smartschool.setup.dto.SchoolClassResponse;
 import com.smartschool.setup.service.SchoolClassService;
+import com.smartschool.setup.service.SetupExportService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Set;
@@ -25,7 +39,15 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class SchoolClassController {
 
+    /**
+     * Tables whose changes invalidate the responses of this controller
+     */
+    private static final String[] VERSIONED_TABLES = {TableVersionService.CLASSES, TableVersionService.SECTIONS,
+            TableVersionService.SUBJECTS, TableVersionService.CLASS_SUBJECTS};
+
     private final SchoolClassService schoolClassService;
+    private final SetupExportService setupExportService;
+    private final TableVersionService tableVersionService;
 
     @Operation(summary = "Create a new school class")
     @PostMapping
@@ -35,23 +57,60 @@ public class SchoolClassController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Get all school classes")
+    @Operation(summary = "Create school classes in bulk")
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponse> bulkCreateClasses(
+            @Valid @RequestBody SchoolClassBulkRequest request) {
+        BulkResponse response = schoolClassService.bulkCreateClasses(request.getItems());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Get school classes, by page or after a cursor")
     @GetMapping
-    public ResponseEntity<List<SchoolClassResponse>> getAllClasses() {
-        List<SchoolClassResponse> classes = schoolClassService.getAllClasses();
-        return ResponseEntity.ok(classes);
+    public ResponseEntity<List<SchoolClassResponse>> getAllClasses(
+            @Parameter(description = "Return classes with an ID greater than this cursor instead of a numbered page")
+            @RequestParam(required = false) Long after,
+            @ParameterObject @PageableDefault(size = 100, sort = "id") Pageable pageable,
+            WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
+        if (after != null) {
+            return PaginationHeaders.ok(schoolClassService.getClassesAfter(after, pageable.getPageSize()));
+        }
+        return PaginationHeaders.ok(schoolClassService.getClasses(pageable));
+    }
+
+    @Operation(summary = "Export all school classes as CSV or NDJSON")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportClasses(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format) {
+        return setupExportService.exportClasses(ExportFormat.from(format));
+    }
+
+    @Operation(summary = "Export all class-subject assignments as CSV or NDJSON")
+    @GetMapping("/export/subjects")
+    public ResponseEntity<StreamingResponseBody> exportClassSubjects(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format) {
+        return setupExportService.exportClassSubjects(ExportFormat.from(format));
     }
 
     @Operation(summary = "Get school class by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<SchoolClassResponse> getClassById(@PathVariable Long id) {
+    public ResponseEntity<SchoolClassResponse> getClassById(@PathVariable Long id, WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
         SchoolClassResponse response = schoolClassService.getClassById(id);
         return ResponseEntity.ok(response);
     }
 
     @Operation(summary = "Get school class by ID with subjects")
     @GetMapping("/{id}/with-subjects")
-    public ResponseEntity<SchoolClassResponse> getClassByIdWithSubjects(@PathVariable Long id) {
+    public ResponseEntity<SchoolClassResponse> getClassByIdWithSubjects(@PathVariable Long id, WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
         SchoolClassResponse response = schoolClassService.getClassByIdWithSubjects(id);
         return ResponseEntity.ok(response);
     }
@@ -80,6 +139,14 @@ public class SchoolClassController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Assign one set of subjects to many classes")
+    @PostMapping("/assign-subjects/bulk")
+    public ResponseEntity<ClassSubjectBulkAssignmentResponse> assignSubjectsToClasses(
+            @Valid @RequestBody ClassSubjectBulkAssignmentRequest request) {
+        ClassSubjectBulkAssignmentResponse response = schoolClassService.assignSubjectsToClasses(request);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Remove subjects from a class")
     @DeleteMapping("/{classId}/subjects")
     public ResponseEntity<SchoolClassResponse> removeSubjectsFromClass(
@@ -1,15 +1,27 @@
 package com.smartschool.setup.controller;
 
+import com.smartschool.common.bulk.BulkResponse;
+import com.smartschool.common.export.ExportFormat;
+import com.smartschool.common.pagination.PaginationHeaders;
+import com.smartschool.common.version.TableVersionService;
+import com.smartschool.setup.dto.SectionBulkRequest;
 import com.smartschool.setup.dto.SectionRequest;
 import com.smartschool.setup.dto.SectionResponse;
 import com.smartschool.setup.service.SectionService;
+import com.smartschool.setup.service.SetupExportService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,7 +35,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SectionController {
 
+    /**
+     * Tables whose changes invalidate the responses of this controller
+     */
+    private static final String[] VERSIONED_TABLES = {TableVersionService.SECTIONS, TableVersionService.CLASSES};
+
     private final SectionService sectionService;
+    private final SetupExportService setupExportService;
+    private final TableVersionService tableVersionService;
 
     @Operation(summary = "Create a new section")
     @PostMapping
@@ -33,23 +52,53 @@ public class SectionController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Get all sections")
+    @Operation(summary = "Create sections in bulk")
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponse> bulkCreateSections(
+            @Valid @RequestBody SectionBulkRequest request) {
+        BulkResponse response = sectionService.bulkCreateSections(request.getItems());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Get sections, by page or after a cursor")
     @GetMapping
-    public ResponseEntity<List<SectionResponse>> getAllSections() {
-        List<SectionResponse> sections = sectionService.getAllSections();
-        return ResponseEntity.ok(sections);
+    public ResponseEntity<List<SectionResponse>> getAllSections(
+            @Parameter(description = "Return sections with an ID greater than this cursor instead of a numbered page")
+            @RequestParam(required = false) Long after,
+            @ParameterObject @PageableDefault(size = 100, sort = "id") Pageable pageable,
+            WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
+        if (after != null) {
+            return PaginationHeaders.ok(sectionService.getSectionsAfter(after, pageable.getPageSize()));
+        }
+        return PaginationHeaders.ok(sectionService.getSections(pageable));
     }
 
     @Operation(summary = "Get sections by class ID")
     @GetMapping("/by-class/{classId}")
-    public ResponseEntity<List<SectionResponse>> getSectionsByClassId(@PathVariable Long classId) {
+    public ResponseEntity<List<SectionResponse>> getSectionsByClassId(@PathVariable Long classId, WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
         List<SectionResponse> sections = sectionService.getSectionsByClassId(classId);
         return ResponseEntity.ok(sections);
     }
 
+    @Operation(summary = "Export all sections as CSV or NDJSON")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSections(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format) {
+        return setupExportService.exportSections(ExportFormat.from(format));
+    }
+
     @Operation(summary = "Get section by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<SectionResponse> getSectionById(@PathVariable Long id) {
+    public ResponseEntity<SectionResponse> getSectionById(@PathVariable Long id, WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
         SectionResponse response = sectionService.getSectionById(id);
         return ResponseEntity.ok(response);
     }
@@ -1,15 +1,27 @@
 package com.smartschool.setup.controller;
 
+import com.smartschool.common.bulk.BulkResponse;
+import com.smartschool.common.export.ExportFormat;
+import com.smartschool.common.pagination.PaginationHeaders;
+import com.smartschool.common.version.TableVersionService;
+import com.smartschool.setup.dto.SubjectBulkRequest;
 import com.smartschool.setup.dto.SubjectRequest;
 import com.smartschool.setup.dto.SubjectResponse;
 import com.smartschool.setup.service.SubjectService;
+import com.smartschool.setup.service.SetupExportService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,7 +35,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SubjectController {
 
+    /**
+     * Tables whose changes invalidate the responses of this controller
+     */
+    private static final String[] VERSIONED_TABLES = {TableVersionService.SUBJECTS};
+
     private final SubjectService subjectService;
+    private final SetupExportService setupExportService;
+    private final TableVersionService tableVersionService;
 
     @Operation(summary = "Create a new subject")
     @PostMapping
@@ -33,16 +52,43 @@ public class SubjectController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Get all subjects")
+    @Operation(summary = "Create or update subjects in bulk")
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponse> bulkUpsertSubjects(
+            @Valid @RequestBody SubjectBulkRequest request) {
+        BulkResponse response = subjectService.bulkUpsertSubjects(request.getItems());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Get subjects, by page or after a cursor")
     @GetMapping
-    public ResponseEntity<List<SubjectResponse>> getAllSubjects() {
-        List<SubjectResponse> subjects = subjectService.getAllSubjects();
-        return ResponseEntity.ok(subjects);
+    public ResponseEntity<List<SubjectResponse>> getAllSubjects(
+            @Parameter(description = "Return subjects with an ID greater than this cursor instead of a numbered page")
+            @RequestParam(required = false) Long after,
+            @ParameterObject @PageableDefault(size = 100, sort = "id") Pageable pageable,
+            WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
+        if (after != null) {
+            return PaginationHeaders.ok(subjectService.getSubjectsAfter(after, pageable.getPageSize()));
+        }
+        return PaginationHeaders.ok(subjectService.getSubjects(pageable));
+    }
+
+    @Operation(summary = "Export all subjects as CSV or NDJSON")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSubjects(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format) {
+        return setupExportService.exportSubjects(ExportFormat.from(format));
     }
 
     @Operation(summary = "Get subject by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<SubjectResponse> getSubjectById(@PathVariable Long id) {
+    public ResponseEntity<SubjectResponse> getSubjectById(@PathVariable Long id, WebRequest webRequest) {
+        if (tableVersionService.checkNotModified(webRequest, VERSIONED_TABLES)) {
+            return null;
+        }
         SubjectResponse response = subjectService.getSubjectById(id);
         return ResponseEntity.ok(response);
     }
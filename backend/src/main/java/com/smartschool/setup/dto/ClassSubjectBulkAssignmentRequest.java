@@ -0,0 +1,32 @@
+package com.smartschool.setup.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Request DTO for assigning one set of subjects to many classes
+ * Requirement: SET-05
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassSubjectBulkAssignmentRequest {
+
+    @NotEmpty(message = "At least one class must be selected")
+    private Set<Long> classIds;
+
+    @NotEmpty(message = "At least one subject must be selected")
+    private Set<Long> subjectIds;
+
+    /**
+     * When true, subjects outside the given set are removed from the classes; otherwise they are kept
+     */
+    @Builder.Default
+    private boolean replaceExisting = false;
+}
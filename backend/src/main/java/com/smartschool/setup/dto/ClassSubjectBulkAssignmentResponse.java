@@ -0,0 +1,21 @@
+package com.smartschool.setup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO summarizing a bulk subject assignment
+ * Requirement: SET-05
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassSubjectBulkAssignmentResponse {
+
+    private int classCount;
+    private int linksAdded;
+    private int linksRemoved;
+}
@@ -0,0 +1,16 @@
+package com.smartschool.setup.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of one class-subject link, used to batch-load subjects for class listings
+ * Requirement: SET-05
+ */
+public record ClassSubjectRow(
+        Long classId,
+        Long subjectId,
+        String name,
+        String code,
+        LocalDateTime createdAt
+) {
+}
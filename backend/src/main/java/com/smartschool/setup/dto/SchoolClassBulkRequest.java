@@ -0,0 +1,26 @@
+package com.smartschool.setup.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating many school classes in one call
+ * Requirement: SET-02
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchoolClassBulkRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 5000, message = "At most 5000 items can be sent in one request")
+    private List<@Valid SchoolClassRequest> items;
+}
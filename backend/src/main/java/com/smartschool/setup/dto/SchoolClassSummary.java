@@ -0,0 +1,17 @@
+package com.smartschool.setup.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a School Class with aggregated counts, used by list endpoints
+ * Requirement: SET-02
+ */
+public record SchoolClassSummary(
+        Long id,
+        String name,
+        Long sectionCount,
+        Long subjectCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
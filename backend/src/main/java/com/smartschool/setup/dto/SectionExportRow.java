@@ -0,0 +1,17 @@
+package com.smartschool.setup.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a Section with its class, used by streaming exports
+ * Requirement: SET-03
+ */
+public record SectionExportRow(
+        Long id,
+        String name,
+        Long classId,
+        String className,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
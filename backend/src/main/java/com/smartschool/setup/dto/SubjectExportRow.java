@@ -0,0 +1,15 @@
+package com.smartschool.setup.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a Subject, used by streaming exports
+ * Requirement: SET-04
+ */
+public record SubjectExportRow(
+        Long id,
+        String name,
+        String code,
+        LocalDateTime createdAt
+) {
+}
@@ -26,7 +26,8 @@ import java.time.LocalDateTime;
 public class Section {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sections_id_seq")
+    @SequenceGenerator(name = "sections_id_seq", sequenceName = "sections_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 10)
@@ -2,6 +2,8 @@ package com.smartschool.setup.mapper;
 
 import com.smartschool.setup.dto.SchoolClassRequest;
 import com.smartschool.setup.dto.SchoolClassResponse;
+import com.smartschool.setup.dto.SchoolClassSummary;
+import com.smartschool.setup.dto.SubjectResponse;
 import com.smartschool.setup.entity.SchoolClass;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -30,5 +32,8 @@ public interface SchoolClassMapper {
 
     List<SchoolClassResponse> toResponseList(List<SchoolClass> entities);
 
+    @Mapping(target = "subjects", source = "subjects")
+    SchoolClassResponse toResponse(SchoolClassSummary summary, List<SubjectResponse> subjects);
+
     void updateEntityFromRequest(SchoolClassRequest request, @MappingTarget SchoolClass entity);
 }
@@ -1,9 +1,11 @@
 package com.smartschool.setup.mapper;
 
+import com.smartschool.setup.dto.ClassSubjectRow;
 import com.smartschool.setup.dto.SubjectRequest;
 import com.smartschool.setup.dto.SubjectResponse;
 import com.smartschool.setup.entity.Subject;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
@@ -25,5 +27,8 @@ public interface SubjectMapper {
 
     List<SubjectResponse> toResponseList(List<Subject> entities);
 
+    @Mapping(target = "id", source = "subjectId")
+    SubjectResponse toResponse(ClassSubjectRow row);
+
     void updateEntityFromRequest(SubjectRequest request, @MappingTarget Subject entity);
 }
@@ -1,11 +1,13 @@
 package com.smartschool.setup.repository;
 
 import com.smartschool.setup.entity.AcademicSession;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,19 +23,21 @@ public interface AcademicSessionRepository extends JpaRepository<AcademicSession
     Optional<AcademicSession> findByIsCurrentTrue();
 
     /**
-     * Check if a session with the given name exists
+     * Set all sessions as not current
      */
-    boolean existsByName(String name);
+    @Modifying
+    @Query("UPDATE AcademicSession a SET a.isCurrent = false WHERE a.isCurrent = true")
+    void unsetAllCurrentSessions();
 
     /**
-     * Check if a session with the given name exists (excluding a specific ID)
+     * Set all sessions except the given one as not current
      */
-    boolean existsByNameAndIdNot(String name, Long id);
+    @Modifying
+    @Query("UPDATE AcademicSession a SET a.isCurrent = false WHERE a.isCurrent = true AND a.id <> :id")
+    void unsetCurrentSessionsExcept(Long id);
 
     /**
-     * Set all sessions as not current
+     * Find sessions with an ID greater than the cursor, in ID order (keyset pagination)
      */
-    @Modifying
-    @Query("UPDATE AcademicSession a SET a.isCurrent = false WHERE a.isCurrent = true")
-    void unsetAllCurrentSessions();
+    List<AcademicSession> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
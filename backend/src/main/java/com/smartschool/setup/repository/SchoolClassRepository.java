@@ -1,11 +1,24 @@
 package com.smartschool.setup.repository;
 
+import com.smartschool.common.export.StreamingExporter;
+import com.smartschool.setup.dto.ClassSubjectRow;
+import com.smartschool.setup.dto.SchoolClassSummary;
 import com.smartschool.setup.entity.SchoolClass;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for SchoolClass entity
@@ -15,18 +28,92 @@ import java.util.Optional;
 public interface SchoolClassRepository extends JpaRepository<SchoolClass, Long> {
 
     /**
-     * Check if a class with the given name exists
+     * Find a class by ID with subjects and sections eagerly loaded, so the response's section count needs no extra query
      */
-    boolean existsByName(String name);
+    @Query("SELECT c FROM SchoolClass c LEFT JOIN FETCH c.subjects LEFT JOIN FETCH c.sections WHERE c.id = :id")
+    Optional<SchoolClass> findByIdWithSubjectsAndSections(Long id);
 
     /**
-     * Check if a class with the given name exists (excluding a specific ID)
+     * List a page of classes with section and subject counts computed in the database
      */
-    boolean existsByNameAndIdNot(String name, Long id);
+    @Query(value = "SELECT new com.smartschool.setup.dto.SchoolClassSummary(c.id, c.name, " +
+            "(SELECT COUNT(s) FROM Section s WHERE s.schoolClass = c), " +
+            "(SELECT COUNT(cs) FROM SchoolClass c2 JOIN c2.subjects cs WHERE c2 = c), " +
+            "c.createdAt, c.updatedAt) " +
+            "FROM SchoolClass c",
+            countQuery = "SELECT COUNT(c) FROM SchoolClass c")
+    Page<SchoolClassSummary> findSummaries(Pageable pageable);
 
     /**
-     * Find a class by ID with subjects eagerly loaded
+     * List class summaries with an ID greater than the cursor, in ID order (keyset pagination)
      */
-    @Query("SELECT c FROM SchoolClass c LEFT JOIN FETCH c.subjects WHERE c.id = :id")
-    Optional<SchoolClass> findByIdWithSubjects(Long id);
+    @Query("SELECT new com.smartschool.setup.dto.SchoolClassSummary(c.id, c.name, " +
+            "(SELECT COUNT(s) FROM Section s WHERE s.schoolClass = c), " +
+            "(SELECT COUNT(cs) FROM SchoolClass c2 JOIN c2.subjects cs WHERE c2 = c), " +
+            "c.createdAt, c.updatedAt) " +
+            "FROM SchoolClass c WHERE c.id > :afterId ORDER BY c.id")
+    List<SchoolClassSummary> findSummariesAfter(Long afterId, Limit limit);
+
+    /**
+     * Load the subjects of many classes in a single query
+     */
+    @Query("SELECT new com.smartschool.setup.dto.ClassSubjectRow(c.id, s.id, s.name, s.code, s.createdAt) " +
+            "FROM SchoolClass c JOIN c.subjects s WHERE c.id IN :classIds ORDER BY s.name")
+    List<ClassSubjectRow> findSubjectRowsByClassIdIn(Collection<Long> classIds);
+
+    /**
+     * Find classes matching any of the given names, for set-based duplicate checks
+     */
+    List<SchoolClass> findByNameIn(Collection<String> names);
+
+    /**
+     * Count how many of the given classes exist
+     */
+    @Query("SELECT COUNT(c) FROM SchoolClass c WHERE c.id IN :classIds")
+    long countByIdIn(Collection<Long> classIds);
+
+    /**
+     * Link every given class to every given subject, skipping links that already exist
+     */
+    @Modifying
+    @Query(value = "INSERT INTO class_subjects (class_id, subject_id) " +
+            "SELECT c.id, s.id FROM classes c CROSS JOIN subjects s " +
+            "WHERE c.id IN (:classIds) AND s.id IN (:subjectIds) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertMissingClassSubjects(Collection<Long> classIds, Collection<Long> subjectIds);
+
+    /**
+     * Unlink the given classes from every subject outside the given set
+     */
+    @Modifying
+    @Query(value = "DELETE FROM class_subjects " +
+            "WHERE class_id IN (:classIds) AND subject_id NOT IN (:subjectIds)", nativeQuery = true)
+    int deleteClassSubjectsNotIn(Collection<Long> classIds, Collection<Long> subjectIds);
+
+    /**
+     * Unlink the given subjects from a class
+     */
+    @Modifying
+    @Query(value = "DELETE FROM class_subjects " +
+            "WHERE class_id = :classId AND subject_id IN (:subjectIds)", nativeQuery = true)
+    int deleteClassSubjects(Long classId, Collection<Long> subjectIds);
+
+    /**
+     * Stream every class summary in ID order for export
+     */
+    @Query("SELECT new com.smartschool.setup.dto.SchoolClassSummary(c.id, c.name, " +
+            "(SELECT COUNT(s) FROM Section s WHERE s.schoolClass = c), " +
+            "(SELECT COUNT(cs) FROM SchoolClass c2 JOIN c2.subjects cs WHERE c2 = c), " +
+            "c.createdAt, c.updatedAt) " +
+            "FROM SchoolClass c ORDER BY c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingExporter.FETCH_SIZE))
+    Stream<SchoolClassSummary> streamAllSummaries();
+
+    /**
+     * Stream every class-subject link for export
+     */
+    @Query("SELECT new com.smartschool.setup.dto.ClassSubjectRow(c.id, s.id, s.name, s.code, s.createdAt) " +
+            "FROM SchoolClass c JOIN c.subjects s ORDER BY c.id, s.name")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingExporter.FETCH_SIZE))
+    Stream<ClassSubjectRow> streamAllSubjectRows();
 }
@@ -1,11 +1,22 @@
 package com.smartschool.setup.repository;
 
+import com.smartschool.common.export.StreamingExporter;
+import com.smartschool.setup.dto.SectionExportRow;
 import com.smartschool.setup.entity.Section;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Section entity
@@ -21,14 +32,41 @@ public interface SectionRepository extends JpaRepository<Section, Long> {
     List<Section> findBySchoolClassId(Long classId);
 
     /**
-     * Check if a section with the given name exists for a specific class
+     * Find a page of sections with their class loaded in the same query
      */
-    @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Section s WHERE s.schoolClass.id = :classId AND s.name = :name")
-    boolean existsBySchoolClassIdAndName(Long classId, String name);
+    @Query(value = "SELECT s FROM Section s JOIN FETCH s.schoolClass",
+            countQuery = "SELECT COUNT(s) FROM Section s")
+    Page<Section> findAllWithClass(Pageable pageable);
 
     /**
-     * Check if a section with the given name exists for a specific class (excluding a specific ID)
+     * Find sections with an ID greater than the cursor, with their class, in ID order (keyset pagination)
      */
-    @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Section s WHERE s.schoolClass.id = :classId AND s.name = :name AND s.id != :id")
-    boolean existsBySchoolClassIdAndNameAndIdNot(Long classId, String name, Long id);
+    @Query("SELECT s FROM Section s JOIN FETCH s.schoolClass WHERE s.id > :afterId ORDER BY s.id")
+    List<Section> findAllWithClassAfter(Long afterId, Limit limit);
+
+    /**
+     * Find all sections for a specific class with the class loaded in the same query
+     */
+    @Query("SELECT s FROM Section s JOIN FETCH s.schoolClass c WHERE c.id = :classId ORDER BY s.name")
+    List<Section> findBySchoolClassIdWithClass(Long classId);
+
+    /**
+     * Find a section by ID with its class loaded in the same query
+     */
+    @Query("SELECT s FROM Section s JOIN FETCH s.schoolClass WHERE s.id = :id")
+    Optional<Section> findByIdWithClass(Long id);
+
+    /**
+     * Find all sections of the given classes, for set-based duplicate checks
+     */
+    @Query("SELECT s FROM Section s WHERE s.schoolClass.id IN :classIds")
+    List<Section> findBySchoolClassIdIn(Collection<Long> classIds);
+
+    /**
+     * Stream every section with its class name in ID order for export
+     */
+    @Query("SELECT new com.smartschool.setup.dto.SectionExportRow(s.id, s.name, c.id, c.name, s.createdAt, s.updatedAt) " +
+            "FROM Section s JOIN s.schoolClass c ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingExporter.FETCH_SIZE))
+    Stream<SectionExportRow> streamAllForExport();
 }
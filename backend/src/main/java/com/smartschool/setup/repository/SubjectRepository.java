@@ -1,11 +1,20 @@
 package com.smartschool.setup.repository;
 
+import com.smartschool.common.export.StreamingExporter;
+import com.smartschool.setup.dto.SubjectExportRow;
 import com.smartschool.setup.entity.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository for Subject entity
@@ -15,27 +24,36 @@ import java.util.Set;
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
     /**
-     * Check if a subject with the given name exists
+     * Find all subjects by their IDs
      */
-    boolean existsByName(String name);
+    List<Subject> findByIdIn(Set<Long> ids);
 
     /**
-     * Check if a subject with the given name exists (excluding a specific ID)
+     * Find subjects with an ID greater than the cursor, in ID order (keyset pagination)
      */
-    boolean existsByNameAndIdNot(String name, Long id);
+    List<Subject> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 
     /**
-     * Check if a subject with the given code exists
+     * Find subjects matching any of the given names, for set-based duplicate checks
      */
-    boolean existsByCode(String code);
+    List<Subject> findByNameIn(Collection<String> names);
 
     /**
-     * Check if a subject with the given code exists (excluding a specific ID)
+     * Find subjects matching any of the given names or codes, for set-based duplicate checks
      */
-    boolean existsByCodeAndIdNot(String code, Long id);
+    List<Subject> findByNameInOrCodeIn(Collection<String> names, Collection<String> codes);
 
     /**
-     * Find all subjects by their IDs
+     * Count how many of the given subjects exist
      */
-    List<Subject> findByIdIn(Set<Long> ids);
+    @Query("SELECT COUNT(s) FROM Subject s WHERE s.id IN :ids")
+    long countByIdIn(Collection<Long> ids);
+
+    /**
+     * Stream every subject in ID order for export
+     */
+    @Query("SELECT new com.smartschool.setup.dto.SubjectExportRow(s.id, s.name, s.code, s.createdAt) " +
+            "FROM Subject s ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingExporter.FETCH_SIZE))
+    Stream<SubjectExportRow> streamAllForExport();
 }
@@ -1,5 +1,9 @@
 package com.smartschool.setup.service;
 
+import com.smartschool.common.pagination.CursorPage;
+import com.smartschool.common.pagination.PageRequests;
+import com.smartschool.config.CacheConfig;
+import com.smartschool.exception.DataIntegrityViolations;
 import com.smartschool.exception.DuplicateResourceException;
 import com.smartschool.exception.InvalidOperationException;
 import com.smartschool.exception.ResourceNotFoundException;
@@ -10,6 +14,12 @@ import com.smartschool.setup.mapper.AcademicSessionMapper;
 import com.smartschool.setup.repository.AcademicSessionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,21 +34,23 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AcademicSessionService {
 
+    /**
+     * Unique constraint on session names (V1__Create_initial_tables.sql)
+     */
+    private static final String NAME_CONSTRAINT = "academic_sessions_name_key";
+
     private final AcademicSessionRepository academicSessionRepository;
     private final AcademicSessionMapper academicSessionMapper;
+    private final CurrentAcademicSessionHolder currentSessionHolder;
 
     /**
      * Create a new academic session
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACADEMIC_SESSIONS, allEntries = true)
     public AcademicSessionResponse createSession(AcademicSessionRequest request) {
         log.info("Creating new academic session: {}", request.getName());
 
-        // Check for duplicate name
-        if (academicSessionRepository.existsByName(request.getName())) {
-            throw new DuplicateResourceException("Academic Session", "name", request.getName());
-        }
-
         // Validate dates
         if (request.getEndDate().isBefore(request.getStartDate())) {
             throw new InvalidOperationException("End date cannot be before start date");
@@ -50,26 +62,51 @@ public class AcademicSessionService {
         }
 
         AcademicSession session = academicSessionMapper.toEntity(request);
-        AcademicSession savedSession = academicSessionRepository.save(session);
+
+        // Duplicate names are rejected by the unique constraint
+        AcademicSession savedSession;
+        try {
+            savedSession = academicSessionRepository.saveAndFlush(session);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDuplicate(ex, request);
+        }
+        AcademicSessionResponse response = academicSessionMapper.toResponse(savedSession);
+
+        if (Boolean.TRUE.equals(savedSession.getIsCurrent())) {
+            currentSessionHolder.replaceAfterCommit(response);
+        }
 
         log.info("Academic session created successfully with ID: {}", savedSession.getId());
-        return academicSessionMapper.toResponse(savedSession);
+        return response;
     }
 
     /**
-     * Get all academic sessions
+     * Get a page of academic sessions
      */
     @Transactional(readOnly = true)
-    public List<AcademicSessionResponse> getAllSessions() {
-        log.info("Fetching all academic sessions");
-        List<AcademicSession> sessions = academicSessionRepository.findAll();
-        return academicSessionMapper.toResponseList(sessions);
+    @Cacheable(cacheNames = CacheConfig.ACADEMIC_SESSIONS, key = "'page:' + #pageable", sync = true)
+    public Page<AcademicSessionResponse> getSessions(Pageable pageable) {
+        log.info("Fetching academic sessions page: {}", pageable);
+        return academicSessionRepository.findAll(PageRequests.withStableOrder(pageable))
+                .map(academicSessionMapper::toResponse);
+    }
+
+    /**
+     * Get the academic sessions that follow the given cursor
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACADEMIC_SESSIONS, key = "'after:' + #afterId + ':' + #size", sync = true)
+    public CursorPage<AcademicSessionResponse> getSessionsAfter(Long afterId, int size) {
+        log.info("Fetching {} academic sessions after ID: {}", size, afterId);
+        List<AcademicSession> sessions = academicSessionRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        return CursorPage.of(sessions, size, AcademicSession::getId).map(academicSessionMapper::toResponse);
     }
 
     /**
      * Get academic session by ID
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACADEMIC_SESSIONS, key = "'id:' + #id", sync = true)
     public AcademicSessionResponse getSessionById(Long id) {
         log.info("Fetching academic session with ID: {}", id);
         AcademicSession session = findSessionByIdOrThrow(id);
@@ -77,71 +114,83 @@ public class AcademicSessionService {
     }
 
     /**
-     * Get the current academic session
+     * Get the current academic session (served from memory)
      */
-    @Transactional(readOnly = true)
     public AcademicSessionResponse getCurrentSession() {
-        log.info("Fetching current academic session");
-        AcademicSession session = academicSessionRepository.findByIsCurrentTrue()
-                .orElseThrow(() -> new ResourceNotFoundException("No current academic session is set"));
-        return academicSessionMapper.toResponse(session);
+        return currentSessionHolder.getCurrentSessionOrThrow();
     }
 
     /**
      * Update an academic session
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACADEMIC_SESSIONS, allEntries = true)
     public AcademicSessionResponse updateSession(Long id, AcademicSessionRequest request) {
         log.info("Updating academic session with ID: {}", id);
 
         AcademicSession session = findSessionByIdOrThrow(id);
 
-        // Check for duplicate name (excluding current session)
-        if (academicSessionRepository.existsByNameAndIdNot(request.getName(), id)) {
-            throw new DuplicateResourceException("Academic Session", "name", request.getName());
-        }
-
         // Validate dates
         if (request.getEndDate().isBefore(request.getStartDate())) {
             throw new InvalidOperationException("End date cannot be before start date");
         }
 
+        boolean wasCurrent = Boolean.TRUE.equals(session.getIsCurrent());
+
         // If this session should be current, unset all other current sessions
         if (Boolean.TRUE.equals(request.getIsCurrent())) {
-            academicSessionRepository.unsetAllCurrentSessions();
+            academicSessionRepository.unsetCurrentSessionsExcept(id);
         }
 
         academicSessionMapper.updateEntityFromRequest(request, session);
-        AcademicSession updatedSession = academicSessionRepository.save(session);
+
+        // Duplicate names are rejected by the unique constraint
+        AcademicSession updatedSession;
+        try {
+            updatedSession = academicSessionRepository.saveAndFlush(session);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDuplicate(ex, request);
+        }
+        AcademicSessionResponse response = academicSessionMapper.toResponse(updatedSession);
+
+        if (Boolean.TRUE.equals(updatedSession.getIsCurrent())) {
+            currentSessionHolder.replaceAfterCommit(response);
+        } else if (wasCurrent) {
+            currentSessionHolder.replaceAfterCommit(null);
+        }
 
         log.info("Academic session updated successfully with ID: {}", updatedSession.getId());
-        return academicSessionMapper.toResponse(updatedSession);
+        return response;
     }
 
     /**
      * Set a session as the current session
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACADEMIC_SESSIONS, allEntries = true)
     public AcademicSessionResponse setCurrentSession(Long id) {
         log.info("Setting academic session {} as current", id);
 
         AcademicSession session = findSessionByIdOrThrow(id);
 
         // Unset all other current sessions
-        academicSessionRepository.unsetAllCurrentSessions();
+        academicSessionRepository.unsetCurrentSessionsExcept(id);
 
         // Set this session as current
         session.setIsCurrent(true);
         AcademicSession updatedSession = academicSessionRepository.save(session);
+        AcademicSessionResponse response = academicSessionMapper.toResponse(updatedSession);
+        currentSessionHolder.replaceAfterCommit(response);
 
         log.info("Academic session {} set as current successfully", id);
-        return academicSessionMapper.toResponse(updatedSession);
+        return response;
     }
 
     /**
      * Delete an academic session
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACADEMIC_SESSIONS, allEntries = true)
     public void deleteSession(Long id) {
         log.info("Deleting academic session with ID: {}", id);
 
@@ -155,6 +204,16 @@ public class AcademicSessionService {
         log.info("Academic session deleted successfully with ID: {}", id);
     }
 
+    /**
+     * Translate a unique constraint violation into a duplicate error naming the conflicting field
+     */
+    private RuntimeException translateDuplicate(DataIntegrityViolationException ex, AcademicSessionRequest request) {
+        if (NAME_CONSTRAINT.equals(DataIntegrityViolations.constraintName(ex).orElse(null))) {
+            return new DuplicateResourceException("Academic Session", "name", request.getName());
+        }
+        return ex;
+    }
+
     /**
      * Helper method to find session by ID or throw exception
      */
@@ -0,0 +1,10 @@
+package com.smartschool.setup.service;
+
+import com.smartschool.setup.dto.AcademicSessionResponse;
+
+/**
+ * Published after the current academic session snapshot has been replaced.
+ * The session is null when no session is current any more.
+ */
+public record CurrentAcademicSessionChangedEvent(AcademicSessionResponse session) {
+}
@@ -0,0 +1,94 @@
+package com.smartschool.setup.service;
+
+import com.smartschool.exception.ResourceNotFoundException;
+import com.smartschool.setup.dto.AcademicSessionResponse;
+import com.smartschool.setup.mapper.AcademicSessionMapper;
+import com.smartschool.setup.repository.AcademicSessionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory snapshot of the current academic session.
+ * Loaded at startup and swapped after any transaction that changes the current flag commits,
+ * so session-scoped modules (attendance, marks, fees, enrollment) can read it without a query.
+ * Each swap publishes a {@link CurrentAcademicSessionChangedEvent} for components that cache per-session data.
+ * The returned response is shared between callers and must be treated as read-only.
+ * Requirement: SET-01
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CurrentAcademicSessionHolder {
+
+    private final AcademicSessionRepository academicSessionRepository;
+    private final AcademicSessionMapper academicSessionMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<AcademicSessionResponse> currentSession = new AtomicReference<>();
+
+    /**
+     * Load the current session from the database
+     */
+    @PostConstruct
+    public void reload() {
+        AcademicSessionResponse session = academicSessionRepository.findByIsCurrentTrue()
+                .map(academicSessionMapper::toResponse)
+                .orElse(null);
+        currentSession.set(session);
+        log.info("Current academic session: {}", session != null ? session.getName() : "none");
+    }
+
+    /**
+     * Swap in a new snapshot once the surrounding transaction commits, or immediately when there is none.
+     * A null session means no session is current any more.
+     */
+    public void replaceAfterCommit(AcademicSessionResponse session) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            replace(session);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                replace(session);
+            }
+        });
+    }
+
+    private void replace(AcademicSessionResponse session) {
+        currentSession.set(session);
+        log.info("Current academic session changed to: {}", session != null ? session.getName() : "none");
+        eventPublisher.publishEvent(new CurrentAcademicSessionChangedEvent(session));
+    }
+
+    /**
+     * Get the current academic session, if one is set
+     */
+    public Optional<AcademicSessionResponse> getCurrentSession() {
+        return Optional.ofNullable(currentSession.get());
+    }
+
+    /**
+     * Get the current academic session or throw when none is set
+     */
+    public AcademicSessionResponse getCurrentSessionOrThrow() {
+        return getCurrentSession()
+                .orElseThrow(() -> new ResourceNotFoundException("No current academic session is set"));
+    }
+
+    /**
+     * Get the ID of the current academic session or throw when none is set
+     */
+    public Long getCurrentSessionId() {
+        return getCurrentSessionOrThrow().getId();
+    }
+}
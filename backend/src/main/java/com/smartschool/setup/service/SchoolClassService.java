@@ -1,23 +1,45 @@
 package com.smartschool.setup.service;
 
+import com.smartschool.common.bulk.BulkResponse;
+import com.smartschool.common.bulk.BulkRowResult;
+import com.smartschool.common.bulk.BulkRowStatus;
+import com.smartschool.common.pagination.CursorPage;
+import com.smartschool.common.pagination.PageRequests;
+import com.smartschool.config.CacheConfig;
+import com.smartschool.exception.DataIntegrityViolations;
 import com.smartschool.exception.DuplicateResourceException;
 import com.smartschool.exception.ResourceNotFoundException;
 import com.smartschool.setup.dto.ClassSubjectAssignmentRequest;
+import com.smartschool.setup.dto.ClassSubjectBulkAssignmentRequest;
+import com.smartschool.setup.dto.ClassSubjectBulkAssignmentResponse;
+import com.smartschool.setup.dto.ClassSubjectRow;
 import com.smartschool.setup.dto.SchoolClassRequest;
 import com.smartschool.setup.dto.SchoolClassResponse;
+import com.smartschool.setup.dto.SchoolClassSummary;
+import com.smartschool.setup.dto.SubjectResponse;
 import com.smartschool.setup.entity.SchoolClass;
-import com.smartschool.setup.entity.Subject;
 import com.smartschool.setup.mapper.SchoolClassMapper;
+import com.smartschool.setup.mapper.SubjectMapper;
 import com.smartschool.setup.repository.SchoolClassRepository;
 import com.smartschool.setup.repository.SubjectRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing School Classes
@@ -28,43 +50,105 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class SchoolClassService {
 
+    /**
+     * Unique index on class names (V6__Add_class_name_unique_index.sql)
+     */
+    private static final String NAME_CONSTRAINT = "uq_classes_name";
+
     private final SchoolClassRepository schoolClassRepository;
     private final SubjectRepository subjectRepository;
     private final SchoolClassMapper schoolClassMapper;
+    private final SubjectMapper subjectMapper;
 
     /**
      * Create a new school class
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SCHOOL_CLASSES, allEntries = true)
     public SchoolClassResponse createClass(SchoolClassRequest request) {
         log.info("Creating new school class: {}", request.getName());
 
-        // Check for duplicate name
-        if (schoolClassRepository.existsByName(request.getName())) {
-            throw new DuplicateResourceException("School Class", "name", request.getName());
-        }
-
         SchoolClass schoolClass = schoolClassMapper.toEntity(request);
-        SchoolClass savedClass = schoolClassRepository.save(schoolClass);
+
+        // Duplicate names are rejected by the unique index
+        SchoolClass savedClass;
+        try {
+            savedClass = schoolClassRepository.saveAndFlush(schoolClass);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDuplicate(ex, request);
+        }
 
         log.info("School class created successfully with ID: {}", savedClass.getId());
         return schoolClassMapper.toResponse(savedClass);
     }
 
     /**
-     * Get all school classes
+     * Create many school classes in one transaction.
+     * Names that already exist are reported as existing; new rows are inserted through JDBC batching.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SCHOOL_CLASSES, allEntries = true)
+    public BulkResponse bulkCreateClasses(List<SchoolClassRequest> requests) {
+        log.info("Bulk creating {} school classes", requests.size());
+
+        Set<String> names = requests.stream().map(SchoolClassRequest::getName).collect(Collectors.toSet());
+        Map<String, Long> existingIds = schoolClassRepository.findByNameIn(names).stream()
+                .collect(Collectors.toMap(SchoolClass::getName, SchoolClass::getId, (first, second) -> first));
+
+        BulkRowResult[] results = new BulkRowResult[requests.size()];
+        Map<Integer, SchoolClass> created = new LinkedHashMap<>();
+        Set<String> batchNames = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            SchoolClassRequest request = requests.get(i);
+
+            if (!batchNames.add(request.getName())) {
+                results[i] = BulkRowResult.rejected(i, BulkRowStatus.DUPLICATE, "Name repeated within the batch");
+            } else if (existingIds.containsKey(request.getName())) {
+                results[i] = BulkRowResult.of(i, BulkRowStatus.EXISTING, existingIds.get(request.getName()));
+            } else {
+                created.put(i, schoolClassMapper.toEntity(request));
+            }
+        }
+
+        schoolClassRepository.saveAll(created.values());
+        created.forEach((index, schoolClass) ->
+                results[index] = BulkRowResult.of(index, BulkRowStatus.CREATED, schoolClass.getId()));
+
+        BulkResponse response = BulkResponse.of(results);
+        log.info("Bulk school class create finished: {} created, {} existing, {} rejected",
+                response.created(), response.existing(), response.rejected());
+        return response;
+    }
+
+    /**
+     * Get a page of school classes
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SCHOOL_CLASSES, key = "'page:' + #pageable", sync = true)
+    public Page<SchoolClassResponse> getClasses(Pageable pageable) {
+        log.info("Fetching school classes page: {}", pageable);
+        Page<SchoolClassSummary> summaries = schoolClassRepository.findSummaries(PageRequests.withStableOrder(pageable));
+        return new PageImpl<>(toResponses(summaries.getContent()), summaries.getPageable(), summaries.getTotalElements());
+    }
+
+    /**
+     * Get the school classes that follow the given cursor
      */
     @Transactional(readOnly = true)
-    public List<SchoolClassResponse> getAllClasses() {
-        log.info("Fetching all school classes");
-        List<SchoolClass> classes = schoolClassRepository.findAll();
-        return schoolClassMapper.toResponseList(classes);
+    @Cacheable(cacheNames = CacheConfig.SCHOOL_CLASSES, key = "'after:' + #afterId + ':' + #size", sync = true)
+    public CursorPage<SchoolClassResponse> getClassesAfter(Long afterId, int size) {
+        log.info("Fetching {} school classes after ID: {}", size, afterId);
+        List<SchoolClassSummary> summaries = schoolClassRepository.findSummariesAfter(afterId, Limit.of(size + 1));
+        CursorPage<SchoolClassSummary> page = CursorPage.of(summaries, size, SchoolClassSummary::id);
+        return new CursorPage<>(toResponses(page.content()), page.nextCursor());
     }
 
     /**
      * Get school class by ID
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SCHOOL_CLASSES, key = "'id:' + #id", sync = true)
     public SchoolClassResponse getClassById(Long id) {
         log.info("Fetching school class with ID: {}", id);
         SchoolClass schoolClass = findClassByIdOrThrow(id);
@@ -75,9 +159,10 @@ public class SchoolClassService {
      * Get school class by ID with subjects
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SCHOOL_CLASSES, key = "'withSubjects:' + #id", sync = true)
     public SchoolClassResponse getClassByIdWithSubjects(Long id) {
         log.info("Fetching school class with ID and subjects: {}", id);
-        SchoolClass schoolClass = schoolClassRepository.findByIdWithSubjects(id)
+        SchoolClass schoolClass = schoolClassRepository.findByIdWithSubjectsAndSections(id)
                 .orElseThrow(() -> new ResourceNotFoundException("School Class", "id", id));
         return schoolClassMapper.toResponse(schoolClass);
     }
@@ -86,18 +171,21 @@ public class SchoolClassService {
      * Update a school class
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.SCHOOL_CLASSES, CacheConfig.SECTIONS}, allEntries = true)
     public SchoolClassResponse updateClass(Long id, SchoolClassRequest request) {
         log.info("Updating school class with ID: {}", id);
 
         SchoolClass schoolClass = findClassByIdOrThrow(id);
 
-        // Check for duplicate name (excluding current class)
-        if (schoolClassRepository.existsByNameAndIdNot(request.getName(), id)) {
-            throw new DuplicateResourceException("School Class", "name", request.getName());
-        }
-
         schoolClassMapper.updateEntityFromRequest(request, schoolClass);
-        SchoolClass updatedClass = schoolClassRepository.save(schoolClass);
+
+        // Duplicate names are rejected by the unique index
+        SchoolClass updatedClass;
+        try {
+            updatedClass = schoolClassRepository.saveAndFlush(schoolClass);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDuplicate(ex, request);
+        }
 
         log.info("School class updated successfully with ID: {}", updatedClass.getId());
         return schoolClassMapper.toResponse(updatedClass);
@@ -107,6 +195,7 @@ public class SchoolClassService {
      * Delete a school class
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.SCHOOL_CLASSES, CacheConfig.SECTIONS}, allEntries = true)
     public void deleteClass(Long id) {
         log.info("Deleting school class with ID: {}", id);
 
@@ -117,46 +206,123 @@ public class SchoolClassService {
     }
 
     /**
-     * Assign subjects to a class (SET-05)
+     * Assign subjects to a class (SET-05).
+     * Replaces the class's subject set by inserting only the missing links and deleting only the removed ones.
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SCHOOL_CLASSES, allEntries = true)
     public SchoolClassResponse assignSubjectsToClass(ClassSubjectAssignmentRequest request) {
         log.info("Assigning {} subjects to class ID: {}", request.getSubjectIds().size(), request.getClassId());
 
-        SchoolClass schoolClass = schoolClassRepository.findByIdWithSubjects(request.getClassId())
-                .orElseThrow(() -> new ResourceNotFoundException("School Class", "id", request.getClassId()));
+        if (!schoolClassRepository.existsById(request.getClassId())) {
+            throw new ResourceNotFoundException("School Class", "id", request.getClassId());
+        }
+        validateSubjectIds(request.getSubjectIds());
 
-        // Fetch all subjects
-        List<Subject> subjects = subjectRepository.findByIdIn(request.getSubjectIds());
+        Set<Long> classIds = Set.of(request.getClassId());
+        int removed = schoolClassRepository.deleteClassSubjectsNotIn(classIds, request.getSubjectIds());
+        int added = schoolClassRepository.insertMissingClassSubjects(classIds, request.getSubjectIds());
 
-        if (subjects.size() != request.getSubjectIds().size()) {
-            throw new ResourceNotFoundException("One or more subjects not found");
+        log.info("Subjects assigned successfully to class ID: {} ({} added, {} removed)",
+                request.getClassId(), added, removed);
+        return getClassWithSubjectsOrThrow(request.getClassId());
+    }
+
+    /**
+     * Assign one set of subjects to many classes in a fixed number of statements
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SCHOOL_CLASSES, allEntries = true)
+    public ClassSubjectBulkAssignmentResponse assignSubjectsToClasses(ClassSubjectBulkAssignmentRequest request) {
+        log.info("Assigning {} subjects to {} classes", request.getSubjectIds().size(), request.getClassIds().size());
+
+        if (schoolClassRepository.countByIdIn(request.getClassIds()) != request.getClassIds().size()) {
+            throw new ResourceNotFoundException("One or more classes not found");
         }
+        validateSubjectIds(request.getSubjectIds());
 
-        // Assign subjects to class
-        schoolClass.setSubjects(new HashSet<>(subjects));
-        SchoolClass updatedClass = schoolClassRepository.save(schoolClass);
+        int removed = request.isReplaceExisting()
+                ? schoolClassRepository.deleteClassSubjectsNotIn(request.getClassIds(), request.getSubjectIds())
+                : 0;
+        int added = schoolClassRepository.insertMissingClassSubjects(request.getClassIds(), request.getSubjectIds());
 
-        log.info("Subjects assigned successfully to class ID: {}", request.getClassId());
-        return schoolClassMapper.toResponse(updatedClass);
+        log.info("Subjects assigned successfully to {} classes ({} added, {} removed)",
+                request.getClassIds().size(), added, removed);
+        return ClassSubjectBulkAssignmentResponse.builder()
+                .classCount(request.getClassIds().size())
+                .linksAdded(added)
+                .linksRemoved(removed)
+                .build();
     }
 
     /**
-     * Remove subjects from a class
+     * Remove subjects from a class, deleting only the affected links
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SCHOOL_CLASSES, allEntries = true)
     public SchoolClassResponse removeSubjectsFromClass(Long classId, Set<Long> subjectIds) {
         log.info("Removing {} subjects from class ID: {}", subjectIds.size(), classId);
 
-        SchoolClass schoolClass = schoolClassRepository.findByIdWithSubjects(classId)
-                .orElseThrow(() -> new ResourceNotFoundException("School Class", "id", classId));
+        if (!schoolClassRepository.existsById(classId)) {
+            throw new ResourceNotFoundException("School Class", "id", classId);
+        }
 
-        // Remove subjects
-        schoolClass.getSubjects().removeIf(subject -> subjectIds.contains(subject.getId()));
-        SchoolClass updatedClass = schoolClassRepository.save(schoolClass);
+        if (!subjectIds.isEmpty()) {
+            schoolClassRepository.deleteClassSubjects(classId, subjectIds);
+        }
 
         log.info("Subjects removed successfully from class ID: {}", classId);
-        return schoolClassMapper.toResponse(updatedClass);
+        return getClassWithSubjectsOrThrow(classId);
+    }
+
+    /**
+     * Build list responses from summaries with one batched query for all their subjects
+     */
+    private List<SchoolClassResponse> toResponses(List<SchoolClassSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> classIds = summaries.stream().map(SchoolClassSummary::id).toList();
+        Map<Long, List<SubjectResponse>> subjectsByClass = schoolClassRepository.findSubjectRowsByClassIdIn(classIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        ClassSubjectRow::classId,
+                        Collectors.mapping(subjectMapper::toResponse, Collectors.toList())
+                ));
+
+        return summaries.stream()
+                .map(summary -> schoolClassMapper.toResponse(
+                        summary, subjectsByClass.getOrDefault(summary.id(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Translate a unique constraint violation into a duplicate error naming the conflicting field
+     */
+    private RuntimeException translateDuplicate(DataIntegrityViolationException ex, SchoolClassRequest request) {
+        if (NAME_CONSTRAINT.equals(DataIntegrityViolations.constraintName(ex).orElse(null))) {
+            return new DuplicateResourceException("School Class", "name", request.getName());
+        }
+        return ex;
+    }
+
+    /**
+     * Check with a single COUNT query that every subject ID exists
+     */
+    private void validateSubjectIds(Set<Long> subjectIds) {
+        if (subjectRepository.countByIdIn(subjectIds) != subjectIds.size()) {
+            throw new ResourceNotFoundException("One or more subjects not found");
+        }
+    }
+
+    /**
+     * Load a class with its current subjects after the join rows were changed by SQL
+     */
+    private SchoolClassResponse getClassWithSubjectsOrThrow(Long id) {
+        SchoolClass schoolClass = schoolClassRepository.findByIdWithSubjectsAndSections(id)
+                .orElseThrow(() -> new ResourceNotFoundException("School Class", "id", id));
+        return schoolClassMapper.toResponse(schoolClass);
     }
 
     /**
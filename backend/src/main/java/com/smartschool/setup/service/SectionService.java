@@ -1,5 +1,12 @@
 package com.smartschool.setup.service;
 
+import com.smartschool.common.bulk.BulkResponse;
+import com.smartschool.common.bulk.BulkRowResult;
+import com.smartschool.common.bulk.BulkRowStatus;
+import com.smartschool.common.pagination.CursorPage;
+import com.smartschool.common.pagination.PageRequests;
+import com.smartschool.config.CacheConfig;
+import com.smartschool.exception.DataIntegrityViolations;
 import com.smartschool.exception.DuplicateResourceException;
 import com.smartschool.exception.ResourceNotFoundException;
 import com.smartschool.setup.dto.SectionRequest;
@@ -11,10 +18,22 @@ import com.smartschool.setup.repository.SchoolClassRepository;
 import com.smartschool.setup.repository.SectionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing Sections
@@ -25,6 +44,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SectionService {
 
+    /**
+     * Unique constraint on (class_id, name) (V1__Create_initial_tables.sql)
+     */
+    private static final String CLASS_NAME_CONSTRAINT = "sections_class_id_name_key";
+
     private final SectionRepository sectionRepository;
     private final SchoolClassRepository schoolClassRepository;
     private final SectionMapper sectionMapper;
@@ -33,49 +57,114 @@ public class SectionService {
      * Create a new section
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.SECTIONS, CacheConfig.SCHOOL_CLASSES}, allEntries = true)
     public SectionResponse createSection(SectionRequest request) {
         log.info("Creating new section: {} for class ID: {}", request.getName(), request.getClassId());
 
         // Verify class exists
         SchoolClass schoolClass = findClassByIdOrThrow(request.getClassId());
 
-        // Check for duplicate section name within the class
-        if (sectionRepository.existsBySchoolClassIdAndName(request.getClassId(), request.getName())) {
-            throw new DuplicateResourceException(
-                    String.format("Section '%s' already exists for class '%s'", request.getName(), schoolClass.getName())
-            );
-        }
-
         Section section = sectionMapper.toEntity(request);
         section.setSchoolClass(schoolClass);
 
-        Section savedSection = sectionRepository.save(section);
+        // Duplicate section names within the class are rejected by the unique constraint
+        Section savedSection;
+        try {
+            savedSection = sectionRepository.saveAndFlush(section);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDuplicate(ex, request, schoolClass);
+        }
 
         log.info("Section created successfully with ID: {}", savedSection.getId());
         return sectionMapper.toResponse(savedSection);
     }
 
     /**
-     * Get all sections
+     * Create many sections in one transaction.
+     * Classes and existing sections are loaded with one query each; new rows are inserted through JDBC batching.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.SECTIONS, CacheConfig.SCHOOL_CLASSES}, allEntries = true)
+    public BulkResponse bulkCreateSections(List<SectionRequest> requests) {
+        log.info("Bulk creating {} sections", requests.size());
+
+        Set<Long> classIds = requests.stream().map(SectionRequest::getClassId).collect(Collectors.toSet());
+        Map<Long, SchoolClass> classesById = schoolClassRepository.findAllById(classIds).stream()
+                .collect(Collectors.toMap(SchoolClass::getId, Function.identity()));
+        Map<String, Long> existingIds = sectionRepository.findBySchoolClassIdIn(classIds).stream()
+                .collect(Collectors.toMap(
+                        section -> sectionKey(section.getSchoolClass().getId(), section.getName()),
+                        Section::getId));
+
+        BulkRowResult[] results = new BulkRowResult[requests.size()];
+        Map<Integer, Section> created = new LinkedHashMap<>();
+        Set<String> batchKeys = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            SectionRequest request = requests.get(i);
+            String key = sectionKey(request.getClassId(), request.getName());
+            SchoolClass schoolClass = classesById.get(request.getClassId());
+
+            if (schoolClass == null) {
+                results[i] = BulkRowResult.rejected(i, BulkRowStatus.INVALID,
+                        String.format("School Class not found with id: '%s'", request.getClassId()));
+            } else if (!batchKeys.add(key)) {
+                results[i] = BulkRowResult.rejected(i, BulkRowStatus.DUPLICATE, "Section repeated within the batch");
+            } else if (existingIds.containsKey(key)) {
+                results[i] = BulkRowResult.of(i, BulkRowStatus.EXISTING, existingIds.get(key));
+            } else {
+                Section section = sectionMapper.toEntity(request);
+                section.setSchoolClass(schoolClass);
+                created.put(i, section);
+            }
+        }
+
+        sectionRepository.saveAll(created.values());
+        created.forEach((index, section) -> results[index] = BulkRowResult.of(index, BulkRowStatus.CREATED, section.getId()));
+
+        BulkResponse response = BulkResponse.of(results);
+        log.info("Bulk section create finished: {} created, {} existing, {} rejected",
+                response.created(), response.existing(), response.rejected());
+        return response;
+    }
+
+    /**
+     * Get a page of sections
      */
     @Transactional(readOnly = true)
-    public List<SectionResponse> getAllSections() {
-        log.info("Fetching all sections");
-        List<Section> sections = sectionRepository.findAll();
-        return sectionMapper.toResponseList(sections);
+    @Cacheable(cacheNames = CacheConfig.SECTIONS, key = "'page:' + #pageable", sync = true)
+    public Page<SectionResponse> getSections(Pageable pageable) {
+        log.info("Fetching sections page: {}", pageable);
+        return sectionRepository.findAllWithClass(PageRequests.withStableOrder(pageable))
+                .map(sectionMapper::toResponse);
+    }
+
+    /**
+     * Get the sections that follow the given cursor
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SECTIONS, key = "'after:' + #afterId + ':' + #size", sync = true)
+    public CursorPage<SectionResponse> getSectionsAfter(Long afterId, int size) {
+        log.info("Fetching {} sections after ID: {}", size, afterId);
+        List<Section> sections = sectionRepository.findAllWithClassAfter(afterId, Limit.of(size + 1));
+        return CursorPage.of(sections, size, Section::getId).map(sectionMapper::toResponse);
     }
 
     /**
      * Get all sections for a specific class
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SECTIONS, key = "'class:' + #classId", sync = true)
     public List<SectionResponse> getSectionsByClassId(Long classId) {
         log.info("Fetching sections for class ID: {}", classId);
 
-        // Verify class exists
-        findClassByIdOrThrow(classId);
+        List<Section> sections = sectionRepository.findBySchoolClassIdWithClass(classId);
+
+        // Only an empty result needs the extra check that the class exists
+        if (sections.isEmpty() && !schoolClassRepository.existsById(classId)) {
+            throw new ResourceNotFoundException("School Class", "id", classId);
+        }
 
-        List<Section> sections = sectionRepository.findBySchoolClassId(classId);
         return sectionMapper.toResponseList(sections);
     }
 
@@ -83,6 +172,7 @@ public class SectionService {
      * Get section by ID
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SECTIONS, key = "'id:' + #id", sync = true)
     public SectionResponse getSectionById(Long id) {
         log.info("Fetching section with ID: {}", id);
         Section section = findSectionByIdOrThrow(id);
@@ -93,6 +183,7 @@ public class SectionService {
      * Update a section
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.SECTIONS, CacheConfig.SCHOOL_CLASSES}, allEntries = true)
     public SectionResponse updateSection(Long id, SectionRequest request) {
         log.info("Updating section with ID: {}", id);
 
@@ -104,15 +195,15 @@ public class SectionService {
             section.setSchoolClass(newClass);
         }
 
-        // Check for duplicate section name within the class (excluding current section)
-        if (sectionRepository.existsBySchoolClassIdAndNameAndIdNot(request.getClassId(), request.getName(), id)) {
-            throw new DuplicateResourceException(
-                    String.format("Section '%s' already exists for this class", request.getName())
-            );
-        }
-
         sectionMapper.updateEntityFromRequest(request, section);
-        Section updatedSection = sectionRepository.save(section);
+
+        // Duplicate section names within the class are rejected by the unique constraint
+        Section updatedSection;
+        try {
+            updatedSection = sectionRepository.saveAndFlush(section);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDuplicate(ex, request, section.getSchoolClass());
+        }
 
         log.info("Section updated successfully with ID: {}", updatedSection.getId());
         return sectionMapper.toResponse(updatedSection);
@@ -122,6 +213,7 @@ public class SectionService {
      * Delete a section
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.SECTIONS, CacheConfig.SCHOOL_CLASSES}, allEntries = true)
     public void deleteSection(Long id) {
         log.info("Deleting section with ID: {}", id);
 
@@ -132,10 +224,30 @@ public class SectionService {
     }
 
     /**
-     * Helper method to find section by ID or throw exception
+     * Translate a unique constraint violation into a duplicate error naming the class
+     */
+    private RuntimeException translateDuplicate(
+            DataIntegrityViolationException ex, SectionRequest request, SchoolClass schoolClass) {
+        if (CLASS_NAME_CONSTRAINT.equals(DataIntegrityViolations.constraintName(ex).orElse(null))) {
+            return new DuplicateResourceException(
+                    String.format("Section '%s' already exists for class '%s'", request.getName(), schoolClass.getName())
+            );
+        }
+        return ex;
+    }
+
+    /**
+     * Key identifying a section within its class
+     */
+    private String sectionKey(Long classId, String name) {
+        return classId + ":" + name;
+    }
+
+    /**
+     * Helper method to find section by ID (with its class) or throw exception
      */
     private Section findSectionByIdOrThrow(Long id) {
-        return sectionRepository.findById(id)
+        return sectionRepository.findByIdWithClass(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Section", "id", id));
     }
 
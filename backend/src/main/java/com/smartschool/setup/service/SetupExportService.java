@@ -0,0 +1,99 @@
+package com.smartschool.setup.service;
+
+import com.smartschool.common.export.ExportColumn;
+import com.smartschool.common.export.ExportFormat;
+import com.smartschool.common.export.StreamingExporter;
+import com.smartschool.setup.dto.ClassSubjectRow;
+import com.smartschool.setup.dto.SchoolClassSummary;
+import com.smartschool.setup.dto.SectionExportRow;
+import com.smartschool.setup.dto.SubjectExportRow;
+import com.smartschool.setup.repository.SchoolClassRepository;
+import com.smartschool.setup.repository.SectionRepository;
+import com.smartschool.setup.repository.SubjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Streaming exports of the class, section and subject structure
+ * Requirement: SET-02, SET-03, SET-04, SET-05
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SetupExportService {
+
+    private static final List<ExportColumn<SchoolClassSummary>> CLASS_COLUMNS = List.of(
+            ExportColumn.of("id", SchoolClassSummary::id),
+            ExportColumn.of("name", SchoolClassSummary::name),
+            ExportColumn.of("sectionCount", SchoolClassSummary::sectionCount),
+            ExportColumn.of("subjectCount", SchoolClassSummary::subjectCount),
+            ExportColumn.of("createdAt", SchoolClassSummary::createdAt),
+            ExportColumn.of("updatedAt", SchoolClassSummary::updatedAt)
+    );
+
+    private static final List<ExportColumn<ClassSubjectRow>> CLASS_SUBJECT_COLUMNS = List.of(
+            ExportColumn.of("classId", ClassSubjectRow::classId),
+            ExportColumn.of("subjectId", ClassSubjectRow::subjectId),
+            ExportColumn.of("subjectName", ClassSubjectRow::name),
+            ExportColumn.of("subjectCode", ClassSubjectRow::code)
+    );
+
+    private static final List<ExportColumn<SectionExportRow>> SECTION_COLUMNS = List.of(
+            ExportColumn.of("id", SectionExportRow::id),
+            ExportColumn.of("name", SectionExportRow::name),
+            ExportColumn.of("classId", SectionExportRow::classId),
+            ExportColumn.of("className", SectionExportRow::className),
+            ExportColumn.of("createdAt", SectionExportRow::createdAt),
+            ExportColumn.of("updatedAt", SectionExportRow::updatedAt)
+    );
+
+    private static final List<ExportColumn<SubjectExportRow>> SUBJECT_COLUMNS = List.of(
+            ExportColumn.of("id", SubjectExportRow::id),
+            ExportColumn.of("name", SubjectExportRow::name),
+            ExportColumn.of("code", SubjectExportRow::code),
+            ExportColumn.of("createdAt", SubjectExportRow::createdAt)
+    );
+
+    private final SchoolClassRepository schoolClassRepository;
+    private final SectionRepository sectionRepository;
+    private final SubjectRepository subjectRepository;
+    private final StreamingExporter streamingExporter;
+
+    /**
+     * Export all school classes with their section and subject counts
+     */
+    public ResponseEntity<StreamingResponseBody> exportClasses(ExportFormat format) {
+        log.info("Exporting school classes as {}", format);
+        return streamingExporter.export("classes", format, CLASS_COLUMNS, schoolClassRepository::streamAllSummaries);
+    }
+
+    /**
+     * Export all class-subject assignments
+     */
+    public ResponseEntity<StreamingResponseBody> exportClassSubjects(ExportFormat format) {
+        log.info("Exporting class subjects as {}", format);
+        return streamingExporter.export(
+                "class-subjects", format, CLASS_SUBJECT_COLUMNS, schoolClassRepository::streamAllSubjectRows);
+    }
+
+    /**
+     * Export all sections with their class
+     */
+    public ResponseEntity<StreamingResponseBody> exportSections(ExportFormat format) {
+        log.info("Exporting sections as {}", format);
+        return streamingExporter.export("sections", format, SECTION_COLUMNS, sectionRepository::streamAllForExport);
+    }
+
+    /**
+     * Export all subjects
+     */
+    public ResponseEntity<StreamingResponseBody> exportSubjects(ExportFormat format) {
+        log.info("Exporting subjects as {}", format);
+        return streamingExporter.export("subjects", format, SUBJECT_COLUMNS, subjectRepository::streamAllForExport);
+    }
+}
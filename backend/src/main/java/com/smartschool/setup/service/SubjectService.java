@@ -1,5 +1,12 @@
 package com.smartschool.setup.service;
 
+import com.smartschool.common.bulk.BulkResponse;
+import com.smartschool.common.bulk.BulkRowResult;
+import com.smartschool.common.bulk.BulkRowStatus;
+import com.smartschool.common.pagination.CursorPage;
+import com.smartschool.common.pagination.PageRequests;
+import com.smartschool.config.CacheConfig;
+import com.smartschool.exception.DataIntegrityViolations;
 import com.smartschool.exception.DuplicateResourceException;
 import com.smartschool.exception.ResourceNotFoundException;
 import com.smartschool.setup.dto.SubjectRequest;
@@ -9,10 +16,23 @@ import com.smartschool.setup.mapper.SubjectMapper;
 import com.smartschool.setup.repository.SubjectRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing Subjects
@@ -23,6 +43,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SubjectService {
 
+    /**
+     * Unique constraints on subjects (V1__Create_initial_tables.sql)
+     */
+    private static final String NAME_CONSTRAINT = "subjects_name_key";
+    private static final String CODE_CONSTRAINT = "subjects_code_key";
+
     private final SubjectRepository subjectRepository;
     private final SubjectMapper subjectMapper;
 
@@ -30,41 +56,128 @@ public class SubjectService {
      * Create a new subject
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SUBJECTS, allEntries = true)
     public SubjectResponse createSubject(SubjectRequest request) {
         log.info("Creating new subject: {}", request.getName());
 
-        // Check for duplicate name
-        if (subjectRepository.existsByName(request.getName())) {
-            throw new DuplicateResourceException("Subject", "name", request.getName());
+        Subject subject = subjectMapper.toEntity(request);
+        subject.setCode(normalizeCode(request.getCode()));
+
+        // Duplicate names and codes are rejected by the unique constraints
+        Subject savedSubject;
+        try {
+            savedSubject = subjectRepository.saveAndFlush(subject);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDuplicate(ex, request);
+        }
+
+        log.info("Subject created successfully with ID: {}", savedSubject.getId());
+        return subjectMapper.toResponse(savedSubject);
+    }
+
+    /**
+     * Create or update many subjects in one transaction.
+     * Subjects are matched by name; existing ones get the requested code. Duplicates are found with one
+     * query for the whole batch and new rows are inserted through JDBC batching.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.SUBJECTS, CacheConfig.SCHOOL_CLASSES}, allEntries = true)
+    public BulkResponse bulkUpsertSubjects(List<SubjectRequest> requests) {
+        log.info("Bulk upserting {} subjects", requests.size());
+
+        Set<String> names = requests.stream().map(SubjectRequest::getName).collect(Collectors.toSet());
+        Set<String> codes = requests.stream()
+                .map(request -> normalizeCode(request.getCode()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        // One round trip for every name and code in the batch
+        List<Subject> existing = codes.isEmpty()
+                ? subjectRepository.findByNameIn(names)
+                : subjectRepository.findByNameInOrCodeIn(names, codes);
+        Map<String, Subject> byName = new HashMap<>();
+        Map<String, Subject> byCode = new HashMap<>();
+        for (Subject subject : existing) {
+            byName.put(subject.getName(), subject);
+            if (subject.getCode() != null) {
+                byCode.put(subject.getCode(), subject);
+            }
         }
 
-        // Check for duplicate code if provided
-        if (request.getCode() != null && !request.getCode().isBlank() &&
-                subjectRepository.existsByCode(request.getCode())) {
-            throw new DuplicateResourceException("Subject", "code", request.getCode());
+        BulkRowResult[] results = new BulkRowResult[requests.size()];
+        Map<Integer, Subject> created = new LinkedHashMap<>();
+        Set<String> batchNames = new HashSet<>();
+        Set<String> batchCodes = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            SubjectRequest request = requests.get(i);
+            String code = normalizeCode(request.getCode());
+
+            if (!batchNames.add(request.getName()) || (code != null && !batchCodes.add(code))) {
+                results[i] = BulkRowResult.rejected(i, BulkRowStatus.DUPLICATE, "Name or code repeated within the batch");
+                continue;
+            }
+
+            Subject subject = byName.get(request.getName());
+            Subject codeOwner = code == null ? null : byCode.get(code);
+            if (codeOwner != null && codeOwner != subject) {
+                results[i] = BulkRowResult.rejected(i, BulkRowStatus.DUPLICATE,
+                        String.format("Subject code '%s' is already used by '%s'", code, codeOwner.getName()));
+                continue;
+            }
+
+            if (subject == null) {
+                Subject newSubject = subjectMapper.toEntity(request);
+                newSubject.setCode(code);
+                created.put(i, newSubject);
+            } else if (!Objects.equals(subject.getCode(), code)) {
+                // The old code stays reserved for this batch: inserts are flushed before updates
+                subject.setCode(code);
+                if (code != null) {
+                    byCode.put(code, subject);
+                }
+                results[i] = BulkRowResult.of(i, BulkRowStatus.UPDATED, subject.getId());
+            } else {
+                results[i] = BulkRowResult.of(i, BulkRowStatus.EXISTING, subject.getId());
+            }
         }
 
-        Subject subject = subjectMapper.toEntity(request);
-        Subject savedSubject = subjectRepository.save(subject);
+        subjectRepository.saveAll(created.values());
+        created.forEach((index, subject) -> results[index] = BulkRowResult.of(index, BulkRowStatus.CREATED, subject.getId()));
 
-        log.info("Subject created successfully with ID: {}", savedSubject.getId());
-        return subjectMapper.toResponse(savedSubject);
+        BulkResponse response = BulkResponse.of(results);
+        log.info("Bulk subject upsert finished: {} created, {} updated, {} rejected",
+                response.created(), response.updated(), response.rejected());
+        return response;
     }
 
     /**
-     * Get all subjects
+     * Get a page of subjects
      */
     @Transactional(readOnly = true)
-    public List<SubjectResponse> getAllSubjects() {
-        log.info("Fetching all subjects");
-        List<Subject> subjects = subjectRepository.findAll();
-        return subjectMapper.toResponseList(subjects);
+    @Cacheable(cacheNames = CacheConfig.SUBJECTS, key = "'page:' + #pageable", sync = true)
+    public Page<SubjectResponse> getSubjects(Pageable pageable) {
+        log.info("Fetching subjects page: {}", pageable);
+        return subjectRepository.findAll(PageRequests.withStableOrder(pageable))
+                .map(subjectMapper::toResponse);
+    }
+
+    /**
+     * Get the subjects that follow the given cursor
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SUBJECTS, key = "'after:' + #afterId + ':' + #size", sync = true)
+    public CursorPage<SubjectResponse> getSubjectsAfter(Long afterId, int size) {
+        log.info("Fetching {} subjects after ID: {}", size, afterId);
+        List<Subject> subjects = subjectRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        return CursorPage.of(subjects, size, Subject::getId).map(subjectMapper::toResponse);
     }
 
     /**
      * Get subject by ID
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SUBJECTS, key = "'id:' + #id", sync = true)
     public SubjectResponse getSubjectById(Long id) {
         log.info("Fetching subject with ID: {}", id);
         Subject subject = findSubjectByIdOrThrow(id);
@@ -75,25 +188,25 @@ public class SubjectService {
      * Update a subject
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.SUBJECTS, CacheConfig.SCHOOL_CLASSES}, allEntries = true)
     public SubjectResponse updateSubject(Long id, SubjectRequest request) {
         log.info("Updating subject with ID: {}", id);
 
         Subject subject = findSubjectByIdOrThrow(id);
 
-        // Check for duplicate name (excluding current subject)
-        if (subjectRepository.existsByNameAndIdNot(request.getName(), id)) {
-            throw new DuplicateResourceException("Subject", "name", request.getName());
+        subjectMapper.updateEntityFromRequest(request, subject);
+        if (request.getCode() != null) {
+            subject.setCode(normalizeCode(request.getCode()));
         }
 
-        // Check for duplicate code if provided (excluding current subject)
-        if (request.getCode() != null && !request.getCode().isBlank() &&
-                subjectRepository.existsByCodeAndIdNot(request.getCode(), id)) {
-            throw new DuplicateResourceException("Subject", "code", request.getCode());
+        // Duplicate names and codes are rejected by the unique constraints
+        Subject updatedSubject;
+        try {
+            updatedSubject = subjectRepository.saveAndFlush(subject);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDuplicate(ex, request);
         }
 
-        subjectMapper.updateEntityFromRequest(request, subject);
-        Subject updatedSubject = subjectRepository.save(subject);
-
         log.info("Subject updated successfully with ID: {}", updatedSubject.getId());
         return subjectMapper.toResponse(updatedSubject);
     }
@@ -102,6 +215,7 @@ public class SubjectService {
      * Delete a subject
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.SUBJECTS, CacheConfig.SCHOOL_CLASSES}, allEntries = true)
     public void deleteSubject(Long id) {
         log.info("Deleting subject with ID: {}", id);
 
@@ -111,6 +225,24 @@ public class SubjectService {
         log.info("Subject deleted successfully with ID: {}", id);
     }
 
+    /**
+     * Translate a unique constraint violation into a duplicate error naming the conflicting field
+     */
+    private RuntimeException translateDuplicate(DataIntegrityViolationException ex, SubjectRequest request) {
+        return switch (DataIntegrityViolations.constraintName(ex).orElse("")) {
+            case NAME_CONSTRAINT -> new DuplicateResourceException("Subject", "name", request.getName());
+            case CODE_CONSTRAINT -> new DuplicateResourceException("Subject", "code", request.getCode());
+            default -> ex;
+        };
+    }
+
+    /**
+     * Treat a blank code as no code
+     */
+    private String normalizeCode(String code) {
+        return code == null || code.isBlank() ? null : code;
+    }
+
     /**
      * Helper method to find subject by ID or throw exception
      */
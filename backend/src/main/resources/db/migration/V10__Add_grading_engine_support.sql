@@ -0,0 +1,17 @@
+-- ===================================================================
+-- SmartSchool - Grading Engine
+-- Version: 10
+-- Description: Schema support for automatic percentage and grade calculation (EXM-04, EXM-05)
+-- ===================================================================
+
+-- Grades are copied from grading_scales.grade_label, which allows up to 10 characters;
+-- CHAR(2) also padded single-letter grades with a trailing space
+ALTER TABLE marks ALTER COLUMN grade TYPE VARCHAR(10) USING TRIM(grade);
+
+-- Term-wide grade recompute and class-subject uploads filter marks by term and subject
+CREATE INDEX idx_marks_term_subject ON marks(exam_term_id, subject_id);
+
+-- A grade band is a percentage range within 0-100
+ALTER TABLE grading_scales
+    ADD CONSTRAINT chk_grading_scales_range
+    CHECK (min_percentage >= 0 AND max_percentage <= 100 AND min_percentage <= max_percentage);
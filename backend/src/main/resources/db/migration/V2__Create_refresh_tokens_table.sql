@@ -0,0 +1,19 @@
+-- ===================================================================
+-- SmartSchool - Refresh Tokens
+-- Version: 2
+-- Description: Stores hashed, rotating refresh tokens so access tokens can be short-lived.
+-- ===================================================================
+
+CREATE TABLE refresh_tokens (
+    id BIGINT PRIMARY KEY GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    token_hash VARCHAR(64) NOT NULL UNIQUE, -- SHA-256 hex of the raw token; the raw token is never stored
+    family_id UUID NOT NULL, -- All tokens rotated from the same login share a family
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
@@ -0,0 +1,13 @@
+-- ===================================================================
+-- SmartSchool - Single current academic session
+-- Version: 3
+-- Description: Guarantees at most one academic session is flagged as current.
+-- ===================================================================
+
+-- Keep only the most recent current session if earlier data has more than one
+UPDATE academic_sessions
+SET is_current = FALSE
+WHERE is_current = TRUE
+  AND id <> (SELECT MAX(id) FROM academic_sessions WHERE is_current = TRUE);
+
+CREATE UNIQUE INDEX uq_academic_sessions_current ON academic_sessions (is_current) WHERE is_current = TRUE;
@@ -0,0 +1,48 @@
+-- ===================================================================
+-- SmartSchool - Table Versions
+-- Version: 4
+-- Description: Per-table change counters used to build ETags for conditional GETs.
+--              A statement-level trigger bumps the counter on every write.
+-- ===================================================================
+
+CREATE TABLE table_versions (
+    table_name VARCHAR(63) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO table_versions (table_name) VALUES
+    ('academic_sessions'),
+    ('classes'),
+    ('sections'),
+    ('subjects'),
+    ('class_subjects');
+
+CREATE OR REPLACE FUNCTION trigger_bump_table_version()
+RETURNS TRIGGER AS $$ BEGIN
+  UPDATE table_versions
+  SET version = version + 1, updated_at = CURRENT_TIMESTAMP
+  WHERE table_name = TG_TABLE_NAME;
+  RETURN NULL;
+END;
+ $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER bump_academic_sessions_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON academic_sessions
+FOR EACH STATEMENT EXECUTE FUNCTION trigger_bump_table_version();
+
+CREATE TRIGGER bump_classes_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON classes
+FOR EACH STATEMENT EXECUTE FUNCTION trigger_bump_table_version();
+
+CREATE TRIGGER bump_sections_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON sections
+FOR EACH STATEMENT EXECUTE FUNCTION trigger_bump_table_version();
+
+CREATE TRIGGER bump_subjects_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON subjects
+FOR EACH STATEMENT EXECUTE FUNCTION trigger_bump_table_version();
+
+CREATE TRIGGER bump_class_subjects_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON class_subjects
+FOR EACH STATEMENT EXECUTE FUNCTION trigger_bump_table_version();
@@ -0,0 +1,26 @@
+-- ===================================================================
+-- SmartSchool - Pooled ID sequences
+-- Version: 5
+-- Description: Lets Hibernate reserve IDs in blocks of 50 for classes, sections and
+--              subjects, so bulk inserts can be JDBC-batched. Identity columns keep their
+--              sequence out of information_schema.sequences, which schema validation reads,
+--              so the IDs move to plain sequences that stay the column default.
+--              Each sequence restarts 50 past the current maximum, so the first pooled
+--              block (next value - 49 .. next value) never overlaps existing rows.
+--              Inserts that rely on the column default still receive unique IDs.
+-- ===================================================================
+
+ALTER TABLE classes ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE classes_id_seq INCREMENT BY 50 OWNED BY classes.id;
+SELECT setval('classes_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM classes;
+ALTER TABLE classes ALTER COLUMN id SET DEFAULT nextval('classes_id_seq');
+
+ALTER TABLE sections ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE sections_id_seq INCREMENT BY 50 OWNED BY sections.id;
+SELECT setval('sections_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM sections;
+ALTER TABLE sections ALTER COLUMN id SET DEFAULT nextval('sections_id_seq');
+
+ALTER TABLE subjects ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE subjects_id_seq INCREMENT BY 50 OWNED BY subjects.id;
+SELECT setval('subjects_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM subjects;
+ALTER TABLE subjects ALTER COLUMN id SET DEFAULT nextval('subjects_id_seq');
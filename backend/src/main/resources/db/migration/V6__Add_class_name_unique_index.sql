@@ -0,0 +1,13 @@
+-- ===================================================================
+-- SmartSchool - Unique class names
+-- Version: 6
+-- Description: Enforces unique class names in the database so inserts can rely on the
+--              constraint instead of a check-then-insert query.
+-- ===================================================================
+
+-- Keep the oldest class under each duplicated name and suffix the others with their ID
+UPDATE classes c
+SET name = LEFT(c.name, 50 - LENGTH(' (' || c.id || ')')) || ' (' || c.id || ')'
+WHERE c.id <> (SELECT MIN(d.id) FROM classes d WHERE d.name = c.name);
+
+CREATE UNIQUE INDEX uq_classes_name ON classes (name);
@@ -0,0 +1,29 @@
+-- ===================================================================
+-- SmartSchool - SMS Outbox
+-- Version: 7
+-- Description: Transactional outbox for outgoing SMS (ATT-05). Rows are written in the same
+--              transaction as the business change and delivered later by a background dispatcher.
+-- ===================================================================
+
+CREATE TABLE sms_outbox (
+    id BIGINT PRIMARY KEY GENERATED BY DEFAULT AS IDENTITY,
+    dedup_key VARCHAR(100) NOT NULL UNIQUE, -- e.g. 'absence:<student_id>:<date>', one message per event
+    template_name VARCHAR(100) NOT NULL,
+    recipient_phone VARCHAR(20) NOT NULL,
+    variables JSONB NOT NULL DEFAULT '{}'::jsonb, -- values for the template placeholders
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED', 'CANCELLED')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_until TIMESTAMP WITH TIME ZONE, -- lease of a dispatcher that claimed the row
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Dispatcher polling only looks at rows that still need work
+CREATE INDEX idx_sms_outbox_due ON sms_outbox (next_attempt_at, id) WHERE status IN ('PENDING', 'SENDING');
+
+-- Default absentee template (ATT-06)
+INSERT INTO sms_templates (name, content)
+VALUES ('Student Absenteeism', 'Dear Parent, {student_name} was absent from {class_name} on {date}.')
+ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,44 @@
+-- ===================================================================
+-- SmartSchool - Attendance Rollups
+-- Version: 8
+-- Description: Pre-aggregated attendance counts per class per day and per student per month,
+--              serving ATT-07 reports without scanning the raw attendance table
+-- ===================================================================
+
+-- Class-wide date range queries (rollup refresh and compaction)
+CREATE INDEX idx_attendance_class_date ON attendance(class_id, attendance_date);
+
+CREATE TABLE attendance_class_daily (
+    class_id BIGINT NOT NULL,
+    attendance_date DATE NOT NULL,
+    present INTEGER NOT NULL DEFAULT 0,
+    absent INTEGER NOT NULL DEFAULT 0,
+    on_leave INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (class_id, attendance_date)
+);
+
+CREATE TABLE attendance_student_monthly (
+    student_id BIGINT NOT NULL,
+    month_start DATE NOT NULL CHECK (EXTRACT(DAY FROM month_start) = 1), -- first day of the month
+    present INTEGER NOT NULL DEFAULT 0,
+    absent INTEGER NOT NULL DEFAULT 0,
+    on_leave INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (student_id, month_start)
+);
+
+-- Backfill from attendance recorded so far
+INSERT INTO attendance_class_daily (class_id, attendance_date, present, absent, on_leave)
+SELECT class_id, attendance_date,
+       COUNT(*) FILTER (WHERE status = 'PRESENT'),
+       COUNT(*) FILTER (WHERE status = 'ABSENT'),
+       COUNT(*) FILTER (WHERE status = 'ON_LEAVE')
+FROM attendance
+GROUP BY class_id, attendance_date;
+
+INSERT INTO attendance_student_monthly (student_id, month_start, present, absent, on_leave)
+SELECT student_id, CAST(date_trunc('month', attendance_date) AS DATE),
+       COUNT(*) FILTER (WHERE status = 'PRESENT'),
+       COUNT(*) FILTER (WHERE status = 'ABSENT'),
+       COUNT(*) FILTER (WHERE status = 'ON_LEAVE')
+FROM attendance
+GROUP BY student_id, CAST(date_trunc('month', attendance_date) AS DATE);
@@ -0,0 +1,16 @@
+-- ===================================================================
+-- SmartSchool - Fee Voucher Generation
+-- Version: 9
+-- Description: Constraints that make monthly voucher generation (FEE-05) idempotent,
+--              so an interrupted run can simply be started again
+-- ===================================================================
+
+-- One voucher per student per billing month
+CREATE UNIQUE INDEX uq_fee_vouchers_student_month ON fee_vouchers(student_id, year, month);
+
+-- Each fee structure appears at most once on a voucher
+ALTER TABLE fee_voucher_items
+    ADD CONSTRAINT uq_fee_voucher_items_structure UNIQUE (fee_voucher_id, fee_structure_id);
+
+-- Active students of a session, partitioned by class during generation
+CREATE INDEX idx_student_enrollments_session_class ON student_enrollments(academic_session_id, class_id);
@@ -0,0 +1,261 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.dto.AttendanceIndexRow;
+import com.smartschool.attendance.entity.AttendanceStatus;
+import com.smartschool.attendance.repository.AttendanceRepository;
+import com.smartschool.setup.dto.AcademicSessionResponse;
+import com.smartschool.setup.service.CurrentAcademicSessionChangedEvent;
+import com.smartschool.setup.service.CurrentAcademicSessionHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static com.smartschool.attendance.entity.AttendanceStatus.ABSENT;
+import static com.smartschool.attendance.entity.AttendanceStatus.ON_LEAVE;
+import static com.smartschool.attendance.entity.AttendanceStatus.PRESENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceBitmapIndexTest {
+
+    private static final AcademicSessionResponse SESSION_2026 = session(1L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+    private static final AcademicSessionResponse SESSION_2027 = session(2L, LocalDate.of(2027, 1, 1), LocalDate.of(2027, 12, 31));
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 16);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+    private static final LocalDate WEDNESDAY = MONDAY.plusDays(2);
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private CurrentAcademicSessionHolder currentSessionHolder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AttendanceBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AttendanceBitmapIndex(attendanceRepository, currentSessionHolder, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void findsAndCountsDaysOfAStudent() {
+        load(SESSION_2026,
+                row(1L, 7L, MONDAY, ABSENT),
+                row(1L, 7L, TUESDAY, PRESENT),
+                row(1L, 7L, WEDNESDAY, ABSENT));
+
+        assertThat(index.findDays(1L, ABSENT, MONDAY, WEDNESDAY)).contains(List.of(MONDAY, WEDNESDAY));
+        assertThat(index.findDays(1L, ABSENT, TUESDAY, WEDNESDAY)).contains(List.of(WEDNESDAY));
+        assertThat(index.findDays(2L, ABSENT, MONDAY, WEDNESDAY)).contains(List.of());
+        assertThat(index.countDays(1L, MONDAY, WEDNESDAY)).contains(Map.of(PRESENT, 1, ABSENT, 2, ON_LEAVE, 0));
+    }
+
+    @Test
+    void resubmittedDayReplacesTheStatus() {
+        load(SESSION_2026, row(1L, 7L, MONDAY, ABSENT));
+
+        index.applyAfterCommit(7L, MONDAY, new Long[]{1L}, new AttendanceStatus[]{ON_LEAVE});
+
+        assertThat(index.findStudents(7L, ABSENT, MONDAY)).contains(List.of());
+        assertThat(index.findStudents(7L, ON_LEAVE, MONDAY)).contains(List.of(1L));
+    }
+
+    @Test
+    void movedStudentKeepsTheOldClassOnEarlierDays() {
+        load(SESSION_2026,
+                row(1L, 7L, MONDAY, ABSENT),
+                row(2L, 7L, MONDAY, ABSENT),
+                row(1L, 8L, TUESDAY, ABSENT));
+
+        assertThat(index.findStudents(7L, ABSENT, MONDAY)).contains(List.of(1L, 2L));
+        assertThat(index.findStudents(8L, ABSENT, MONDAY)).contains(List.of());
+        assertThat(index.findStudents(8L, ABSENT, TUESDAY)).contains(List.of(1L));
+        assertThat(index.findStudents(7L, ABSENT, TUESDAY)).contains(List.of());
+    }
+
+    @Test
+    void backfillingAnOlderDayDoesNotMoveTheStudentOnNewerDays() {
+        load(SESSION_2026, row(1L, 8L, WEDNESDAY, ABSENT));
+
+        index.applyAfterCommit(7L, MONDAY, new Long[]{1L}, new AttendanceStatus[]{ABSENT});
+
+        assertThat(index.findStudents(8L, ABSENT, WEDNESDAY)).contains(List.of(1L));
+        assertThat(index.findStudents(7L, ABSENT, MONDAY)).contains(List.of(1L));
+        assertThat(index.findStudents(7L, ABSENT, WEDNESDAY)).contains(List.of());
+    }
+
+    @Test
+    void resubmittingTheOnlyDayInAnotherClassLeavesTheOldClass() {
+        load(SESSION_2026, row(1L, 7L, MONDAY, ABSENT));
+
+        index.applyAfterCommit(8L, MONDAY, new Long[]{1L}, new AttendanceStatus[]{ABSENT});
+        // Moving back must not fail on the vacated class
+        index.applyAfterCommit(7L, MONDAY, new Long[]{1L}, new AttendanceStatus[]{ABSENT});
+        index.applyAfterCommit(8L, MONDAY, new Long[]{1L}, new AttendanceStatus[]{ABSENT});
+
+        assertThat(index.findStudents(7L, ABSENT, MONDAY)).contains(List.of());
+        assertThat(index.findStudents(8L, ABSENT, MONDAY)).contains(List.of(1L));
+    }
+
+    @Test
+    void unknownClassHasNoStudents() {
+        load(SESSION_2026, row(1L, 7L, MONDAY, ABSENT));
+
+        assertThat(index.findStudents(99L, ABSENT, MONDAY)).contains(List.of());
+    }
+
+    @Test
+    void datesOutsideTheSessionAreNotAnswered() {
+        load(SESSION_2026, row(1L, 7L, MONDAY, ABSENT));
+
+        assertThat(index.findDays(1L, ABSENT, LocalDate.of(2025, 12, 1), MONDAY)).isEmpty();
+        assertThat(index.countDays(1L, MONDAY, LocalDate.of(2027, 1, 1))).isEmpty();
+        assertThat(index.findStudents(7L, ABSENT, LocalDate.of(2027, 1, 4))).isEmpty();
+    }
+
+    @Test
+    void noCurrentSessionLeavesTheIndexEmpty() {
+        when(currentSessionHolder.getCurrentSession()).thenReturn(Optional.empty());
+        index.init();
+
+        assertThat(index.findDays(1L, ABSENT, MONDAY, MONDAY)).isEmpty();
+    }
+
+    @Test
+    void sessionChangeRebuildsForTheNewSession() {
+        load(SESSION_2026, row(1L, 7L, MONDAY, ABSENT));
+        LocalDate nextMonday = LocalDate.of(2027, 3, 15);
+        when(currentSessionHolder.getCurrentSession()).thenReturn(Optional.of(SESSION_2027));
+        when(attendanceRepository.streamForIndex(SESSION_2027.getStartDate(), SESSION_2027.getEndDate()))
+                .thenReturn(Stream.of(row(1L, 9L, nextMonday, ON_LEAVE)));
+
+        index.onCurrentSessionChanged(new CurrentAcademicSessionChangedEvent(SESSION_2027));
+
+        // The rebuild runs in the background
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(index.findStudents(9L, ON_LEAVE, nextMonday)).contains(List.of(1L)));
+        assertThat(index.findDays(1L, ABSENT, MONDAY, MONDAY)).isEmpty();
+    }
+
+    @Test
+    void writeCommittedDuringTheScanReplacesTheScannedRow() {
+        load(SESSION_2026, row(1L, 7L, MONDAY, ABSENT));
+        // The scan reads the old status; the resubmission commits while the scan is running
+        when(attendanceRepository.streamForIndex(any(), any())).thenReturn(Stream.of(row(1L, 7L, MONDAY, ABSENT))
+                .peek(scanned -> index.applyAfterCommit(7L, MONDAY, new Long[]{1L}, new AttendanceStatus[]{PRESENT})));
+
+        index.rebuild();
+
+        assertThat(index.findStudents(7L, PRESENT, MONDAY)).contains(List.of(1L));
+        assertThat(index.findStudents(7L, ABSENT, MONDAY)).contains(List.of());
+    }
+
+    @Test
+    void failedScanKeepsTheOldSnapshot() {
+        load(SESSION_2026, row(1L, 7L, MONDAY, ABSENT));
+        when(attendanceRepository.streamForIndex(any(), any())).thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(index::rebuild).isInstanceOf(IllegalStateException.class);
+        index.applyAfterCommit(7L, TUESDAY, new Long[]{1L}, new AttendanceStatus[]{ABSENT});
+
+        assertThat(index.findDays(1L, ABSENT, MONDAY, TUESDAY)).contains(List.of(MONDAY, TUESDAY));
+    }
+
+    @Test
+    void sessionChangeDoesNotWaitForTheRebuild() throws Exception {
+        load(SESSION_2026, row(1L, 7L, MONDAY, ABSENT));
+        CountDownLatch releaseScan = new CountDownLatch(1);
+        when(currentSessionHolder.getCurrentSession()).thenReturn(Optional.of(SESSION_2027));
+        when(attendanceRepository.streamForIndex(SESSION_2027.getStartDate(), SESSION_2027.getEndDate()))
+                .thenAnswer(invocation -> {
+                    releaseScan.await();
+                    return Stream.of(row(1L, 9L, LocalDate.of(2027, 3, 15), ABSENT));
+                });
+
+        index.onCurrentSessionChanged(new CurrentAcademicSessionChangedEvent(SESSION_2027));
+
+        // The old snapshot still answers while the new session is being scanned
+        assertThat(index.findDays(1L, ABSENT, MONDAY, MONDAY)).contains(List.of(MONDAY));
+        releaseScan.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> index.findDays(1L, ABSENT, MONDAY, MONDAY).isEmpty());
+    }
+
+    @Test
+    void concurrentSubmissionsLeaveEachStudentInOneClassPerDay() throws Exception {
+        load(SESSION_2026);
+        Long[] studentIds = new Long[200];
+        AttendanceStatus[] statuses = new AttendanceStatus[studentIds.length];
+        for (int i = 0; i < studentIds.length; i++) {
+            studentIds[i] = (long) i + 1;
+            statuses[i] = ABSENT;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> submissions = new ArrayList<>();
+            for (int round = 0; round < 200; round++) {
+                Long classId = round % 2 == 0 ? 7L : 8L;
+                submissions.add(executor.submit(() -> index.applyAfterCommit(classId, MONDAY, studentIds, statuses)));
+            }
+            for (Future<?> submission : submissions) {
+                submission.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Long> inSeven = index.findStudents(7L, ABSENT, MONDAY).orElseThrow();
+        List<Long> inEight = index.findStudents(8L, ABSENT, MONDAY).orElseThrow();
+        assertThat(inSeven.size() + inEight.size()).isEqualTo(studentIds.length);
+        // The last submission may have moved everyone, so either list can be empty
+        assertThat(inSeven).noneMatch(inEight::contains);
+    }
+
+    private void load(AcademicSessionResponse session, AttendanceIndexRow... rows) {
+        when(currentSessionHolder.getCurrentSession()).thenReturn(Optional.of(session));
+        when(attendanceRepository.streamForIndex(any(), any())).thenReturn(Stream.of(rows));
+        index.init();
+    }
+
+    private static AttendanceIndexRow row(Long studentId, Long classId, LocalDate date, AttendanceStatus status) {
+        return new AttendanceIndexRow(studentId, classId, date, status);
+    }
+
+    private static AcademicSessionResponse session(Long id, LocalDate start, LocalDate end) {
+        return AcademicSessionResponse.builder()
+                .id(id)
+                .name(String.valueOf(start.getYear()))
+                .startDate(start)
+                .endDate(end)
+                .isCurrent(true)
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.dto.AttendanceStatsResponse;
+import com.smartschool.attendance.entity.Attendance;
+import com.smartschool.attendance.entity.AttendanceClassDaily;
+import com.smartschool.attendance.entity.AttendanceStatus;
+import com.smartschool.attendance.entity.AttendanceStudentMonthly;
+import com.smartschool.attendance.entity.ReportPeriod;
+import com.smartschool.attendance.repository.AttendanceClassDailyRepository;
+import com.smartschool.attendance.repository.AttendanceRepository;
+import com.smartschool.attendance.repository.AttendanceStudentMonthlyRepository;
+import com.smartschool.exception.InvalidOperationException;
+import com.smartschool.setup.dto.AcademicSessionResponse;
+import com.smartschool.setup.service.CurrentAcademicSessionHolder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceReportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 12, 31);
+
+    @Mock
+    private AttendanceClassDailyRepository classDailyRepository;
+
+    @Mock
+    private AttendanceStudentMonthlyRepository studentMonthlyRepository;
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private CurrentAcademicSessionHolder currentSessionHolder;
+
+    @InjectMocks
+    private AttendanceReportService attendanceReportService;
+
+    @Test
+    void classDaysAreSummedPerMonthInDateOrder() {
+        when(classDailyRepository.findByClassIdAndAttendanceDateBetweenOrderByAttendanceDate(7L, FROM, TO)).thenReturn(List.of(
+                classDay(LocalDate.of(2026, 3, 16), 38, 2, 0),
+                classDay(LocalDate.of(2026, 3, 17), 36, 3, 1),
+                classDay(LocalDate.of(2026, 4, 1), 40, 0, 0)));
+
+        List<AttendanceStatsResponse> months = attendanceReportService.getClassStats(7L, FROM, TO, ReportPeriod.MONTH);
+
+        assertThat(months).extracting(AttendanceStatsResponse::getPeriodStart)
+                .containsExactly(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 4, 1));
+        assertThat(months.get(0)).extracting("present", "absent", "onLeave", "total").containsExactly(74L, 5L, 1L, 80L);
+        assertThat(months.get(1).getTotal()).isEqualTo(40L);
+    }
+
+    @Test
+    void classYearIsOneRowPerCalendarYear() {
+        LocalDate from = LocalDate.of(2025, 9, 1);
+        LocalDate to = LocalDate.of(2026, 6, 30);
+        when(classDailyRepository.findByClassIdAndAttendanceDateBetweenOrderByAttendanceDate(7L, from, to)).thenReturn(List.of(
+                classDay(LocalDate.of(2025, 12, 19), 30, 10, 0),
+                classDay(LocalDate.of(2026, 1, 5), 39, 1, 0),
+                classDay(LocalDate.of(2026, 6, 30), 40, 0, 0)));
+
+        List<AttendanceStatsResponse> years = attendanceReportService.getClassStats(7L, from, to, ReportPeriod.YEAR);
+
+        assertThat(years).extracting(AttendanceStatsResponse::getPeriodStart)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1));
+        assertThat(years).extracting(AttendanceStatsResponse::getAbsent).containsExactly(10L, 1L);
+    }
+
+    @Test
+    void studentDaysComeFromTheirOwnRows() {
+        when(attendanceRepository.findByStudentIdAndAttendanceDateBetweenOrderByAttendanceDate(1L, FROM, TO)).thenReturn(List.of(
+                attendance(LocalDate.of(2026, 3, 16), AttendanceStatus.ABSENT),
+                attendance(LocalDate.of(2026, 3, 17), AttendanceStatus.ON_LEAVE)));
+
+        List<AttendanceStatsResponse> days = attendanceReportService.getStudentStats(1L, FROM, TO, ReportPeriod.DAY);
+
+        assertThat(days).extracting("periodStart", "present", "absent", "onLeave", "total").containsExactly(
+                tuple(LocalDate.of(2026, 3, 16), 0L, 1L, 0L, 1L),
+                tuple(LocalDate.of(2026, 3, 17), 0L, 0L, 1L, 1L));
+        verifyNoInteractions(studentMonthlyRepository);
+    }
+
+    @Test
+    void studentMonthsIncludeTheWholeFirstMonth() {
+        LocalDate midMarch = LocalDate.of(2026, 3, 16);
+        when(studentMonthlyRepository.findByStudentIdAndMonthStartBetweenOrderByMonthStart(1L, LocalDate.of(2026, 3, 1), TO))
+                .thenReturn(List.of(studentMonth(LocalDate.of(2026, 3, 1), 20, 2, 0), studentMonth(LocalDate.of(2026, 4, 1), 21, 0, 1)));
+
+        List<AttendanceStatsResponse> year = attendanceReportService.getStudentStats(1L, midMarch, TO, ReportPeriod.YEAR);
+
+        assertThat(year).singleElement().extracting("present", "absent", "onLeave", "total").containsExactly(41L, 2L, 1L, 44L);
+    }
+
+    @Test
+    void rangeDefaultsToTheCurrentSession() {
+        when(currentSessionHolder.getCurrentSessionOrThrow()).thenReturn(AcademicSessionResponse.builder()
+                .id(1L).startDate(FROM).endDate(TO).build());
+        when(classDailyRepository.findByClassIdAndAttendanceDateBetweenOrderByAttendanceDate(7L, FROM, TO)).thenReturn(List.of());
+
+        assertThat(attendanceReportService.getClassStats(7L, null, null, ReportPeriod.DAY)).isEmpty();
+    }
+
+    @Test
+    void startAfterEndIsRejected() {
+        assertThatThrownBy(() -> attendanceReportService.getClassStats(7L, TO, FROM, ReportPeriod.DAY))
+                .isInstanceOf(InvalidOperationException.class);
+        verifyNoInteractions(classDailyRepository);
+    }
+
+    private static AttendanceClassDaily classDay(LocalDate date, int present, int absent, int onLeave) {
+        AttendanceClassDaily day = new AttendanceClassDaily();
+        ReflectionTestUtils.setField(day, "classId", 7L);
+        ReflectionTestUtils.setField(day, "attendanceDate", date);
+        setCounts(day, present, absent, onLeave);
+        return day;
+    }
+
+    private static AttendanceStudentMonthly studentMonth(LocalDate monthStart, int present, int absent, int onLeave) {
+        AttendanceStudentMonthly month = new AttendanceStudentMonthly();
+        ReflectionTestUtils.setField(month, "studentId", 1L);
+        ReflectionTestUtils.setField(month, "monthStart", monthStart);
+        setCounts(month, present, absent, onLeave);
+        return month;
+    }
+
+    private static void setCounts(Object rollup, int present, int absent, int onLeave) {
+        ReflectionTestUtils.setField(rollup, "present", present);
+        ReflectionTestUtils.setField(rollup, "absent", absent);
+        ReflectionTestUtils.setField(rollup, "onLeave", onLeave);
+    }
+
+    private static Attendance attendance(LocalDate date, AttendanceStatus status) {
+        return Attendance.builder()
+                .studentId(1L)
+                .classId(7L)
+                .attendanceDate(date)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.entity.AttendanceStudentMonthly;
+import com.smartschool.attendance.repository.AttendanceRepository;
+import com.smartschool.attendance.repository.AttendanceStudentMonthlyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the rollup refresh of two concurrent submissions against PostgreSQL, because the row locking it
+ * relies on cannot be reproduced on H2. Set SMARTSCHOOL_TEST_DB_URL to a scratch database to run it;
+ * the Flyway migrations are applied to that database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AttendanceRollupService.class, AttendanceRollupConcurrencyTest.PasswordEncoderConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "SMARTSCHOOL_TEST_DB_URL", matches = ".+")
+class AttendanceRollupConcurrencyTest {
+
+    private static final Long CLASS_ID = 9_100_001L;
+    private static final Long STUDENT_ID = 9_100_001L;
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 16);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    @Autowired
+    private AttendanceRollupService attendanceRollupService;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceStudentMonthlyRepository studentMonthlyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long markedBy;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("SMARTSCHOOL_TEST_DB_URL"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        markedBy = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'admin'", Long.class);
+        deleteTestRows();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteTestRows();
+    }
+
+    @Test
+    void submissionsForTwoDaysOfOneMonthBothCountInTheStudentMonth() throws Exception {
+        CountDownLatch firstRecounted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                submit(MONDAY, "PRESENT");
+                firstRecounted.countDown();
+                awaitQuietly(releaseFirst);
+            }));
+            if (!firstRecounted.await(10, TimeUnit.SECONDS)) {
+                first.get(); // rethrows why the first submission stopped
+            }
+
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> submit(TUESDAY, "ABSENT")));
+            // The second submission must wait for the first one's month before recounting it
+            await().atMost(Duration.ofSeconds(10)).until(() -> backendsWaitingOnLocks() > 0);
+            releaseFirst.countDown();
+
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            releaseFirst.countDown();
+            executor.shutdownNow();
+        }
+
+        AttendanceStudentMonthly month = studentMonthlyRepository
+                .findByStudentIdAndMonthStartBetweenOrderByMonthStart(STUDENT_ID, MONDAY.withDayOfMonth(1), MONDAY)
+                .getFirst();
+        assertThat(month.getPresent()).isEqualTo(1);
+        assertThat(month.getAbsent()).isEqualTo(1);
+    }
+
+    private void submit(LocalDate date, String status) {
+        attendanceRepository.upsertAll(CLASS_ID, date, markedBy, new Long[]{STUDENT_ID}, new String[]{status}, new String[]{null});
+        attendanceRollupService.refresh(List.of(CLASS_ID), date, List.of(STUDENT_ID));
+    }
+
+    private int backendsWaitingOnLocks() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_stat_activity " +
+                "WHERE datname = current_database() AND wait_event_type = 'Lock'", Integer.class);
+    }
+
+    private void deleteTestRows() {
+        jdbcTemplate.update("DELETE FROM attendance WHERE student_id = ?", STUDENT_ID);
+        jdbcTemplate.update("DELETE FROM attendance_student_monthly WHERE student_id = ?", STUDENT_ID);
+        jdbcTemplate.update("DELETE FROM attendance_class_daily WHERE class_id = ?", CLASS_ID);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    static class PasswordEncoderConfig {
+
+        /**
+         * Needed by the admin-user CommandLineRunner on SmartSchoolApplication
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.repository.AttendanceClassDailyRepository;
+import com.smartschool.attendance.repository.AttendanceStudentMonthlyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceRollupServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 17);
+
+    @Mock
+    private AttendanceClassDailyRepository classDailyRepository;
+
+    @Mock
+    private AttendanceStudentMonthlyRepository studentMonthlyRepository;
+
+    @InjectMocks
+    private AttendanceRollupService attendanceRollupService;
+
+    @Test
+    void recountsSubmittedClassDayAndStudentMonths() {
+        attendanceRollupService.refresh(Set.of(7L), DATE, List.of(1L, 2L));
+
+        InOrder order = inOrder(classDailyRepository, studentMonthlyRepository);
+        order.verify(classDailyRepository).lockClassDay(7L, DATE);
+        order.verify(classDailyRepository).recountClassDay(7L, DATE);
+        order.verify(studentMonthlyRepository).lockMonth(aryEq(new Long[]{1L, 2L}), eq(LocalDate.of(2026, 3, 1)));
+        order.verify(studentMonthlyRepository).recountMonth(List.of(1L, 2L), LocalDate.of(2026, 3, 1), LocalDate.of(2026, 4, 1));
+    }
+
+    @Test
+    void movedStudentsAlsoRecountTheClassTheyLeft() {
+        // Student moved from class 9 to class 4: both class days lose or gain a row
+        attendanceRollupService.refresh(Set.of(9L, 4L), DATE, List.of(1L));
+
+        InOrder order = inOrder(classDailyRepository);
+        // All locks are taken in ascending class order before any recount
+        order.verify(classDailyRepository).lockClassDay(4L, DATE);
+        order.verify(classDailyRepository).lockClassDay(9L, DATE);
+        order.verify(classDailyRepository).recountClassDay(4L, DATE);
+        order.verify(classDailyRepository).recountClassDay(9L, DATE);
+    }
+
+    @Test
+    void duplicateClassIdsAreRecountedOnce() {
+        attendanceRollupService.refresh(List.of(4L, 4L), DATE, List.of(1L));
+
+        verify(classDailyRepository, times(1)).lockClassDay(4L, DATE);
+        verify(classDailyRepository, times(1)).recountClassDay(4L, DATE);
+    }
+}
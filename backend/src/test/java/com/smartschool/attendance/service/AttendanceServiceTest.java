@@ -0,0 +1,187 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.dto.AttendanceEntryRequest;
+import com.smartschool.attendance.dto.SectionAttendanceRequest;
+import com.smartschool.attendance.dto.SectionAttendanceResponse;
+import com.smartschool.attendance.entity.AttendanceStatus;
+import com.smartschool.attendance.repository.AttendanceRepository;
+import com.smartschool.auth.entity.User;
+import com.smartschool.communication.service.SmsOutboxService;
+import com.smartschool.exception.InvalidOperationException;
+import com.smartschool.setup.dto.AcademicSessionResponse;
+import com.smartschool.setup.dto.SectionResponse;
+import com.smartschool.setup.service.CurrentAcademicSessionHolder;
+import com.smartschool.setup.service.SectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static com.smartschool.attendance.entity.AttendanceStatus.ABSENT;
+import static com.smartschool.attendance.entity.AttendanceStatus.ON_LEAVE;
+import static com.smartschool.attendance.entity.AttendanceStatus.PRESENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 17);
+    private static final AcademicSessionResponse SESSION = AcademicSessionResponse.builder()
+            .id(1L)
+            .name("2026")
+            .startDate(LocalDate.of(2026, 1, 1))
+            .endDate(LocalDate.of(2026, 12, 31))
+            .isCurrent(true)
+            .build();
+    private static final SectionResponse SECTION = SectionResponse.builder().id(70L).name("A").classId(7L).build();
+    private static final User ADMIN = user(1L, User.UserRole.ADMIN, null);
+    private static final User TEACHER = user(2L, User.UserRole.TEACHER, 20L);
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private SectionService sectionService;
+
+    @Mock
+    private CurrentAcademicSessionHolder currentSessionHolder;
+
+    @Mock
+    private TeacherAssignmentIndex teacherAssignmentIndex;
+
+    @Mock
+    private SmsOutboxService smsOutboxService;
+
+    @Mock
+    private AttendanceRollupService attendanceRollupService;
+
+    @Mock
+    private AttendanceBitmapIndex attendanceBitmapIndex;
+
+    @InjectMocks
+    private AttendanceService attendanceService;
+
+    @BeforeEach
+    void setUp() {
+        when(currentSessionHolder.getCurrentSessionOrThrow()).thenReturn(SESSION);
+    }
+
+    @Test
+    void wholeSectionIsWrittenInOneUpsert() {
+        when(sectionService.getSectionById(70L)).thenReturn(SECTION);
+        when(attendanceRepository.countEnrolledInSection(1L, 70L, Set.of(1L, 2L, 3L))).thenReturn(3L);
+        // Student 3 was marked in class 9 earlier that day
+        when(attendanceRepository.lockOtherClassIds(7L, DATE, Set.of(1L, 2L, 3L))).thenReturn(List.of(9L));
+        when(attendanceRepository.upsertAll(eq(7L), eq(DATE), eq(1L), any(), any(), any())).thenReturn(3);
+
+        SectionAttendanceResponse response = attendanceService.submitSectionAttendance(70L,
+                request(entry(1L, PRESENT), entry(2L, ABSENT), entry(3L, ON_LEAVE)), ADMIN);
+
+        verify(attendanceRepository).upsertAll(7L, DATE, 1L,
+                new Long[]{1L, 2L, 3L}, new String[]{"PRESENT", "ABSENT", "ON_LEAVE"}, new String[]{null, null, null});
+        verify(attendanceRollupService).refresh(Set.of(7L, 9L), DATE, Set.of(1L, 2L, 3L));
+        verify(smsOutboxService).syncAbsenceAlerts(7L, DATE, List.of(2L), List.of(1L, 3L));
+        verify(attendanceBitmapIndex).applyAfterCommit(7L, DATE,
+                new Long[]{1L, 2L, 3L}, new AttendanceStatus[]{PRESENT, ABSENT, ON_LEAVE});
+        verifyNoInteractions(teacherAssignmentIndex);
+        assertThat(response.getRecorded()).isEqualTo(3);
+        assertThat(response.getPresent()).isEqualTo(1);
+        assertThat(response.getAbsent()).isEqualTo(1);
+        assertThat(response.getOnLeave()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedStudentIsRejectedBeforeAnyWrite() {
+        when(sectionService.getSectionById(70L)).thenReturn(SECTION);
+
+        assertThatThrownBy(() -> attendanceService.submitSectionAttendance(70L,
+                request(entry(1L, PRESENT), entry(1L, ABSENT)), ADMIN))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("more than once");
+        verify(attendanceRepository, never()).upsertAll(anyLong(), any(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void studentOutsideTheSectionIsRejectedBeforeAnyWrite() {
+        when(sectionService.getSectionById(70L)).thenReturn(SECTION);
+        when(attendanceRepository.countEnrolledInSection(1L, 70L, Set.of(1L, 2L))).thenReturn(1L);
+
+        assertThatThrownBy(() -> attendanceService.submitSectionAttendance(70L,
+                request(entry(1L, PRESENT), entry(2L, PRESENT)), ADMIN))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("not enrolled");
+        verify(attendanceRepository, never()).upsertAll(anyLong(), any(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void dateOutsideTheCurrentSessionIsRejected() {
+        SectionAttendanceRequest request = SectionAttendanceRequest.builder()
+                .date(LocalDate.of(2025, 12, 31))
+                .entries(List.of(entry(1L, PRESENT)))
+                .build();
+
+        assertThatThrownBy(() -> attendanceService.submitSectionAttendance(70L, request, ADMIN))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("outside the current academic session");
+        verifyNoInteractions(sectionService, attendanceRepository);
+    }
+
+    @Test
+    void teacherMustBeAssignedToTheSectionsClass() {
+        when(sectionService.getSectionById(70L)).thenReturn(SECTION);
+        when(teacherAssignmentIndex.isAssignedToClass(1L, 20L, 7L)).thenReturn(false);
+
+        assertThatThrownBy(() -> attendanceService.submitSectionAttendance(70L, request(entry(1L, PRESENT)), TEACHER))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(attendanceRepository);
+    }
+
+    @Test
+    void assignedTeacherCanSubmit() {
+        when(sectionService.getSectionById(70L)).thenReturn(SECTION);
+        when(teacherAssignmentIndex.isAssignedToClass(1L, 20L, 7L)).thenReturn(true);
+        when(attendanceRepository.countEnrolledInSection(1L, 70L, Set.of(1L))).thenReturn(1L);
+        when(attendanceRepository.upsertAll(eq(7L), eq(DATE), eq(2L), any(), any(), any())).thenReturn(1);
+
+        SectionAttendanceResponse response = attendanceService.submitSectionAttendance(70L, request(entry(1L, PRESENT)), TEACHER);
+
+        assertThat(response.getRecorded()).isEqualTo(1);
+        verify(attendanceRollupService).refresh(Set.of(7L), DATE, Set.of(1L));
+    }
+
+    private static SectionAttendanceRequest request(AttendanceEntryRequest... entries) {
+        return SectionAttendanceRequest.builder()
+                .date(DATE)
+                .entries(List.of(entries))
+                .build();
+    }
+
+    private static AttendanceEntryRequest entry(Long studentId, AttendanceStatus status) {
+        return AttendanceEntryRequest.builder().studentId(studentId).status(status).build();
+    }
+
+    private static User user(Long id, User.UserRole role, Long personId) {
+        return User.builder()
+                .id(id)
+                .username("user" + id)
+                .password("unused")
+                .role(role)
+                .personId(personId)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.smartschool.attendance.service;
+
+import com.smartschool.attendance.entity.TeacherAssignment;
+import com.smartschool.attendance.repository.TeacherAssignmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherAssignmentIndexTest {
+
+    @Mock
+    private TeacherAssignmentRepository teacherAssignmentRepository;
+
+    @InjectMocks
+    private TeacherAssignmentIndex teacherAssignmentIndex;
+
+    @BeforeEach
+    void setUp() {
+        // Two subjects in the same class collapse into one class assignment
+        when(teacherAssignmentRepository.findAll()).thenReturn(List.of(
+                assignment(1L, 10L, 7L, 100L),
+                assignment(1L, 10L, 7L, 101L)));
+        teacherAssignmentIndex.reload();
+    }
+
+    @Test
+    void loadedAssignmentIsAnsweredWithoutAQuery() {
+        assertThat(teacherAssignmentIndex.isAssignedToClass(1L, 10L, 7L)).isTrue();
+
+        verify(teacherAssignmentRepository, never()).existsByAcademicSessionIdAndStaffIdAndClassId(1L, 10L, 7L);
+    }
+
+    @Test
+    void missIsConfirmedAgainstTheDatabase() {
+        when(teacherAssignmentRepository.existsByAcademicSessionIdAndStaffIdAndClassId(1L, 10L, 8L)).thenReturn(true);
+        when(teacherAssignmentRepository.existsByAcademicSessionIdAndStaffIdAndClassId(2L, 10L, 7L)).thenReturn(false);
+
+        // Assigned after the last reload
+        assertThat(teacherAssignmentIndex.isAssignedToClass(1L, 10L, 8L)).isTrue();
+        // Another session is a different assignment
+        assertThat(teacherAssignmentIndex.isAssignedToClass(2L, 10L, 7L)).isFalse();
+    }
+
+    @Test
+    void reloadDropsRemovedAssignments() {
+        when(teacherAssignmentRepository.findAll()).thenReturn(List.of());
+        teacherAssignmentIndex.reload();
+
+        assertThat(teacherAssignmentIndex.isAssignedToClass(1L, 10L, 7L)).isFalse();
+        verify(teacherAssignmentRepository).existsByAcademicSessionIdAndStaffIdAndClassId(1L, 10L, 7L);
+    }
+
+    private static TeacherAssignment assignment(Long sessionId, Long staffId, Long classId, Long subjectId) {
+        return TeacherAssignment.builder()
+                .academicSessionId(sessionId)
+                .staffId(staffId)
+                .classId(classId)
+                .subjectId(subjectId)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.smartschool.auth.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SecurityConfigTest {
+
+    @Test
+    void newHashesCarryTheConfiguredEncoderId() {
+        assertThat(passwordEncoder("bcrypt", 4).encode("secret")).startsWith("{bcrypt}$2a$04$");
+        assertThat(passwordEncoder("pbkdf2", 4).encode("secret")).startsWith("{pbkdf2}");
+        assertThat(passwordEncoder("argon2", 4).encode("secret")).startsWith("{argon2}$argon2id$");
+    }
+
+    @Test
+    void legacyUnprefixedBcryptHashStillMatches() {
+        String legacy = new BCryptPasswordEncoder(4).encode("admin123");
+        PasswordEncoder encoder = passwordEncoder("argon2", 4);
+
+        assertThat(encoder.matches("admin123", legacy)).isTrue();
+        assertThat(encoder.matches("wrong", legacy)).isFalse();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void hashesOfEveryEncoderMatchWhicheverIsConfigured() {
+        String bcrypt = passwordEncoder("bcrypt", 4).encode("secret");
+        String pbkdf2 = passwordEncoder("pbkdf2", 4).encode("secret");
+        PasswordEncoder encoder = passwordEncoder("argon2", 4);
+
+        assertThat(encoder.matches("secret", bcrypt)).isTrue();
+        assertThat(encoder.matches("secret", pbkdf2)).isTrue();
+    }
+
+    @Test
+    void hashIsUpgradedWhenTheEncoderOrStrengthChanges() {
+        String weak = passwordEncoder("bcrypt", 4).encode("secret");
+
+        assertThat(passwordEncoder("bcrypt", 4).upgradeEncoding(weak)).isFalse();
+        assertThat(passwordEncoder("bcrypt", 5).upgradeEncoding(weak)).isTrue();
+        assertThat(passwordEncoder("pbkdf2", 4).upgradeEncoding(weak)).isTrue();
+    }
+
+    @Test
+    void unknownEncoderIdFailsAtStartup() {
+        assertThatThrownBy(() -> passwordEncoder("md5", 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("md5");
+    }
+
+    private static PasswordEncoder passwordEncoder(String encoderId, int bcryptStrength) {
+        SecurityConfig config = new SecurityConfig(null, null, null);
+        ReflectionTestUtils.setField(config, "passwordEncoderId", encoderId);
+        ReflectionTestUtils.setField(config, "bcryptStrength", bcryptStrength);
+        return config.passwordEncoder();
+    }
+}
@@ -0,0 +1,96 @@
+package com.smartschool.auth.service;
+
+import com.smartschool.auth.config.LoginExecutorConfig;
+import com.smartschool.auth.dto.AuthResponse;
+import com.smartschool.auth.dto.LoginRequest;
+import com.smartschool.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    private ThreadPoolTaskExecutor loginExecutor;
+
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        LoginExecutorConfig config = new LoginExecutorConfig();
+        ReflectionTestUtils.setField(config, "threads", 1);
+        ReflectionTestUtils.setField(config, "queueCapacity", 1);
+        loginExecutor = config.loginExecutor();
+        authService = new AuthService(null, null, null, authenticationManager, null, null, loginExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginExecutor.shutdown();
+    }
+
+    @Test
+    void loginRunsOnTheLoginExecutor() {
+        String[] threadName = new String[1];
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            threadName[0] = Thread.currentThread().getName();
+            throw new BadCredentialsException("Bad credentials");
+        });
+
+        CompletableFuture<AuthResponse> login = authService.loginAsync(request());
+
+        assertThatThrownBy(login::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(BadCredentialsException.class);
+        assertThat(threadName[0]).startsWith("login-");
+    }
+
+    @Test
+    void loginIsRejectedOnceThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            hashing.countDown();
+            release.await();
+            throw new BadCredentialsException("Bad credentials");
+        });
+
+        CompletableFuture<AuthResponse> running = authService.loginAsync(request());
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<AuthResponse> queued = authService.loginAsync(request());
+
+        assertThatThrownBy(() -> authService.loginAsync(request()))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        release.countDown();
+        assertThatThrownBy(running::get).hasCauseInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(queued::get).hasCauseInstanceOf(BadCredentialsException.class);
+    }
+
+    private static LoginRequest request() {
+        return LoginRequest.builder()
+                .username("teacher")
+                .password("secret")
+                .build();
+    }
+}
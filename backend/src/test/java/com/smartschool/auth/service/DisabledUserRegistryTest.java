@@ -0,0 +1,76 @@
+package com.smartschool.auth.service;
+
+import com.smartschool.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DisabledUserRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private DisabledUserRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DisabledUserRegistry(userRepository);
+    }
+
+    @Test
+    void onlyExistsForStatelessPrincipals() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withBean(UserRepository.class, () -> mock(UserRepository.class))
+                .withUserConfiguration(DisabledUserRegistry.class);
+
+        runner.run(context -> assertThat(context).doesNotHaveBean(DisabledUserRegistry.class));
+        runner.withPropertyValues("app.jwt.stateless-principal=false")
+                .run(context -> assertThat(context).doesNotHaveBean(DisabledUserRegistry.class));
+        runner.withPropertyValues("app.jwt.stateless-principal=true")
+                .run(context -> assertThat(context).hasSingleBean(DisabledUserRegistry.class));
+    }
+
+    @Test
+    void disabledAccountIsRejectedOnlyAfterItsTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.markDisabledAfterCommit("teacher1");
+            assertThat(registry.isDisabled("teacher1")).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(registry.isDisabled("teacher1")).isTrue();
+    }
+
+    @Test
+    void markDuringARefreshSurvivesItsStaleResult() {
+        // The account is disabled while the query runs, after it read the users table
+        when(userRepository.findDisabledUsernames()).thenAnswer(invocation -> {
+            registry.markDisabledAfterCommit("teacher1");
+            return Set.of("parent1");
+        }).thenReturn(Set.of("parent1"));
+
+        registry.refresh();
+        assertThat(registry.isDisabled("teacher1")).isTrue();
+        assertThat(registry.isDisabled("parent1")).isTrue();
+
+        // A later refresh saw the commit, so its result decides: the account has been re-enabled since
+        registry.refresh();
+        assertThat(registry.isDisabled("teacher1")).isFalse();
+    }
+}
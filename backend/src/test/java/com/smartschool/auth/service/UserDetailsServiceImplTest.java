@@ -0,0 +1,105 @@
+package com.smartschool.auth.service;
+
+import com.smartschool.auth.entity.User;
+import com.smartschool.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userDetailsService, "userCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsService, "userCacheTtl", Duration.ofMinutes(5));
+        userDetailsService.init();
+    }
+
+    @Test
+    void loadedUserIsServedFromTheCacheUntilEvicted() {
+        when(userRepository.findByUsername("teacher")).thenReturn(Optional.of(user("teacher")));
+
+        assertThat(userDetailsService.loadUserByUsername("teacher"))
+                .isSameAs(userDetailsService.loadUserByUsername("teacher"));
+        verify(userRepository, times(1)).findByUsername("teacher");
+
+        userDetailsService.evictUser("teacher");
+        userDetailsService.loadUserByUsername("teacher");
+        verify(userRepository, times(2)).findByUsername("teacher");
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    void databaseLookupDoesNotHoldTheCacheLock() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByUsername("teacher")).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await();
+            return Optional.of(user("teacher"));
+        });
+
+        CompletableFuture<?> load = CompletableFuture.runAsync(() -> userDetailsService.loadUserByUsername("teacher"));
+        assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Would block on the key's compute lock if the query ran inside Cache.get(key, loader)
+        CompletableFuture<Void> evict = CompletableFuture.runAsync(() -> userDetailsService.evictUser("teacher"));
+        evict.get(5, TimeUnit.SECONDS);
+
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void upgradedPasswordIsStoredAndTheCachedUserEvicted() {
+        User teacher = user("teacher");
+        when(userRepository.findByUsername("teacher")).thenReturn(Optional.of(teacher));
+        userDetailsService.loadUserByUsername("teacher");
+
+        userDetailsService.updatePassword(teacher, "{argon2}new-hash");
+
+        verify(userRepository).updatePassword("teacher", "{argon2}new-hash");
+        assertThat(teacher.getPassword()).isEqualTo("{argon2}new-hash");
+        userDetailsService.loadUserByUsername("teacher");
+        verify(userRepository, times(2)).findByUsername("teacher");
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .password("{bcrypt}hash")
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.smartschool.auth.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+    private static final String OTHER_SECRET = Base64.getEncoder().encodeToString("fedcba9876543210fedcba9876543210".getBytes());
+    private static final UserDetails TEACHER = new User("teacher", "unused", List.of());
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(SECRET, 60_000L);
+    }
+
+    @Test
+    void generatedTokenValidatesAndCarriesItsClaims() {
+        String token = jwtUtil.generateToken(Map.of(JwtUtil.CLAIM_ROLE, "TEACHER", JwtUtil.CLAIM_USER_ID, 7), TEACHER);
+
+        assertThat(jwtUtil.validateToken(token, TEACHER)).isTrue();
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("teacher");
+        String role = jwtUtil.extractClaim(token, claims -> claims.get(JwtUtil.CLAIM_ROLE, String.class));
+        assertThat(role).isEqualTo("TEACHER");
+        assertThat(jwtUtil.validateToken(token, new User("admin", "unused", List.of()))).isFalse();
+    }
+
+    @Test
+    void verifiedClaimsAreServedFromTheCache() {
+        String token = jwtUtil.generateToken(TEACHER);
+
+        Claims first = jwtUtil.extractAllClaims(token);
+        Claims second = jwtUtil.extractAllClaims(token);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void tokensAreCachedSeparately() {
+        String teacherToken = jwtUtil.generateToken(TEACHER);
+        String adminToken = jwtUtil.generateToken(new User("admin", "unused", List.of()));
+
+        assertThat(jwtUtil.extractUsername(teacherToken)).isEqualTo("teacher");
+        assertThat(jwtUtil.extractUsername(adminToken)).isEqualTo("admin");
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenWhenTheOriginalIsCached() {
+        String token = jwtUtil.generateToken(TEACHER);
+        jwtUtil.extractAllClaims(token);
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\",\"exp\":4102444800}".getBytes());
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertThatThrownBy(() -> jwtUtil.extractAllClaims(forged)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String foreign = newJwtUtil(OTHER_SECRET, 60_000L).generateToken(TEACHER);
+
+        assertThatThrownBy(() -> jwtUtil.extractAllClaims(foreign)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void expiredTokenIsRejectedAndNeverCached() {
+        String expired = newJwtUtil(SECRET, -1_000L).generateToken(TEACHER);
+
+        assertThatThrownBy(() -> jwtUtil.extractAllClaims(expired)).isInstanceOf(ExpiredJwtException.class);
+        assertThatThrownBy(() -> jwtUtil.extractAllClaims(expired)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private static JwtUtil newJwtUtil(String secret, long expirationMs) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", secret);
+        ReflectionTestUtils.setField(util, "expirationMs", expirationMs);
+        ReflectionTestUtils.setField(util, "claimsCacheMaxSize", 100L);
+        util.init();
+        return util;
+    }
+}
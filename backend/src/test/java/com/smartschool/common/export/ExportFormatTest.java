@@ -0,0 +1,38 @@
+package com.smartschool.common.export;
+
+import com.smartschool.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExportFormatTest {
+
+    @Test
+    void resolvesByExtensionIgnoringCase() {
+        assertThat(ExportFormat.from("csv")).isEqualTo(ExportFormat.CSV);
+        assertThat(ExportFormat.from("CSV")).isEqualTo(ExportFormat.CSV);
+        assertThat(ExportFormat.from("NdJson")).isEqualTo(ExportFormat.NDJSON);
+    }
+
+    @Test
+    void unknownFormatListsTheSupportedOnes() {
+        assertThatThrownBy(() -> ExportFormat.from("xlsx"))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Unsupported export format 'xlsx'. Supported formats: ndjson, csv");
+    }
+
+    @Test
+    void nullFormatIsRejected() {
+        assertThatThrownBy(() -> ExportFormat.from(null)).isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void exposesMediaTypeAndExtension() {
+        assertThat(ExportFormat.CSV.getMediaType()).isEqualTo(MediaType.parseMediaType("text/csv"));
+        assertThat(ExportFormat.NDJSON.getMediaType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(ExportFormat.NDJSON.getExtension()).isEqualTo("ndjson");
+        assertThat(ExportFormat.CSV.toString()).isEqualTo("csv");
+    }
+}
@@ -0,0 +1,151 @@
+package com.smartschool.common.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StreamingExporterTest {
+
+    private record Row(Long id, String name, BigDecimal amount) {
+    }
+
+    private static final List<ExportColumn<Row>> COLUMNS = List.of(
+            ExportColumn.of("id", Row::id),
+            ExportColumn.of("name", Row::name),
+            ExportColumn.of("amount", Row::amount));
+
+    private PlatformTransactionManager transactionManager;
+    private StreamingExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        exporter = new StreamingExporter(new ObjectMapper().registerModule(new JavaTimeModule()), transactionManager);
+    }
+
+    @Test
+    void csvHasHeaderAndCrlfLines() throws IOException {
+        String csv = write(ExportFormat.CSV, new Row(1L, "Grade 1", new BigDecimal("10.50")));
+
+        assertThat(csv).isEqualTo("id,name,amount\r\n1,Grade 1,10.50\r\n");
+    }
+
+    @Test
+    void csvQuotesSeparatorsQuotesAndLineBreaks() throws IOException {
+        String csv = write(ExportFormat.CSV,
+                new Row(1L, "Smith, John", null),
+                new Row(2L, "The \"A\" section", null),
+                new Row(3L, "two\nlines", null),
+                new Row(4L, "carriage\rreturn", null));
+
+        assertThat(csv.split("\r\n", -1)).containsExactly(
+                "id,name,amount",
+                "1,\"Smith, John\",",
+                "2,\"The \"\"A\"\" section\",",
+                "3,\"two\nlines\",",
+                "4,\"carriage\rreturn\",",
+                "");
+    }
+
+    @Test
+    void csvNeutralisesFormulaPrefixesInText() throws IOException {
+        String csv = write(ExportFormat.CSV,
+                new Row(1L, "=SUM(A1:A2)", null),
+                new Row(2L, "+1", null),
+                new Row(3L, "-1", null),
+                new Row(4L, "@cmd", null),
+                new Row(5L, "=1,2", null));
+
+        assertThat(csv.split("\r\n")).containsExactly(
+                "id,name,amount",
+                "1,'=SUM(A1:A2),",
+                "2,'+1,",
+                "3,'-1,",
+                "4,'@cmd,",
+                "5,\"'=1,2\",");
+    }
+
+    @Test
+    void csvLeavesNegativeNumbersAlone() throws IOException {
+        String csv = write(ExportFormat.CSV, new Row(-7L, "x", new BigDecimal("-3.25")));
+
+        assertThat(csv).endsWith("-7,x,-3.25\r\n");
+    }
+
+    @Test
+    void csvWritesNullsAsEmptyFields() throws IOException {
+        String csv = write(ExportFormat.CSV, new Row(null, null, null));
+
+        assertThat(csv).endsWith("\r\n,,\r\n");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        String ndjson = write(ExportFormat.NDJSON,
+                new Row(1L, "Smith, \"J\"", new BigDecimal("1.5")),
+                new Row(2L, null, null));
+
+        assertThat(ndjson.split("\n")).containsExactly(
+                "{\"id\":1,\"name\":\"Smith, \\\"J\\\"\",\"amount\":1.5}",
+                "{\"id\":2,\"name\":null,\"amount\":null}");
+        assertThat(ndjson).endsWith("\n");
+    }
+
+    @Test
+    void responseCarriesMediaTypeAndDatedFileName() {
+        ResponseEntity<StreamingResponseBody> response =
+                exporter.export("classes", ExportFormat.CSV, COLUMNS, Stream::empty);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(ExportFormat.CSV.getMediaType());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .isEqualTo("attachment; filename=\"classes-" + LocalDate.now() + ".csv\"");
+    }
+
+    @Test
+    void rowsAreOpenedLazilyInsideAReadOnlyTransactionAndClosed() throws IOException {
+        AtomicBoolean opened = new AtomicBoolean();
+        AtomicBoolean closed = new AtomicBoolean();
+        ResponseEntity<StreamingResponseBody> response = exporter.export("classes", ExportFormat.NDJSON, COLUMNS, () -> {
+            opened.set(true);
+            return Stream.of(new Row(1L, "a", null)).onClose(() -> closed.set(true));
+        });
+
+        assertThat(opened).isFalse();
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        assertThat(opened).isTrue();
+        assertThat(closed).isTrue();
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    private String write(ExportFormat format, Row... rows) throws IOException {
+        ResponseEntity<StreamingResponseBody> response = exporter.export("test", format, COLUMNS, () -> Stream.of(rows));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
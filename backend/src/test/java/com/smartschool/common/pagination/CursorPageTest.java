@@ -0,0 +1,65 @@
+package com.smartschool.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPageTest {
+
+    @Test
+    void extraRowMeansAnotherSliceFollows() {
+        CursorPage<Long> page = CursorPage.of(List.of(11L, 12L, 13L, 14L), 3, Function.identity());
+
+        assertThat(page.content()).containsExactly(11L, 12L, 13L);
+        assertThat(page.nextCursor()).isEqualTo(13L);
+    }
+
+    @Test
+    void exactlySizeRowsIsTheLastSlice() {
+        CursorPage<Long> page = CursorPage.of(List.of(11L, 12L, 13L), 3, Function.identity());
+
+        assertThat(page.content()).containsExactly(11L, 12L, 13L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void fewerRowsThanSizeIsTheLastSlice() {
+        CursorPage<Long> page = CursorPage.of(List.of(11L), 3, Function.identity());
+
+        assertThat(page.content()).containsExactly(11L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void emptyResultHasNoCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(), 3, Function.identity());
+
+        assertThat(page.content()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void cursorComesFromTheIdExtractor() {
+        record Row(Long id, String name) {
+        }
+        List<Row> rows = List.of(new Row(5L, "a"), new Row(9L, "b"), new Row(20L, "c"));
+
+        CursorPage<Row> page = CursorPage.of(rows, 2, Row::id);
+
+        assertThat(page.content()).extracting(Row::name).containsExactly("a", "b");
+        assertThat(page.nextCursor()).isEqualTo(9L);
+    }
+
+    @Test
+    void mapKeepsTheCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L, 3L), 2, Function.identity());
+
+        CursorPage<String> mapped = page.map(id -> "#" + id);
+
+        assertThat(mapped.content()).containsExactly("#1", "#2");
+        assertThat(mapped.nextCursor()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,40 @@
+package com.smartschool.common.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageRequestsTest {
+
+    @Test
+    void unsortedRequestIsOrderedById() {
+        Pageable pageable = PageRequests.withStableOrder(PageRequest.of(2, 25));
+
+        assertThat(pageable.getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getPageSize()).isEqualTo(25);
+        assertThat(pageable.getSort()).isEqualTo(Sort.by("id"));
+    }
+
+    @Test
+    void idIsAppendedAfterTheRequestedSort() {
+        Pageable pageable = PageRequests.withStableOrder(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "name")));
+
+        assertThat(pageable.getSort()).containsExactly(
+                Sort.Order.desc("name"),
+                Sort.Order.asc("id"));
+    }
+
+    @Test
+    void explicitIdSortIsKept() {
+        Pageable pageable = PageRequests.withStableOrder(
+                PageRequest.of(0, 10, Sort.by(Sort.Order.desc("id"), Sort.Order.asc("name"))));
+
+        assertThat(pageable.getSort()).containsExactly(
+                Sort.Order.desc("id"),
+                Sort.Order.asc("name"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.smartschool.common.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaginationHeadersTest {
+
+    @Test
+    void offsetPageReportsTotalCount() {
+        ResponseEntity<List<String>> response = PaginationHeaders.ok(
+                new PageImpl<>(List.of("a", "b"), PageRequest.of(0, 2), 7));
+
+        assertThat(response.getHeaders().getFirst(PaginationHeaders.TOTAL_COUNT)).isEqualTo("7");
+        assertThat(response.getBody()).containsExactly("a", "b");
+    }
+
+    @Test
+    void cursorHeaderIsOmittedOnLastSlice() {
+        ResponseEntity<List<String>> last = PaginationHeaders.ok(new CursorPage<>(List.of("a"), null));
+        ResponseEntity<List<String>> middle = PaginationHeaders.ok(new CursorPage<>(List.of("a"), 42L));
+
+        assertThat(last.getHeaders().containsKey(PaginationHeaders.NEXT_CURSOR)).isFalse();
+        assertThat(middle.getHeaders().getFirst(PaginationHeaders.NEXT_CURSOR)).isEqualTo("42");
+    }
+}
@@ -0,0 +1,214 @@
+package com.smartschool.communication.service;
+
+import com.smartschool.communication.entity.SmsLog;
+import com.smartschool.communication.entity.SmsOutbox;
+import com.smartschool.communication.entity.SmsOutboxStatus;
+import com.smartschool.communication.entity.SmsTemplate;
+import com.smartschool.communication.gateway.SmsDeliveryResult;
+import com.smartschool.communication.gateway.SmsGateway;
+import com.smartschool.communication.gateway.SmsMessage;
+import com.smartschool.communication.repository.SmsLogRepository;
+import com.smartschool.communication.repository.SmsOutboxRepository;
+import com.smartschool.communication.repository.SmsTemplateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SmsDispatcherTest {
+
+    private static final String ABSENCE = "Student Absenteeism";
+
+    @Mock
+    private SmsOutboxRepository smsOutboxRepository;
+
+    @Mock
+    private SmsTemplateRepository smsTemplateRepository;
+
+    @Mock
+    private SmsLogRepository smsLogRepository;
+
+    @Mock
+    private SmsGateway smsGateway;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SmsDispatcher dispatcher;
+
+    @Captor
+    private ArgumentCaptor<List<SmsMessage>> messagesCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<SmsLog>> logsCaptor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(dispatcher, "ratePerSecond", 1000);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(dispatcher, "maxRetryBackoff", Duration.ofHours(1));
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofMinutes(5));
+        dispatcher.init();
+    }
+
+    @Test
+    void rendersTheTemplateAndRecordsTheSentMessage() {
+        SmsOutbox alert = alert(1L, ABSENCE, 0);
+        batches(List.of(alert));
+        templates(template(ABSENCE, "Dear Parent, {student_name} was absent from {class_name} on {date}. {footer}"));
+        when(smsGateway.sendBatch(any())).thenAnswer(invocation -> sentAll(invocation.getArgument(0)));
+
+        dispatcher.dispatch();
+
+        verify(smsGateway).sendBatch(messagesCaptor.capture());
+        // Placeholders without a value are left in the text
+        assertThat(messagesCaptor.getValue()).containsExactly(new SmsMessage(1L, "+923001234567",
+                "Dear Parent, Ali Khan was absent from Grade 5 on 2026-10-12. {footer}"));
+        assertThat(alert.getStatus()).isEqualTo(SmsOutboxStatus.SENT);
+        assertThat(alert.getAttempts()).isEqualTo(1);
+        assertThat(alert.getLockedUntil()).isNull();
+        assertThat(alert.getSentAt()).isNotNull();
+        verify(smsLogRepository).saveAll(logsCaptor.capture());
+        assertThat(logsCaptor.getValue()).singleElement()
+                .satisfies(log -> {
+                    assertThat(log.getStatus()).isEqualTo("SENT");
+                    assertThat(log.getMessage()).startsWith("Dear Parent, Ali Khan");
+                });
+    }
+
+    @Test
+    void gatewayFailureIsRetriedAfterTheBackoff() {
+        SmsOutbox alert = alert(1L, ABSENCE, 0);
+        batches(List.of(alert));
+        templates(template(ABSENCE, "{student_name} was absent"));
+        when(smsGateway.sendBatch(any())).thenThrow(new IllegalStateException("gateway down"));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        assertThat(alert.getStatus()).isEqualTo(SmsOutboxStatus.PENDING);
+        assertThat(alert.getAttempts()).isEqualTo(1);
+        assertThat(alert.getLastError()).isEqualTo("gateway down");
+        assertThat(alert.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+        verify(smsLogRepository).saveAll(logsCaptor.capture());
+        assertThat(logsCaptor.getValue()).isEmpty();
+    }
+
+    @Test
+    void lastFailedAttemptIsFinalAndLogged() {
+        SmsOutbox alert = alert(1L, ABSENCE, 2);
+        batches(List.of(alert));
+        templates(template(ABSENCE, "{student_name} was absent"));
+        when(smsGateway.sendBatch(any())).thenReturn(List.of(SmsDeliveryResult.failed(1L, "invalid number")));
+
+        dispatcher.dispatch();
+
+        assertThat(alert.getStatus()).isEqualTo(SmsOutboxStatus.FAILED);
+        assertThat(alert.getAttempts()).isEqualTo(3);
+        verify(smsLogRepository).saveAll(logsCaptor.capture());
+        assertThat(logsCaptor.getValue()).singleElement()
+                .satisfies(log -> assertThat(log.getStatus()).isEqualTo("FAILED"));
+    }
+
+    @Test
+    void messageWithoutATemplateFailsWithoutAGatewayCall() {
+        SmsOutbox alert = alert(1L, "Removed Template", 0);
+        batches(List.of(alert));
+        templates();
+
+        dispatcher.dispatch();
+
+        verify(smsGateway, never()).sendBatch(any());
+        assertThat(alert.getStatus()).isEqualTo(SmsOutboxStatus.FAILED);
+        assertThat(alert.getLastError()).contains("Removed Template");
+    }
+
+    @Test
+    void messageMissingFromTheGatewayResultIsRetried() {
+        SmsOutbox first = alert(1L, ABSENCE, 0);
+        SmsOutbox second = alert(2L, ABSENCE, 0);
+        batches(List.of(first, second), List.of());
+        templates(template(ABSENCE, "{student_name} was absent"));
+        when(smsGateway.sendBatch(any())).thenReturn(List.of(SmsDeliveryResult.sent(1L)));
+
+        dispatcher.dispatch();
+
+        assertThat(first.getStatus()).isEqualTo(SmsOutboxStatus.SENT);
+        assertThat(second.getStatus()).isEqualTo(SmsOutboxStatus.PENDING);
+        assertThat(second.getLastError()).isEqualTo("No result reported by the gateway");
+    }
+
+    @Test
+    void fullBatchesAreDrainedInOneRound() {
+        batches(List.of(alert(1L, ABSENCE, 0), alert(2L, ABSENCE, 0)), List.of(alert(3L, ABSENCE, 0)));
+        templates(template(ABSENCE, "{student_name} was absent"));
+        when(smsGateway.sendBatch(any())).thenAnswer(invocation -> sentAll(invocation.getArgument(0)));
+
+        dispatcher.dispatch();
+
+        verify(smsOutboxRepository, times(2)).lockDueBatch(2);
+        verify(smsGateway, times(2)).sendBatch(any());
+    }
+
+    @SafeVarargs
+    private void batches(List<SmsOutbox> first, List<SmsOutbox>... more) {
+        List<SmsOutbox> all = new ArrayList<>(first);
+        for (List<SmsOutbox> batch : more) {
+            all.addAll(batch);
+        }
+        when(smsOutboxRepository.lockDueBatch(anyInt())).thenReturn(first, more);
+        when(smsOutboxRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<SmsOutbox> rows = new ArrayList<>();
+            ids.forEach(id -> all.stream().filter(row -> row.getId().equals(id)).forEach(rows::add));
+            return rows;
+        });
+    }
+
+    private void templates(SmsTemplate... templates) {
+        when(smsTemplateRepository.findByNameIn(any())).thenReturn(List.of(templates));
+    }
+
+    private static List<SmsDeliveryResult> sentAll(List<SmsMessage> messages) {
+        return messages.stream().map(message -> SmsDeliveryResult.sent(message.id())).toList();
+    }
+
+    private static SmsOutbox alert(Long id, String templateName, int attempts) {
+        return SmsOutbox.builder()
+                .id(id)
+                .dedupKey("absence:" + id + ":2026-10-12")
+                .templateName(templateName)
+                .recipientPhone("+923001234567")
+                .variables(Map.of("student_name", "Ali Khan", "class_name", "Grade 5", "date", "2026-10-12"))
+                .attempts(attempts)
+                .build();
+    }
+
+    private static SmsTemplate template(String name, String content) {
+        return SmsTemplate.builder().name(name).content(content).build();
+    }
+}
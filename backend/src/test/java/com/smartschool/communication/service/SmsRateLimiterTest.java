@@ -0,0 +1,94 @@
+package com.smartschool.communication.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmsRateLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000 * MS);
+
+    @Test
+    void firstReservationDoesNotWait() {
+        SmsRateLimiter limiter = new SmsRateLimiter(10, clock::get);
+
+        assertThat(limiter.reserve(5)).isZero();
+    }
+
+    @Test
+    void batchReservesOneSlotPerMessage() {
+        SmsRateLimiter limiter = new SmsRateLimiter(10, clock::get);
+
+        limiter.reserve(5);
+
+        // 5 messages at 10/s occupy the next 500 ms
+        assertThat(limiter.reserve(1)).isEqualTo(500 * MS);
+        assertThat(limiter.reserve(1)).isEqualTo(600 * MS);
+    }
+
+    @Test
+    void elapsedTimeIsCreditedButUnusedCapacityIsNotBanked() {
+        SmsRateLimiter limiter = new SmsRateLimiter(10, clock::get);
+        limiter.reserve(5);
+
+        clock.addAndGet(200 * MS);
+        assertThat(limiter.reserve(1)).isEqualTo(300 * MS);
+
+        // An idle period longer than the backlog leaves no burst allowance behind
+        clock.addAndGet(10_000 * MS);
+        assertThat(limiter.reserve(3)).isZero();
+        assertThat(limiter.reserve(1)).isEqualTo(300 * MS);
+    }
+
+    @Test
+    void nonPositiveRateFallsBackToOnePerSecond() {
+        SmsRateLimiter limiter = new SmsRateLimiter(0, clock::get);
+
+        limiter.reserve(1);
+
+        assertThat(limiter.reserve(1)).isEqualTo(1000 * MS);
+    }
+
+    @Test
+    void concurrentCallersGetDistinctSlots() throws Exception {
+        SmsRateLimiter limiter = new SmsRateLimiter(100, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> waits = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                waits.add(executor.submit(() -> limiter.reserve(1)));
+            }
+            List<Long> slots = new ArrayList<>();
+            for (Future<Long> wait : waits) {
+                slots.add(wait.get());
+            }
+
+            assertThat(slots).doesNotHaveDuplicates();
+            assertThat(slots).hasSize(100).allMatch(wait -> wait % (10 * MS) == 0);
+            assertThat(slots).contains(0L, 990 * MS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void acquireSleepsForTheReservedWait() throws InterruptedException {
+        SmsRateLimiter limiter = new SmsRateLimiter(20);
+        limiter.acquire(2);
+
+        long start = System.nanoTime();
+        limiter.acquire(1);
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(90 * MS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.smartschool.communication.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmsRetryBackoffTest {
+
+    private final SmsRetryBackoff backoff = new SmsRetryBackoff(Duration.ofSeconds(30), Duration.ofHours(1));
+
+    @Test
+    void doublesAfterEachAttempt() {
+        assertThat(backoff.delayAfter(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(backoff.delayAfter(2)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(backoff.delayAfter(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(backoff.delayAfter(7)).isEqualTo(Duration.ofMinutes(32));
+    }
+
+    @Test
+    void isCappedAtTheMaximum() {
+        assertThat(backoff.delayAfter(8)).isEqualTo(Duration.ofHours(1));
+        assertThat(backoff.delayAfter(50)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void hugeAttemptCountsDoNotOverflow() {
+        assertThat(backoff.delayAfter(Integer.MAX_VALUE)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void attemptCountBelowOneIsTreatedAsTheFirstRetry() {
+        assertThat(backoff.delayAfter(0)).isEqualTo(Duration.ofSeconds(30));
+    }
+}
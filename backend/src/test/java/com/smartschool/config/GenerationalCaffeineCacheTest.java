@@ -0,0 +1,87 @@
+package com.smartschool.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GenerationalCaffeineCacheTest {
+
+    private GenerationalCaffeineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GenerationalCaffeineCache("test", Caffeine.newBuilder().build(), true);
+    }
+
+    @Test
+    void syncGetLoadsOnceAndServesHits() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("k", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(cache.get("k", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void loadThatSpansAnEvictionIsReturnedButNotKept() {
+        // The loader read the database before a writer committed; the writer's eviction lands mid-load
+        String stale = cache.get("k", () -> {
+            cache.clear();
+            return "stale";
+        });
+
+        assertThat(stale).isEqualTo("stale");
+        assertThat(cache.get("k")).isNull();
+        assertThat(cache.get("k", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void putBeforeEvictionIsNotServedAfterIt() {
+        cache.put("k", "old");
+        cache.evict("other");
+
+        assertThat(cache.get("k")).isNull();
+        assertThat(cache.get("k", () -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    void nullValuesAreCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("k", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        Cache.ValueWrapper wrapper = cache.get("k");
+
+        assertThat(wrapper).isNotNull();
+        assertThat(wrapper.get()).isNull();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void loaderFailureIsWrappedAndNothingIsStored() {
+        assertThatThrownBy(() -> cache.get("k", () -> {
+            throw new IllegalStateException("boom");
+        }))
+                .isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("k")).isNull();
+    }
+
+    @Test
+    void putIfAbsentKeepsCurrentEntry() {
+        assertThat(cache.putIfAbsent("k", "first")).isNull();
+        assertThat(cache.putIfAbsent("k", "second").get()).isEqualTo("first");
+
+        cache.clear();
+        assertThat(cache.putIfAbsent("k", "third")).isNull();
+        assertThat(cache.get("k").get()).isEqualTo("third");
+    }
+}
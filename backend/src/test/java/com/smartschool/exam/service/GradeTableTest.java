@@ -0,0 +1,96 @@
+package com.smartschool.exam.service;
+
+import com.smartschool.exam.entity.GradingScale;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradeTableTest {
+
+    // Listed out of order on purpose; 89.01-89.99 is a gap between B and A
+    private static final GradeTable TABLE = GradeTable.of(List.of(
+            band("A", "90.00", "100.00"),
+            band("C", "50.00", "69.99"),
+            band("F", "33.00", "49.99"),
+            band("B", "70.00", "89.00")));
+
+    @Test
+    void minimumOfABandBelongsToThatBand() {
+        assertThat(TABLE.grade(new BigDecimal("33.00"))).isEqualTo("F");
+        assertThat(TABLE.grade(new BigDecimal("50.00"))).isEqualTo("C");
+        assertThat(TABLE.grade(new BigDecimal("70"))).isEqualTo("B");
+        assertThat(TABLE.grade(new BigDecimal("90.00"))).isEqualTo("A");
+    }
+
+    @Test
+    void maximumOfABandBelongsToThatBand() {
+        assertThat(TABLE.grade(new BigDecimal("49.99"))).isEqualTo("F");
+        assertThat(TABLE.grade(new BigDecimal("69.99"))).isEqualTo("C");
+        assertThat(TABLE.grade(new BigDecimal("89.00"))).isEqualTo("B");
+        assertThat(TABLE.grade(new BigDecimal("100.00"))).isEqualTo("A");
+    }
+
+    @Test
+    void gapBetweenBandsFallsIntoTheLowerBand() {
+        assertThat(TABLE.grade(new BigDecimal("89.01"))).isEqualTo("B");
+        assertThat(TABLE.grade(new BigDecimal("89.50"))).isEqualTo("B");
+        assertThat(TABLE.grade(new BigDecimal("89.99"))).isEqualTo("B");
+    }
+
+    @Test
+    void belowEveryBandIsUngraded() {
+        assertThat(TABLE.grade(new BigDecimal("32.99"))).isNull();
+        assertThat(TABLE.grade(BigDecimal.ZERO)).isNull();
+        assertThat(TABLE.grade(null)).isNull();
+    }
+
+    @Test
+    void aboveTheTopBandKeepsTheTopGrade() {
+        assertThat(TABLE.grade(new BigDecimal("100.01"))).isEqualTo("A");
+    }
+
+    @Test
+    void emptyScaleGradesNothing() {
+        GradeTable empty = GradeTable.of(List.of());
+
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.grade(new BigDecimal("75.00"))).isNull();
+        assertThat(TABLE.isEmpty()).isFalse();
+    }
+
+    @Test
+    void percentageIsRoundedHalfUpToTwoDecimals() {
+        assertThat(GradeTable.percentage(new BigDecimal("1"), new BigDecimal("3"))).isEqualTo(new BigDecimal("33.33"));
+        assertThat(GradeTable.percentage(new BigDecimal("2"), new BigDecimal("3"))).isEqualTo(new BigDecimal("66.67"));
+        // 0.005 is rounded up, as ROUND does in PostgreSQL
+        assertThat(GradeTable.percentage(new BigDecimal("0.01"), new BigDecimal("200"))).isEqualTo(new BigDecimal("0.01"));
+        assertThat(GradeTable.percentage(new BigDecimal("45"), new BigDecimal("50"))).isEqualTo(new BigDecimal("90.00"));
+    }
+
+    @Test
+    void roundingCanMoveAMarkAcrossABoundary() {
+        // 62.995 / 70 = 89.992...% rounds to 89.99 (gap, so B); 69.9965 / 70 = 99.995% rounds to 100.00
+        assertThat(TABLE.grade(GradeTable.percentage(new BigDecimal("62.995"), new BigDecimal("70")))).isEqualTo("B");
+        assertThat(GradeTable.percentage(new BigDecimal("69.9965"), new BigDecimal("70"))).isEqualTo(new BigDecimal("100.00"));
+        // 44.9975 / 50 = 89.995% rounds up to 90.00, the minimum of A
+        assertThat(TABLE.grade(GradeTable.percentage(new BigDecimal("44.9975"), new BigDecimal("50")))).isEqualTo("A");
+    }
+
+    @Test
+    void percentageIsMissingWithoutMarksOrMaximum() {
+        assertThat(GradeTable.percentage(null, new BigDecimal("50"))).isNull();
+        assertThat(GradeTable.percentage(new BigDecimal("10"), null)).isNull();
+        assertThat(GradeTable.percentage(new BigDecimal("10"), BigDecimal.ZERO)).isNull();
+    }
+
+    private static GradingScale band(String label, String min, String max) {
+        return GradingScale.builder()
+                .gradeLabel(label)
+                .minPercentage(new BigDecimal(min))
+                .maxPercentage(new BigDecimal(max))
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.smartschool.fee.service;
+
+import com.smartschool.fee.entity.FeeStructure;
+import com.smartschool.fee.service.FeeVoucherGenerationService.VoucherChunk;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeeVoucherGenerationServiceTest {
+
+    private static final YearMonth NOVEMBER = YearMonth.of(2026, 11);
+    private static final FeeStructure TUITION = fee(1L, "2500.00");
+    private static final FeeStructure TRANSPORT = fee(2L, "999.99");
+
+    @Test
+    void voucherNumberIsDerivedFromMonthAndStudent() {
+        assertThat(FeeVoucherGenerationService.voucherNumber(123L, NOVEMBER)).isEqualTo("FV-202611-000123");
+        assertThat(FeeVoucherGenerationService.voucherNumber(7L, YearMonth.of(2027, 1))).isEqualTo("FV-202701-000007");
+        assertThat(FeeVoucherGenerationService.voucherNumber(1234567L, NOVEMBER)).isEqualTo("FV-202611-1234567");
+    }
+
+    @Test
+    void everyStudentGetsEveryFee() {
+        VoucherChunk chunk = FeeVoucherGenerationService.computeChunk(
+                List.of(10L, 11L), List.of(TUITION, TRANSPORT), Map.of(), NOVEMBER);
+
+        assertThat(chunk.voucherNumbers()).containsExactly("FV-202611-000010", "FV-202611-000011");
+        assertThat(chunk.studentIds()).containsExactly(10L, 11L);
+        assertThat(chunk.totals()).containsExactly(new BigDecimal("3499.99"), new BigDecimal("3499.99"));
+        assertThat(chunk.discounts()).containsExactly(new BigDecimal("0.00"), new BigDecimal("0.00"));
+        assertThat(chunk.payables()).containsExactly(new BigDecimal("3499.99"), new BigDecimal("3499.99"));
+
+        assertThat(chunk.itemVoucherNumbers())
+                .containsExactly("FV-202611-000010", "FV-202611-000010", "FV-202611-000011", "FV-202611-000011");
+        assertThat(chunk.itemFeeStructureIds()).containsExactly(1L, 2L, 1L, 2L);
+        assertThat(chunk.itemAmounts()).containsExactly(
+                TUITION.getAmount(), TRANSPORT.getAmount(), TUITION.getAmount(), TRANSPORT.getAmount());
+    }
+
+    @Test
+    void discountIsRoundedPerItem() {
+        VoucherChunk chunk = FeeVoucherGenerationService.computeChunk(
+                List.of(10L), List.of(TUITION, TRANSPORT), Map.of(10L, new BigDecimal("12.50")), NOVEMBER);
+
+        // 12.5% of 999.99 = 124.99875, rounded half up to 125.00
+        assertThat(chunk.itemDiscounts()).containsExactly(new BigDecimal("312.50"), new BigDecimal("125.00"));
+        assertThat(chunk.discounts()).containsExactly(new BigDecimal("437.50"));
+        assertThat(chunk.payables()).containsExactly(new BigDecimal("3062.49"));
+    }
+
+    @Test
+    void discountsAboveHundredPercentAreCapped() {
+        VoucherChunk chunk = FeeVoucherGenerationService.computeChunk(
+                List.of(10L, 11L), List.of(TUITION, TRANSPORT),
+                Map.of(10L, new BigDecimal("150"), 11L, new BigDecimal("100")), NOVEMBER);
+
+        assertThat(chunk.itemDiscounts()).containsExactly(
+                new BigDecimal("2500.00"), new BigDecimal("999.99"), new BigDecimal("2500.00"), new BigDecimal("999.99"));
+        assertThat(chunk.payables()).allSatisfy(payable -> assertThat(payable).isEqualByComparingTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    void emptyChunkHasNoRows() {
+        VoucherChunk chunk = FeeVoucherGenerationService.computeChunk(List.of(), List.of(TUITION), Map.of(), NOVEMBER);
+
+        assertThat(chunk.voucherNumbers()).isEmpty();
+        assertThat(chunk.itemVoucherNumbers()).isEmpty();
+    }
+
+    private static FeeStructure fee(Long id, String amount) {
+        return FeeStructure.builder()
+                .id(id)
+                .name("Fee " + id)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
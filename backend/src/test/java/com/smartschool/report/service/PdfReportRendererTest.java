@@ -0,0 +1,94 @@
+package com.smartschool.report.service;
+
+import com.smartschool.exception.ServiceUnavailableException;
+import com.smartschool.report.dto.ReportDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PdfReportRendererTest {
+
+    @Mock
+    private SpringTemplateEngine templateEngine;
+
+    @Mock
+    private ReportAssets reportAssets;
+
+    private ThreadPoolTaskExecutor executor;
+    private PdfReportRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.initialize();
+        renderer = new PdfReportRenderer(templateEngine, reportAssets, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void abortedZipCancelsTheRendersInFlight() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch never = new CountDownLatch(1);
+        // The first render blocks until it is interrupted, so the rest of the window stays queued
+        when(reportAssets.getSchoolName()).thenAnswer(invocation -> {
+            firstStarted.countDown();
+            never.await();
+            return "School";
+        });
+        List<ReportDocument> documents = IntStream.range(0, 10)
+                .mapToObj(i -> new ReportDocument("voucher-" + i + ".pdf", "fee-voucher", Map.of()))
+                .toList();
+
+        ExecutorService request = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> download = request.submit(() -> {
+                renderer.renderZip(documents, new ByteArrayOutputStream());
+                return null;
+            });
+            assertThat(firstStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            await().atMost(Duration.ofSeconds(10)).until(() -> executor.getQueueSize() == 1);
+
+            // Stands in for an aborted download: the request stops while the window is still rendering
+            request.shutdownNow();
+
+            assertThatThrownBy(() -> download.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ServiceUnavailableException.class);
+            assertThat(executor.getQueueSize()).isZero();
+            await().atMost(Duration.ofSeconds(10)).until(() -> executor.getActiveCount() == 0);
+            verify(reportAssets, times(1)).getSchoolName();
+        } finally {
+            request.shutdownNow();
+        }
+    }
+}
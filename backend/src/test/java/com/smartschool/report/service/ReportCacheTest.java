@@ -0,0 +1,196 @@
+package com.smartschool.report.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartschool.exception.ReportRenderingException;
+import com.smartschool.report.dto.CachedReport;
+import com.smartschool.report.dto.ReportDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportCacheTest {
+
+    private static final ReportDocument VOUCHER = new ReportDocument("voucher.pdf", "fee-voucher", Map.of("voucherNumber", "FV-202611-000123"));
+
+    @TempDir
+    private Path documentsDir;
+
+    @Mock
+    private PdfReportRenderer pdfReportRenderer;
+
+    @Mock
+    private ReportAssets reportAssets;
+
+    private ReportCache reportCache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(reportAssets.getVersion()).thenReturn("assets-1");
+        lenient().doAnswer(invocation -> {
+            Thread.sleep(50);
+            invocation.getArgument(1, OutputStream.class).write("%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+            return null;
+        }).when(pdfReportRenderer).render(any(ReportDocument.class), any(OutputStream.class));
+
+        reportCache = new ReportCache(pdfReportRenderer, reportAssets, new ObjectMapper());
+        ReflectionTestUtils.setField(reportCache, "documentsDir", documentsDir.toString());
+        ReflectionTestUtils.setField(reportCache, "maxSizeMb", 16L);
+        ReflectionTestUtils.setField(reportCache, "deleteDelaySeconds", 60L);
+    }
+
+    @Test
+    void concurrentRequestsForOneDocumentRenderItOnce() throws Exception {
+        reportCache.init();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<CachedReport>> requests = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                requests.add(executor.submit(() -> {
+                    start.await();
+                    return reportCache.getOrRender(VOUCHER);
+                }));
+            }
+            start.countDown();
+            for (Future<CachedReport> request : requests) {
+                CachedReport report = request.get();
+                assertThat(report.resource().getContentAsByteArray()).asString(StandardCharsets.US_ASCII).isEqualTo("%PDF-1.7");
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        verify(pdfReportRenderer, times(1)).render(any(ReportDocument.class), any(OutputStream.class));
+    }
+
+    @Test
+    void differentVariablesGetDifferentKeys() throws Exception {
+        reportCache.init();
+
+        CachedReport first = reportCache.getOrRender(VOUCHER);
+        CachedReport paid = reportCache.getOrRender(new ReportDocument("voucher.pdf", "fee-voucher",
+                Map.of("voucherNumber", "FV-202611-000123", "status", "PAID")));
+
+        assertThat(paid.key()).isNotEqualTo(first.key());
+        assertThat(reportCache.getOrRender(VOUCHER).key()).isEqualTo(first.key());
+        verify(pdfReportRenderer, times(2)).render(any(ReportDocument.class), any(OutputStream.class));
+    }
+
+    @Test
+    void missingFileIsRenderedAgain() throws Exception {
+        reportCache.init();
+        CachedReport report = reportCache.getOrRender(VOUCHER);
+
+        Files.delete(report.resource().getFile().toPath());
+        reportCache.getOrRender(VOUCHER);
+
+        assertThat(report.resource().exists()).isTrue();
+        verify(pdfReportRenderer, times(2)).render(any(ReportDocument.class), any(OutputStream.class));
+    }
+
+    @Test
+    void failedRenderLeavesNoTemporaryFile() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+            throw new ReportRenderingException("Template failed", null);
+        }).when(pdfReportRenderer).render(any(ReportDocument.class), any(OutputStream.class));
+        reportCache.init();
+
+        assertThatThrownBy(() -> reportCache.getOrRender(VOUCHER)).isInstanceOf(ReportRenderingException.class);
+
+        try (var files = Files.list(documentsDir.resolve("report-cache"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void slowRenderDoesNotBlockOtherDocuments() throws Exception {
+        ReportDocument paid = new ReportDocument("voucher.pdf", "fee-voucher",
+                Map.of("voucherNumber", "FV-202611-000123", "status", "PAID"));
+        CountDownLatch voucherStarted = new CountDownLatch(1);
+        CountDownLatch releaseVoucher = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == VOUCHER) {
+                voucherStarted.countDown();
+                releaseVoucher.await(10, TimeUnit.SECONDS);
+            }
+            invocation.getArgument(1, OutputStream.class).write("%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+            return null;
+        }).when(pdfReportRenderer).render(any(ReportDocument.class), any(OutputStream.class));
+        reportCache.init();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CachedReport> voucher = executor.submit(() -> reportCache.getOrRender(VOUCHER));
+            assertThat(voucherStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<CachedReport> other = executor.submit(() -> reportCache.getOrRender(paid));
+            assertThat(other.get(5, TimeUnit.SECONDS).resource().exists()).isTrue();
+            assertThat(voucher).isNotDone();
+
+            releaseVoucher.countDown();
+            assertThat(voucher.get(10, TimeUnit.SECONDS).resource().exists()).isTrue();
+        } finally {
+            releaseVoucher.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void evictedFileIsDeletedOnlyAfterTheDelay() throws Exception {
+        // Nothing fits, so every entry is evicted as soon as it is written
+        ReflectionTestUtils.setField(reportCache, "maxSizeMb", 0L);
+        ReflectionTestUtils.setField(reportCache, "deleteDelaySeconds", 1L);
+        reportCache.init();
+
+        CachedReport report = reportCache.getOrRender(VOUCHER);
+
+        assertThat(report.resource().getContentAsByteArray()).isNotEmpty();
+        await().atMost(Duration.ofSeconds(10)).until(() -> !report.resource().exists());
+    }
+
+    @Test
+    void filesOfPreviousRunsAreReused() throws Exception {
+        reportCache.init();
+        CachedReport report = reportCache.getOrRender(VOUCHER);
+
+        ReportCache restarted = new ReportCache(pdfReportRenderer, reportAssets, new ObjectMapper());
+        ReflectionTestUtils.setField(restarted, "documentsDir", documentsDir.toString());
+        ReflectionTestUtils.setField(restarted, "maxSizeMb", 16L);
+        ReflectionTestUtils.setField(restarted, "deleteDelaySeconds", 60L);
+        restarted.init();
+
+        assertThat(restarted.getOrRender(VOUCHER).key()).isEqualTo(report.key());
+        verify(pdfReportRenderer, times(1)).render(any(ReportDocument.class), any(OutputStream.class));
+    }
+}
@@ -0,0 +1,129 @@
+package com.smartschool.setup.service;
+
+import com.smartschool.common.bulk.BulkResponse;
+import com.smartschool.common.bulk.BulkRowResult;
+import com.smartschool.common.bulk.BulkRowStatus;
+import com.smartschool.setup.dto.SchoolClassRequest;
+import com.smartschool.setup.dto.SectionRequest;
+import com.smartschool.setup.dto.SubjectRequest;
+import com.smartschool.setup.entity.SchoolClass;
+import com.smartschool.setup.entity.Section;
+import com.smartschool.setup.entity.Subject;
+import com.smartschool.setup.mapper.SchoolClassMapperImpl;
+import com.smartschool.setup.mapper.SectionMapperImpl;
+import com.smartschool.setup.mapper.SubjectMapperImpl;
+import com.smartschool.support.JpaStatementCountTest;
+import com.smartschool.support.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({SchoolClassService.class, SectionService.class, SubjectService.class,
+        SchoolClassMapperImpl.class, SectionMapperImpl.class, SubjectMapperImpl.class})
+class BulkSetupStatementCountTest extends JpaStatementCountTest {
+
+    @Autowired
+    private SchoolClassService schoolClassService;
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Test
+    void bulkClassCreateLooksUpNamesOnceAndBatchesInserts() {
+        SchoolClass existing = entityManager.persist(SchoolClass.builder().name("Grade 1").build());
+        startCounting();
+
+        List<SchoolClassRequest> requests = new ArrayList<>();
+        for (int i = 1; i <= 120; i++) {
+            requests.add(SchoolClassRequest.builder().name("Grade " + i).build());
+        }
+        requests.add(SchoolClassRequest.builder().name("Grade 2").build());
+        BulkResponse response = schoolClassService.bulkCreateClasses(requests);
+        entityManager.flush();
+
+        // Existing names and one batched insert, plus an id block per 50 rows
+        assertThat(statementsOtherThanIdBlocks()).hasSize(2);
+        assertThat(idBlocks()).isBetween(1L, 3L);
+        assertThat(response.created()).isEqualTo(119);
+        assertThat(response.results().get(0)).isEqualTo(BulkRowResult.of(0, BulkRowStatus.EXISTING, existing.getId()));
+        assertThat(response.results().get(1).status()).isEqualTo(BulkRowStatus.CREATED);
+        assertThat(response.results().get(1).id()).isNotNull();
+        assertThat(response.results().get(120).status()).isEqualTo(BulkRowStatus.DUPLICATE);
+    }
+
+    @Test
+    void bulkSectionCreateStatementCountDoesNotGrowWithClassCount() {
+        List<SchoolClass> classes = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            classes.add(entityManager.persist(SchoolClass.builder().name("Grade " + i).build()));
+        }
+        Section existing = entityManager.persist(Section.builder().name("A").schoolClass(classes.get(0)).build());
+        startCounting();
+
+        List<SectionRequest> requests = new ArrayList<>();
+        for (SchoolClass schoolClass : classes) {
+            for (String name : List.of("A", "B", "C")) {
+                requests.add(SectionRequest.builder().name(name).classId(schoolClass.getId()).build());
+            }
+        }
+        requests.add(SectionRequest.builder().name("B").classId(classes.get(0).getId()).build());
+        requests.add(SectionRequest.builder().name("A").classId(Long.MAX_VALUE).build());
+        BulkResponse response = sectionService.bulkCreateSections(requests);
+        entityManager.flush();
+
+        // Referenced classes, their sections and one batched insert, plus an id block per 50 rows
+        assertThat(statementsOtherThanIdBlocks()).hasSize(3);
+        assertThat(idBlocks()).isBetween(1L, 2L);
+        assertThat(response.created()).isEqualTo(59);
+        assertThat(response.existing()).isEqualTo(1);
+        assertThat(response.rejected()).isEqualTo(2);
+        assertThat(response.results().get(0).id()).isEqualTo(existing.getId());
+        assertThat(response.results().get(60).status()).isEqualTo(BulkRowStatus.DUPLICATE);
+        assertThat(response.results().get(61).status()).isEqualTo(BulkRowStatus.INVALID);
+    }
+
+    @Test
+    void bulkSubjectUpsertLooksUpNamesAndCodesOnce() {
+        Subject english = entityManager.persist(Subject.builder().name("English").code("ENG").build());
+        Subject maths = entityManager.persist(Subject.builder().name("Mathematics").code("MATH").build());
+        startCounting();
+
+        BulkResponse response = subjectService.bulkUpsertSubjects(List.of(
+                SubjectRequest.builder().name("English").code("eng-1").build(),
+                SubjectRequest.builder().name("Mathematics").code("MATH").build(),
+                SubjectRequest.builder().name("Physics").code("PHY").build(),
+                SubjectRequest.builder().name("Chemistry").code("ENG").build(),
+                SubjectRequest.builder().name("Biology").code("PHY").build()));
+        entityManager.flush();
+
+        // Names and codes in one query, one insert and one update
+        assertThat(statementsOtherThanIdBlocks()).hasSize(3);
+        assertThat(idBlocks()).isLessThanOrEqualTo(1L);
+        assertThat(response.results()).extracting(BulkRowResult::status).containsExactly(
+                BulkRowStatus.UPDATED, BulkRowStatus.EXISTING, BulkRowStatus.CREATED,
+                BulkRowStatus.DUPLICATE, BulkRowStatus.DUPLICATE);
+        assertThat(response.results().get(0).id()).isEqualTo(english.getId());
+        assertThat(response.results().get(1).id()).isEqualTo(maths.getId());
+        // The code English gave up stays reserved until the batch is written
+        assertThat(response.results().get(3).message()).contains("English");
+    }
+
+    /**
+     * Rows persisted in the setup may already have reserved the first id block
+     */
+    private static List<String> statementsOtherThanIdBlocks() {
+        return SqlStatementCounter.statements().stream().filter(sql -> !sql.contains("next value for")).toList();
+    }
+
+    private static long idBlocks() {
+        return SqlStatementCounter.statements().stream().filter(sql -> sql.contains("next value for")).count();
+    }
+}
@@ -0,0 +1,173 @@
+package com.smartschool.setup.service;
+
+import com.smartschool.setup.dto.ClassSubjectAssignmentRequest;
+import com.smartschool.setup.dto.ClassSubjectBulkAssignmentRequest;
+import com.smartschool.setup.dto.ClassSubjectBulkAssignmentResponse;
+import com.smartschool.setup.dto.SchoolClassResponse;
+import com.smartschool.setup.dto.SubjectResponse;
+import com.smartschool.setup.entity.SchoolClass;
+import com.smartschool.setup.entity.Subject;
+import com.smartschool.setup.mapper.SchoolClassMapperImpl;
+import com.smartschool.setup.mapper.SubjectMapperImpl;
+import com.smartschool.setup.repository.SchoolClassRepository;
+import com.smartschool.support.JpaStatementCountTest;
+import com.smartschool.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({SchoolClassService.class, SchoolClassMapperImpl.class, SubjectMapperImpl.class})
+class ClassSubjectAssignmentStatementCountTest extends JpaStatementCountTest {
+
+    @Autowired
+    private SchoolClassService schoolClassService;
+
+    @Autowired
+    private SchoolClassRepository schoolClassRepository;
+
+    private List<Long> subjectIds;
+
+    @BeforeEach
+    void createSubjects() {
+        subjectIds = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            subjectIds.add(entityManager.persist(Subject.builder().name("Subject " + i).build()).getId());
+        }
+    }
+
+    @Test
+    void assigningToOneClassUsesFiveStatements() {
+        Long classId = createClasses(1).get(0);
+        startCounting();
+
+        SchoolClassResponse response = schoolClassService.assignSubjectsToClass(
+                new ClassSubjectAssignmentRequest(classId, subjects(0, 1, 2)));
+
+        // exists, subject count, delete removed, insert missing, reload with subjects and sections
+        SqlStatementCounter.assertStatementCount(5);
+        assertThat(subjectIdsOf(response)).containsExactlyInAnyOrderElementsOf(subjects(0, 1, 2));
+    }
+
+    @Test
+    void reassigningTheSameSetChangesNoRows() {
+        Long classId = createClasses(1).get(0);
+        schoolClassService.assignSubjectsToClass(new ClassSubjectAssignmentRequest(classId, subjects(0, 1, 2)));
+        startCounting();
+
+        SchoolClassResponse response = schoolClassService.assignSubjectsToClass(
+                new ClassSubjectAssignmentRequest(classId, subjects(0, 1, 2)));
+
+        SqlStatementCounter.assertStatementCount(5);
+        assertThat(subjectIdsOf(response)).containsExactlyInAnyOrderElementsOf(subjects(0, 1, 2));
+        assertThat(schoolClassRepository.deleteClassSubjectsNotIn(Set.of(classId), subjects(0, 1, 2))).isZero();
+        assertThat(schoolClassRepository.insertMissingClassSubjects(Set.of(classId), subjects(0, 1, 2))).isZero();
+    }
+
+    @Test
+    void assigningADisjointSetReplacesEveryLink() {
+        Long classId = createClasses(1).get(0);
+        schoolClassService.assignSubjectsToClass(new ClassSubjectAssignmentRequest(classId, subjects(0, 1, 2)));
+        startCounting();
+
+        SchoolClassResponse response = schoolClassService.assignSubjectsToClass(
+                new ClassSubjectAssignmentRequest(classId, subjects(3, 4)));
+
+        SqlStatementCounter.assertStatementCount(5);
+        assertThat(subjectIdsOf(response)).containsExactlyInAnyOrderElementsOf(subjects(3, 4));
+    }
+
+    @Test
+    void bulkAssignmentStatementCountDoesNotGrowWithClassCount() {
+        List<Long> classIds = createClasses(25);
+        startCounting();
+
+        ClassSubjectBulkAssignmentResponse response = schoolClassService.assignSubjectsToClasses(
+                ClassSubjectBulkAssignmentRequest.builder()
+                        .classIds(new HashSet<>(classIds))
+                        .subjectIds(subjects(0, 1))
+                        .replaceExisting(true)
+                        .build());
+
+        // class count, subject count, delete removed, insert missing
+        SqlStatementCounter.assertStatementCount(4);
+        assertThat(response.getLinksAdded()).isEqualTo(50);
+        assertThat(response.getLinksRemoved()).isZero();
+    }
+
+    @Test
+    void bulkReplaceWithOverlappingSetTouchesOnlyTheDifference() {
+        List<Long> classIds = createClasses(10);
+        assignToAll(classIds, subjects(0, 1, 2), false);
+        startCounting();
+
+        ClassSubjectBulkAssignmentResponse response = assignToAll(classIds, subjects(2, 3), true);
+
+        SqlStatementCounter.assertStatementCount(4);
+        assertThat(response.getLinksRemoved()).isEqualTo(20);
+        assertThat(response.getLinksAdded()).isEqualTo(10);
+    }
+
+    @Test
+    void bulkAddWithoutReplaceSkipsTheDelete() {
+        List<Long> classIds = createClasses(10);
+        assignToAll(classIds, subjects(0, 1), false);
+        startCounting();
+
+        ClassSubjectBulkAssignmentResponse response = assignToAll(classIds, subjects(1, 5), false);
+
+        SqlStatementCounter.assertStatementCount(3);
+        assertThat(response.getLinksRemoved()).isZero();
+        assertThat(response.getLinksAdded()).isEqualTo(10);
+    }
+
+    @Test
+    void bulkReplaceWithDisjointSetRemovesEveryOldLink() {
+        List<Long> classIds = createClasses(10);
+        assignToAll(classIds, subjects(0, 1, 2), false);
+        startCounting();
+
+        ClassSubjectBulkAssignmentResponse response = assignToAll(classIds, subjects(4, 5), true);
+
+        SqlStatementCounter.assertStatementCount(4);
+        assertThat(response.getLinksRemoved()).isEqualTo(30);
+        assertThat(response.getLinksAdded()).isEqualTo(20);
+    }
+
+    private ClassSubjectBulkAssignmentResponse assignToAll(List<Long> classIds, Set<Long> subjects, boolean replace) {
+        return schoolClassService.assignSubjectsToClasses(ClassSubjectBulkAssignmentRequest.builder()
+                .classIds(new HashSet<>(classIds))
+                .subjectIds(subjects)
+                .replaceExisting(replace)
+                .build());
+    }
+
+    private List<Long> createClasses(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            ids.add(entityManager.persist(SchoolClass.builder().name("Grade " + i).build()).getId());
+        }
+        entityManager.flush();
+        return ids;
+    }
+
+    private Set<Long> subjects(int... indexes) {
+        Set<Long> ids = new HashSet<>();
+        for (int index : indexes) {
+            ids.add(subjectIds.get(index));
+        }
+        return ids;
+    }
+
+    private static Set<Long> subjectIdsOf(SchoolClassResponse response) {
+        return response.getSubjects().stream().map(SubjectResponse::getId).collect(Collectors.toSet());
+    }
+}
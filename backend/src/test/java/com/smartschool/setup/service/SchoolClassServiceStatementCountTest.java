@@ -0,0 +1,85 @@
+package com.smartschool.setup.service;
+
+import com.smartschool.setup.dto.SchoolClassResponse;
+import com.smartschool.setup.entity.SchoolClass;
+import com.smartschool.setup.entity.Section;
+import com.smartschool.setup.entity.Subject;
+import com.smartschool.setup.mapper.SchoolClassMapperImpl;
+import com.smartschool.setup.mapper.SubjectMapperImpl;
+import com.smartschool.support.JpaStatementCountTest;
+import com.smartschool.support.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({SchoolClassService.class, SchoolClassMapperImpl.class, SubjectMapperImpl.class})
+class SchoolClassServiceStatementCountTest extends JpaStatementCountTest {
+
+    @Autowired
+    private SchoolClassService schoolClassService;
+
+    @Test
+    void getClassesUsesTwoStatementsRegardlessOfClassCount() {
+        createClasses(3);
+        startCounting();
+
+        Page<SchoolClassResponse> page = schoolClassService.getClasses(PageRequest.of(0, 10, Sort.by("name")));
+
+        // Summaries with counts, then the subjects of all listed classes
+        SqlStatementCounter.assertStatementCount(2);
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getContent()).allSatisfy(response -> {
+            assertThat(response.getSectionCount()).isEqualTo(2);
+            assertThat(response.getSubjectCount()).isEqualTo(2);
+            assertThat(response.getSubjects()).hasSize(2);
+        });
+    }
+
+    @Test
+    void getClassesStatementCountDoesNotGrowWithPageSize() {
+        createClasses(12);
+        startCounting();
+
+        Page<SchoolClassResponse> page = schoolClassService.getClasses(PageRequest.of(0, 5));
+
+        // Summaries, subjects, and the total count for a full first page
+        SqlStatementCounter.assertStatementCount(3);
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(12);
+    }
+
+    @Test
+    void findSummariesComputesCountsInOneStatement() {
+        createClasses(4);
+        startCounting();
+
+        var summaries = schoolClassService.getClassesAfter(0L, 10);
+
+        SqlStatementCounter.assertStatementCount(2);
+        assertThat(summaries.content()).hasSize(4);
+    }
+
+    private void createClasses(int count) {
+        Subject english = entityManager.persist(Subject.builder().name("English").code("ENG").build());
+        Subject maths = entityManager.persist(Subject.builder().name("Mathematics").code("MATH").build());
+
+        for (int i = 1; i <= count; i++) {
+            SchoolClass schoolClass = SchoolClass.builder()
+                    .name("Grade " + i)
+                    .subjects(Set.of(english, maths))
+                    .build();
+            entityManager.persist(schoolClass);
+            for (String sectionName : List.of("A", "B")) {
+                entityManager.persist(Section.builder().name(sectionName).schoolClass(schoolClass).build());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.smartschool.setup.service;
+
+import com.smartschool.common.pagination.CursorPage;
+import com.smartschool.setup.dto.SectionResponse;
+import com.smartschool.setup.entity.SchoolClass;
+import com.smartschool.setup.entity.Section;
+import com.smartschool.setup.mapper.SectionMapperImpl;
+import com.smartschool.setup.repository.SectionRepository;
+import com.smartschool.support.JpaStatementCountTest;
+import com.smartschool.support.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({SectionService.class, SectionMapperImpl.class})
+class SectionServiceStatementCountTest extends JpaStatementCountTest {
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Test
+    void sectionListFetchesParentClassesInOneStatement() {
+        createSections(4, 3);
+        startCounting();
+
+        Page<SectionResponse> page = sectionService.getSections(PageRequest.of(0, 50));
+
+        SqlStatementCounter.assertStatementCount(1);
+        assertThat(page.getContent()).hasSize(12);
+        assertThat(page.getContent()).allSatisfy(response -> assertThat(response.getClassName()).isNotBlank());
+    }
+
+    @Test
+    void fullSectionPageAddsOnlyTheCountQuery() {
+        createSections(5, 4);
+        startCounting();
+
+        Page<SectionResponse> page = sectionService.getSections(PageRequest.of(0, 8));
+
+        SqlStatementCounter.assertStatementCount(2);
+        assertThat(page.getTotalElements()).isEqualTo(20);
+    }
+
+    @Test
+    void sectionCursorFetchesParentClassesInOneStatement() {
+        createSections(3, 3);
+        startCounting();
+
+        CursorPage<SectionResponse> page = sectionService.getSectionsAfter(0L, 5);
+
+        SqlStatementCounter.assertStatementCount(1);
+        assertThat(page.content()).hasSize(5);
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void sectionsOfClassUseOneStatement() {
+        List<SchoolClass> classes = createSections(2, 3);
+        startCounting();
+
+        List<SectionResponse> sections = sectionService.getSectionsByClassId(classes.get(0).getId());
+
+        SqlStatementCounter.assertStatementCount(1);
+        assertThat(sections).extracting(SectionResponse::getName).containsExactly("S1", "S2", "S3");
+    }
+
+    @Test
+    void sectionDetailFetchesItsClassInOneStatement() {
+        createSections(1, 1);
+        Long sectionId = sectionRepository.findAll().get(0).getId();
+        startCounting();
+
+        SectionResponse section = sectionService.getSectionById(sectionId);
+
+        SqlStatementCounter.assertStatementCount(1);
+        assertThat(section.getClassName()).isEqualTo("Grade 1");
+    }
+
+    @Test
+    void counterSeesLazyLoadsPerRow() {
+        createSections(3, 2);
+        startCounting();
+
+        // Without the fetch join every distinct parent class is loaded separately
+        sectionRepository.findAll().forEach(section -> section.getSchoolClass().getName());
+
+        SqlStatementCounter.assertStatementCount(1 + 3);
+    }
+
+    private List<SchoolClass> createSections(int classCount, int sectionsPerClass) {
+        List<SchoolClass> classes = new ArrayList<>();
+        for (int i = 1; i <= classCount; i++) {
+            SchoolClass schoolClass = entityManager.persist(SchoolClass.builder().name("Grade " + i).build());
+            for (int j = 1; j <= sectionsPerClass; j++) {
+                entityManager.persist(Section.builder().name("S" + j).schoolClass(schoolClass).build());
+            }
+            classes.add(schoolClass);
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,47 @@
+package com.smartschool.support;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Base class for repository and service tests that assert how many SQL statements a read or write issues.
+ * Runs against H2 in PostgreSQL mode (application-test.yml) with {@link SqlStatementCounter} installed.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(JpaStatementCountTest.PasswordEncoderConfig.class)
+public abstract class JpaStatementCountTest {
+
+    @Autowired
+    protected TestEntityManager entityManager;
+
+    /**
+     * Write pending test data, detach it, and start counting from zero
+     */
+    protected void startCounting() {
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @TestConfiguration
+    static class PasswordEncoderConfig {
+
+        /**
+         * Needed by the admin-user CommandLineRunner on SmartSchoolApplication
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+}
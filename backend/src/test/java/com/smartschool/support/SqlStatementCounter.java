@@ -0,0 +1,39 @@
+package com.smartschool.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hibernate StatementInspector that records every SQL statement prepared by the session factory.
+ * Registered through the test profile; tests reset it before the code under test and then assert
+ * the exact statement count, so a lazy load per row (N+1) fails the test with the offending SQL listed.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static void assertStatementCount(int expected) {
+        List<String> statements = statements();
+        assertThat(statements)
+                .as("SQL statements executed:%n%s", String.join(System.lineSeparator(), statements))
+                .hasSize(expected);
+    }
+}
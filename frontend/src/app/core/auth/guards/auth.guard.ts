@@ -1,28 +1,44 @@
 import { inject } from '@angular/core';
 import { Router, type CanActivateFn } from '@angular/router';
+import { Observable, catchError, map, of } from 'rxjs';
 import { AuthService } from '../services/auth.service';
 
 /**
- * Auth Guard to protect routes that require authentication
+ * Resolve a valid session: true when the access token is still valid, otherwise try the refresh token
  */
-export const authGuard: CanActivateFn = (route, state) => {
-  const authService = inject(AuthService);
-  const router = inject(Router);
+const ensureSession = (authService: AuthService): Observable<boolean> => {
+  if (!authService.isAuthenticated()) {
+    return of(false);
+  }
+
+  if (!authService.isTokenExpired()) {
+    return of(true);
+  }
 
-  // Check if user is authenticated and token is not expired
-  if (authService.isAuthenticated() && !authService.isTokenExpired()) {
-    return true;
+  if (!authService.getRefreshToken()) {
+    return of(false);
   }
 
-  // Store the attempted URL for redirecting after login
-  const returnUrl = state.url;
+  return authService.refresh().pipe(
+    map(() => true),
+    catchError(() => of(false))
+  );
+};
 
-  // Redirect to login page
-  router.navigate(['/login'], {
-    queryParams: { returnUrl }
-  });
+/**
+ * Auth Guard to protect routes that require authentication
+ */
+export const authGuard: CanActivateFn = (route, state) => {
+  const authService = inject(AuthService);
+  const router = inject(Router);
 
-  return false;
+  // Check if user is authenticated and token is not expired (or can be refreshed)
+  return ensureSession(authService).pipe(
+    map(valid => valid
+      // Store the attempted URL for redirecting after login
+      ? true
+      : router.createUrlTree(['/login'], { queryParams: { returnUrl: state.url } }))
+  );
 };
 
 /**
@@ -34,17 +50,19 @@ export const roleGuard = (allowedRoles: string[]): CanActivateFn => {
     const authService = inject(AuthService);
     const router = inject(Router);
 
-    if (!authService.isAuthenticated() || authService.isTokenExpired()) {
-      router.navigate(['/login']);
-      return false;
-    }
+    return ensureSession(authService).pipe(
+      map(valid => {
+        if (!valid) {
+          return router.createUrlTree(['/login']);
+        }
 
-    if (authService.hasAnyRole(allowedRoles)) {
-      return true;
-    }
+        if (authService.hasAnyRole(allowedRoles)) {
+          return true;
+        }
 
-    // User doesn't have required role, redirect to unauthorized page
-    router.navigate(['/unauthorized']);
-    return false;
+        // User doesn't have required role, redirect to unauthorized page
+        return router.createUrlTree(['/unauthorized']);
+      })
+    );
   };
 };
@@ -1,28 +1,48 @@
-import { HttpInterceptorFn } from '@angular/common/http';
+import { HttpErrorResponse, HttpInterceptorFn, HttpRequest } from '@angular/common/http';
 import { inject } from '@angular/core';
+import { catchError, switchMap, throwError } from 'rxjs';
 import { AuthService } from '../services/auth.service';
 
 /**
- * HTTP Interceptor to add JWT token to all outgoing requests
+ * HTTP Interceptor to add JWT token to all outgoing requests.
+ * On a 401 the access token is renewed once through the refresh token and the request retried.
  */
 export const authInterceptor: HttpInterceptorFn = (req, next) => {
   const authService = inject(AuthService);
   const token = authService.getToken();
 
   // Skip adding token for auth endpoints
-  if (req.url.includes('/auth/login') || req.url.includes('/auth/register')) {
+  if (req.url.includes('/auth/login') || req.url.includes('/auth/register')
+    || req.url.includes('/auth/refresh') || req.url.includes('/auth/logout')) {
     return next(req);
   }
 
   // Clone request and add Authorization header if token exists
   if (token) {
-    const clonedRequest = req.clone({
-      setHeaders: {
-        Authorization: `Bearer ${token}`
-      }
-    });
-    return next(clonedRequest);
+    return next(withToken(req, token)).pipe(
+      catchError((error: HttpErrorResponse) => {
+        if (error.status !== 401 || !authService.getRefreshToken()) {
+          return throwError(() => error);
+        }
+
+        return authService.refresh().pipe(
+          switchMap(response => next(withToken(req, response.token))),
+          catchError(refreshError => {
+            authService.logout();
+            return throwError(() => refreshError);
+          })
+        );
+      })
+    );
   }
 
   return next(req);
 };
+
+function withToken(req: HttpRequest<unknown>, token: string): HttpRequest<unknown> {
+  return req.clone({
+    setHeaders: {
+      Authorization: `Bearer ${token}`
+    }
+  });
+}
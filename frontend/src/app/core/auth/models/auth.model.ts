@@ -5,11 +5,16 @@ export interface LoginRequest {
 
 export interface AuthResponse {
   token: string;
+  refreshToken: string;
   username: string;
   role: UserRole;
   userId: number;
 }
 
+export interface RefreshTokenRequest {
+  refreshToken: string;
+}
+
 export enum UserRole {
   SUPER_ADMIN = 'SUPER_ADMIN',
   ADMIN = 'ADMIN',
@@ -1,7 +1,7 @@
 import { Injectable, inject, signal } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Router } from '@angular/router';
-import { Observable, tap } from 'rxjs';
+import { Observable, defer, finalize, firstValueFrom, shareReplay, tap, throwError } from 'rxjs';
 import { environment } from '../../../../environments/environment';
 import { LoginRequest, AuthResponse, AuthUser } from '../models/auth.model';
 
@@ -13,7 +13,12 @@ export class AuthService {
   private readonly router = inject(Router);
 
   private readonly TOKEN_KEY = 'auth_token';
+  private readonly REFRESH_TOKEN_KEY = 'auth_refresh_token';
   private readonly USER_KEY = 'auth_user';
+  private readonly REFRESH_LOCK = 'auth_refresh';
+
+  // In-flight refresh shared by all requests that hit a 401 at the same time
+  private refreshInFlight$: Observable<AuthResponse> | null = null;
 
   // Signal to track authentication state
   private readonly isAuthenticatedSignal = signal<boolean>(this.hasToken());
@@ -33,9 +38,63 @@ export class AuthService {
   }
 
   /**
-   * Logout user and clear stored data
+   * Exchange the stored refresh token for a new access token.
+   * All tabs share one refresh token and the server revokes the whole family when a rotated token is
+   * presented again, so refreshes are serialized across tabs with a Web Lock.
+   */
+  refresh(): Observable<AuthResponse> {
+    const refreshToken = this.getRefreshToken();
+    if (!refreshToken) {
+      return throwError(() => new Error('No refresh token available'));
+    }
+
+    if (!this.refreshInFlight$) {
+      this.refreshInFlight$ = defer(() => this.withRefreshLock(() => this.exchangeUnlessRotated(refreshToken))).pipe(
+        finalize(() => (this.refreshInFlight$ = null)),
+        shareReplay(1)
+      );
+    }
+    return this.refreshInFlight$;
+  }
+
+  /**
+   * Present the refresh token, unless another tab rotated it while this one waited for the lock;
+   * then the tokens that tab stored are used instead
+   */
+  private async exchangeUnlessRotated(refreshToken: string): Promise<AuthResponse> {
+    const stored = this.getStoredAuthResponse();
+    if (stored && stored.refreshToken !== refreshToken) {
+      this.handleAuthResponse(stored);
+      return stored;
+    }
+
+    // Stored before the lock is released, so a waiting tab sees the new token
+    const response = await firstValueFrom(
+      this.http.post<AuthResponse>(`${environment.apiUrl}/auth/refresh`, { refreshToken })
+    );
+    this.handleAuthResponse(response);
+    return response;
+  }
+
+  /**
+   * Run a task while holding the cross-tab refresh lock.
+   * Web Locks need a secure context; without them refreshes are only de-duplicated within the tab.
+   */
+  private async withRefreshLock(task: () => Promise<AuthResponse>): Promise<AuthResponse> {
+    if (!navigator.locks) {
+      return task();
+    }
+    return navigator.locks.request(this.REFRESH_LOCK, task);
+  }
+
+  /**
+   * Logout user, revoke the refresh token and clear stored data
    */
   logout(): void {
+    const refreshToken = this.getRefreshToken();
+    if (refreshToken) {
+      this.http.post<void>(`${environment.apiUrl}/auth/logout`, { refreshToken }).subscribe({ error: () => {} });
+    }
     this.clearAuthData();
     this.router.navigate(['/login']);
   }
@@ -47,6 +106,13 @@ export class AuthService {
     return localStorage.getItem(this.TOKEN_KEY);
   }
 
+  /**
+   * Get stored refresh token
+   */
+  getRefreshToken(): string | null {
+    return localStorage.getItem(this.REFRESH_TOKEN_KEY);
+  }
+
   /**
    * Check if user has valid token
    */
@@ -69,6 +135,16 @@ export class AuthService {
     return null;
   }
 
+  /**
+   * Tokens and user as last stored by any tab
+   */
+  private getStoredAuthResponse(): AuthResponse | null {
+    const token = this.getToken();
+    const refreshToken = this.getRefreshToken();
+    const user = this.getStoredUser();
+    return token && refreshToken && user ? { token, refreshToken, ...user } : null;
+  }
+
   /**
    * Handle authentication response and store data
    */
@@ -80,6 +156,7 @@ export class AuthService {
     };
 
     localStorage.setItem(this.TOKEN_KEY, response.token);
+    localStorage.setItem(this.REFRESH_TOKEN_KEY, response.refreshToken);
     localStorage.setItem(this.USER_KEY, JSON.stringify(user));
 
     this.isAuthenticatedSignal.set(true);
@@ -91,6 +168,7 @@ export class AuthService {
    */
   private clearAuthData(): void {
     localStorage.removeItem(this.TOKEN_KEY);
+    localStorage.removeItem(this.REFRESH_TOKEN_KEY);
     localStorage.removeItem(this.USER_KEY);
     this.isAuthenticatedSignal.set(false);
     this.currentUserSignal.set(null);